@@ -49,6 +49,7 @@
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.world.storage.ChunkSaveWriter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -146,6 +147,12 @@ static void reportTimings() {
                     return JSONUtil.singleObjectPair(input.getName(), JSONUtil.arrayOf(input.getCollectionCount(), input.getCollectionTime()));
                 })));
 
+        builder.add("chunksaves", JSONUtil.objectBuilder()
+                .add("pending", ChunkSaveWriter.getPendingChunks())
+                .add("saved", ChunkSaveWriter.getSavedChunks())
+                .add("avglatency", ChunkSaveWriter.getAverageLatencyMillis())
+                .add("maxlatency", ChunkSaveWriter.getMaxLatencyMillis()));
+
         Set<TileEntityType> tileEntityTypeSet = Sets.newHashSet();
         Set<EntityType> entityTypeSet = Sets.newHashSet();
 
@@ -51,6 +51,7 @@
 import org.spongepowered.common.data.SpongeDataManager;
 import org.spongepowered.common.data.property.SpongePropertyRegistry;
 import org.spongepowered.common.event.SpongeCauseStackManager;
+import org.spongepowered.common.event.EventType;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.launch.SpongeLaunch;
@@ -225,6 +226,21 @@ public static boolean postEvent(Event event) {
         return Sponge.getEventManager().post(event);
     }
 
+    /**
+     * Gets whether an event of the given type would reach any listener. This
+     * is meant to be checked after the matching {@code ShouldFire} flag and
+     * before any causes, snapshots or transactions are built for the event.
+     *
+     * @param eventType The event type
+     * @return True if the event type has listeners
+     */
+    public static boolean hasListeners(EventType<?> eventType) {
+        if (Sponge.getEventManager() instanceof SpongeEventManager) {
+            return ((SpongeEventManager) Sponge.getEventManager()).hasListeners(eventType);
+        }
+        return true;
+    }
+
     public static boolean postEvent(Event event, boolean allowClient) {
         // TODO quick and dirty fix (cant cast in UnitTest)
         if (Sponge.getEventManager() instanceof SpongeEventManager) {
@@ -110,6 +110,7 @@
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.TreeSet;
 import java.util.function.Function;
@@ -183,6 +184,7 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongePluginsCommand(), "plugins");
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
+        nonFlagChildren.register(createSpongeAsyncTasksCommand(), "asynctasks");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeTpsCommand(), "tps");
         trackerFlagChildren.register(createSpongeConfigCommand(), "config");
@@ -204,6 +206,7 @@ INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation\n",
                         INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                         INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                         INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
+                        INDENT, title("asynctasks"), LONG_INDENT, "Lists the running and queued async tasks of each plugin\n",
                         SpongeImplHooks.getAdditionalCommandDescriptions()))
                 .arguments(firstParsing(nonFlagChildren,
                         flags().flag("-global", "g")
@@ -545,6 +548,29 @@ private static CommandSpec createSpongeAuditCommand() {
                 .build();
     }
 
+    private static CommandSpec createSpongeAsyncTasksCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Lists the running and queued async tasks of each plugin"))
+                .permission("sponge.command.asynctasks")
+                .executor((src, args) -> {
+                    final Map<String, Integer> running = SpongeImpl.getScheduler().getRunningAsyncTaskCounts();
+                    final Map<String, Integer> queued = SpongeImpl.getScheduler().getQueuedAsyncTaskCounts();
+                    final Text.Builder builder = Text.builder().append(title("Async tasks by plugin:"));
+                    for (String id : new TreeSet<>(running.keySet())) {
+                        final int runningCount = running.get(id);
+                        final int queuedCount = queued.getOrDefault(id, 0);
+                        if (runningCount == 0 && queuedCount == 0) {
+                            continue;
+                        }
+                        builder.append(NEWLINE_TEXT, INDENT_TEXT, hl(id), Text.of(": ", runningCount, " running, ",
+                                queuedCount > 0 ? TextColors.RED : TextColors.RESET, queuedCount, " queued"));
+                    }
+                    src.sendMessage(builder.build());
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
     public static Text title(String title) {
         return Text.of(TextColors.GREEN, title);
     }
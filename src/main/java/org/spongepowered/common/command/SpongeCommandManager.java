@@ -28,6 +28,8 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.error;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -49,6 +51,8 @@
 import org.spongepowered.api.command.dispatcher.SimpleDispatcher;
 import org.spongepowered.api.event.CauseStackManager.StackFrame;
 import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.event.command.SendCommandEvent;
 import org.spongepowered.api.event.command.TabCompleteEvent;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -58,6 +62,8 @@
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.CommandsCategory;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.phase.general.CommandPhaseContext;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
@@ -73,9 +79,15 @@
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
@@ -95,6 +107,11 @@ public class SpongeCommandManager implements CommandManager {
     private final Multimap<PluginContainer, CommandMapping> owners = HashMultimap.create();
     private final Map<CommandMapping, PluginContainer> reverseOwners = new ConcurrentHashMap<>();
     private final Object lock = new Object();
+    // All registered aliases in order, to find the aliases starting with a prefix without going over all of them
+    private final NavigableSet<String> aliasIndex = new ConcurrentSkipListSet<>();
+    // Guarded by the lock, rebuilt when the configured expiration changes
+    @Nullable private Cache<String, List<String>> suggestionCache;
+    private int suggestionCacheMillis;
 
     /**
      * Construct a simple {@link CommandManager}.
@@ -169,6 +186,7 @@ public Optional<CommandMapping> register(Object plugin, CommandCallable callable
             if (mapping.isPresent()) {
                 this.owners.put(container, mapping.get());
                 this.reverseOwners.put(mapping.get(), container);
+                this.aliasIndex.addAll(mapping.get().getAllAliases());
             }
 
             return mapping;
@@ -207,6 +225,11 @@ public Optional<CommandMapping> removeMapping(CommandMapping mapping) {
 
             if (removed.isPresent()) {
                 forgetMapping(removed.get());
+                for (String alias : removed.get().getAllAliases()) {
+                    if (!this.dispatcher.containsAlias(alias)) {
+                        this.aliasIndex.remove(alias);
+                    }
+                }
             }
 
             return removed;
@@ -387,17 +410,7 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
 
     public List<String> getSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition, boolean usingBlock) {
         try {
-            final String[] argSplit = arguments.split(" ", 2);
-            List<String> suggestions = new ArrayList<>(this.dispatcher.getSuggestions(src, arguments, targetPosition));
-            Sponge.getCauseStackManager().pushCause(src);
-            final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Sponge.getCauseStackManager().getCurrentCause(),
-                    ImmutableList.copyOf(suggestions), suggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0], arguments, Optional.ofNullable(targetPosition), usingBlock); // TODO zml: Should this be exposed in the API?
-            Sponge.getGame().getEventManager().post(event);
-            Sponge.getCauseStackManager().popCause();
-            if (event.isCancelled()) {
-                return ImmutableList.of();
-            }
-            return ImmutableList.copyOf(event.getTabCompletions());
+            return this.postTabCompleteEvent(src, arguments, this.getRawSuggestions(src, arguments, targetPosition), targetPosition, usingBlock);
         } catch (CommandException e) {
             src.sendMessage(error(t("Error getting suggestions: %s", e.getText())));
             return Collections.emptyList();
@@ -406,6 +419,131 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
         }
     }
 
+    /**
+     * Gets the suggestions for the given command line without blocking the
+     * main thread, if async tab completion is enabled.
+     *
+     * <p>Only the commands of plugins configured to allow it are completed
+     * off the main thread, other commands may read worlds and players and
+     * are still completed on the main thread. Suggestions are cached per
+     * source for identical command lines for a short time.</p>
+     *
+     * @param src The source requesting the suggestions
+     * @param arguments The command line, without a leading slash
+     * @param targetPosition The position of the block the source looks at
+     * @param usingBlock Whether the source is a command block
+     * @return The suggestions
+     */
+    public CompletableFuture<List<String>> getSuggestionsAsync(CommandSource src, String arguments, @Nullable Location<World> targetPosition,
+            boolean usingBlock) {
+        final CommandsCategory config = SpongeImpl.getGlobalConfig().getConfig().getCommands();
+        final Optional<? extends CommandMapping> mapping = this.getCompletedMapping(src, arguments);
+        final PluginContainer owner = mapping.map(this.reverseOwners::get).orElse(null);
+        // Completions are run on behalf of the plugin owning the command
+        final Executor executor = this.requiresMainThread(config, mapping.orElse(null), owner)
+                ? runnable -> SpongeImpl.getScheduler().callSync(runnable)
+                : runnable -> SpongeImpl.getScheduler().submitAsyncTask(owner == null ? SpongeImpl.getPlugin() : owner,
+                        Executors.callable(runnable));
+        final Cache<String, List<String>> cache = this.getSuggestionCache(config);
+        final String cacheKey = src.getIdentifier() + '\0' + usingBlock + '\0' + targetPosition + '\0' + arguments;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<String> suggestions = cache == null ? null : cache.getIfPresent(cacheKey);
+                if (suggestions == null) {
+                    suggestions = this.getRawSuggestions(src, arguments, targetPosition);
+                    if (cache != null) {
+                        cache.put(cacheKey, suggestions);
+                    }
+                }
+                return this.postTabCompleteEvent(src, arguments, suggestions, targetPosition, usingBlock);
+            } catch (CommandException e) {
+                src.sendMessage(error(t("Error getting suggestions: %s", e.getText())));
+                return Collections.<String>emptyList();
+            } catch (Exception e) {
+                throw new RuntimeException(String.format("Error occured while tab completing '%s'", arguments), e);
+            }
+        }, executor);
+    }
+
+    private List<String> getRawSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition) throws CommandException {
+        if (arguments.indexOf(' ') != -1) {
+            return this.dispatcher.getSuggestions(src, arguments, targetPosition);
+        }
+        // Completing an alias, only check the permissions of the commands with a matching alias
+        final String prefix = arguments.toLowerCase(Locale.ENGLISH);
+        final List<String> aliases = new ArrayList<>();
+        for (String alias : this.aliasIndex.subSet(prefix, true, prefix + Character.MAX_VALUE, true)) {
+            for (CommandMapping mapping : this.dispatcher.getAll(alias)) {
+                if (mapping.getCallable().testPermission(src)) {
+                    aliases.add(alias);
+                    break;
+                }
+            }
+        }
+        return aliases;
+    }
+
+    private List<String> postTabCompleteEvent(CommandSource src, String arguments, List<String> suggestions,
+            @Nullable Location<World> targetPosition, boolean usingBlock) {
+        final int space = arguments.indexOf(' ');
+        final String command = space == -1 ? arguments : arguments.substring(0, space);
+        final String rawArguments = space == -1 ? "" : arguments.substring(space + 1);
+        final boolean isMainThread = Sponge.isServerAvailable() && Sponge.getServer().isMainThread();
+        final List<String> completions = new ArrayList<>(suggestions);
+        final TabCompleteEvent.Command event;
+        if (isMainThread) {
+            Sponge.getCauseStackManager().pushCause(src);
+            event = SpongeEventFactory.createTabCompleteEventCommand(Sponge.getCauseStackManager().getCurrentCause(),
+                    ImmutableList.copyOf(suggestions), completions, rawArguments, command, arguments, Optional.ofNullable(targetPosition), usingBlock); // TODO zml: Should this be exposed in the API?
+            Sponge.getGame().getEventManager().post(event);
+            Sponge.getCauseStackManager().popCause();
+        } else {
+            event = SpongeEventFactory.createTabCompleteEventCommand(Cause.of(EventContext.empty(), src),
+                    ImmutableList.copyOf(suggestions), completions, rawArguments, command, arguments, Optional.ofNullable(targetPosition), usingBlock);
+            Sponge.getGame().getEventManager().post(event);
+        }
+        if (event.isCancelled()) {
+            return ImmutableList.of();
+        }
+        return ImmutableList.copyOf(event.getTabCompletions());
+    }
+
+    private Optional<? extends CommandMapping> getCompletedMapping(CommandSource src, String arguments) {
+        final int space = arguments.indexOf(' ');
+        if (space == -1) {
+            // Only aliases are completed
+            return Optional.empty();
+        }
+        return this.dispatcher.get(arguments.substring(0, space), src);
+    }
+
+    private boolean requiresMainThread(CommandsCategory config, @Nullable CommandMapping mapping, @Nullable PluginContainer owner) {
+        if (mapping == null) {
+            // Aliases only
+            return false;
+        }
+        if (mapping.getCallable() instanceof MinecraftCommandWrapper) {
+            return true;
+        }
+        // Completions may read worlds and players, only plugins which opted in are completed async
+        return owner == null || !config.getAsyncTabCompletionPlugins().contains(owner.getId());
+    }
+
+    @Nullable
+    private Cache<String, List<String>> getSuggestionCache(CommandsCategory config) {
+        final int millis = config.getTabCompletionCacheMillis();
+        synchronized (this.lock) {
+            if (millis != this.suggestionCacheMillis) {
+                this.suggestionCacheMillis = millis;
+                this.suggestionCache = millis <= 0 ? null : CacheBuilder.newBuilder()
+                        .expireAfterWrite(millis, TimeUnit.MILLISECONDS)
+                        .maximumSize(1024)
+                        .<String, List<String>>build();
+            }
+            return this.suggestionCache;
+        }
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.dispatcher.testPermission(source);
@@ -36,6 +36,10 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "num-threads", comment = "The amount of threads to dedicate for asynchronous lighting updates. (Default: 2)")
     private int numAsyncThreads = 2;
 
+    @Setting(value = "stats-interval", comment = "The interval, in seconds, at which the lighting queue depth and latency of each world are logged.\n"
+            + "Set to 0 to disable. (Default: 0)")
+    private int statsInterval = 0;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -43,4 +47,8 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public int getStatsInterval() {
+        return this.statsInterval;
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class AsyncTerrainGenerationCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', the base terrain of chunks players are moving towards, and of chunks \n"
+                                          + "a pre-generation task is about to reach, is generated ahead of time on worker \n"
+                                          + "threads. Only generators and generation populators provided entirely by plugins \n"
+                                          + "are run off the main thread, and they must then be thread safe; vanilla and mod \n"
+                                          + "terrain is always generated on the main thread. \n"
+                                          + "Chunk construction and population always happen on the main thread.")
+    private boolean enabled = false;
+
+    @Setting(value = "threads", comment = "The amount of threads used to generate terrain ahead of time. (Default: 2)")
+    private int threads = 2;
+
+    @Setting(value = "max-prefetched-chunks", comment = "The maximum amount of chunks per world that may be generated ahead \n"
+                                                        + "of time and waiting to be loaded. (Default: 256)")
+    private int maxPrefetchedChunks = 256;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getThreads() {
+        return Math.max(1, this.threads);
+    }
+
+    public int getMaxPrefetchedChunks() {
+        return Math.max(1, this.maxPrefetchedChunks);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class BlockWorkerCategory extends ConfigCategory {
+
+    @Setting(value = "parallel", comment = "If 'true', block workers of large buffers and chunks map, fill and reduce their volume \n"
+                                           + "section by section on a shared pool of threads. The mappers, fillers and reducers \n"
+                                           + "given to these workers by plugins must then be thread safe.")
+    private boolean parallel = false;
+
+    @Setting(value = "threads", comment = "The amount of threads used by parallel block workers. If 0, one thread per \n"
+                                          + "available processor is used. (Default: 0)")
+    private int threads = 0;
+
+    @Setting(value = "min-parallel-volume", comment = "The smallest amount of blocks a worker's volume must contain \n"
+                                                      + "before it is processed in parallel. (Default: 32768)")
+    private int minParallelVolume = 32768;
+
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    public int getThreads() {
+        return this.threads > 0 ? this.threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getMinParallelVolume() {
+        return this.minParallelVolume;
+    }
+}
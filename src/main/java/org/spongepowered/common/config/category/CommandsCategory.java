@@ -27,7 +27,9 @@
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @ConfigSerializable
@@ -42,6 +44,20 @@ public class CommandsCategory extends ConfigCategory {
                                                     + "changes on the all worlds.")
     private Map<String, Boolean> multiWorldCommandPatches = new HashMap<>();
 
+    @Setting(value = "async-tab-completion", comment = "If enabled, command tab completions of players are computed off the main thread\n"
+                                                     + "for the commands of the plugins in 'async-tab-completion-plugins'. Other commands,\n"
+                                                     + "including vanilla, mod and Sponge commands, are still completed on the main thread.")
+    private boolean asyncTabCompletion = false;
+
+    @Setting(value = "async-tab-completion-plugins", comment = "The ids of the plugins whose commands may be tab completed off the main thread.\n"
+                                                             + "Only add plugins whose completions don't read worlds, entities or online players,\n"
+                                                             + "for example through the player, user or entity command elements.")
+    private List<String> asyncTabCompletionPlugins = new ArrayList<>();
+
+    @Setting(value = "tab-completion-cache-millis", comment = "The amount of milliseconds to reuse the completions of a command line for the same source.\n"
+                                                            + "Only used if 'async-tab-completion' is enabled. 0 disables the cache.")
+    private int tabCompletionCacheMillis = 500;
+
     public Map<String, String> getAliases() {
         return this.aliases;
     }
@@ -50,4 +66,16 @@ public Map<String, Boolean> getMultiWorldCommandPatches() {
         return this.multiWorldCommandPatches;
     }
 
+    public boolean isAsyncTabCompletion() {
+        return this.asyncTabCompletion;
+    }
+
+    public List<String> getAsyncTabCompletionPlugins() {
+        return this.asyncTabCompletionPlugins;
+    }
+
+    public int getTabCompletionCacheMillis() {
+        return this.tabCompletionCacheMillis;
+    }
+
 }
@@ -55,6 +55,18 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates asynchronously.")
     private AsyncLightingCategory asyncLightingCategory = new AsyncLightingCategory();
 
+    @Setting(value = "chunk-saving", comment = "Controls how queued chunks are compressed and written to their region files.")
+    private ChunkSaveCategory chunkSaveCategory = new ChunkSaveCategory();
+
+    @Setting(value = "block-workers", comment = "Controls how block workers process large volumes.")
+    private BlockWorkerCategory blockWorkerCategory = new BlockWorkerCategory();
+
+    @Setting(value = "async-terrain-generation", comment = "Controls generating the base terrain of upcoming chunks off the main thread.")
+    private AsyncTerrainGenerationCategory asyncTerrainGenerationCategory = new AsyncTerrainGenerationCategory();
+
+    @Setting(value = "spawn-preparation", comment = "Controls how the spawn areas of worlds are loaded.")
+    private SpawnPreparationCategory spawnPreparationCategory = new SpawnPreparationCategory();
+
     @Setting(value = "panda-redstone", comment = "If 'true', uses Panda4494's redstone implementation which improves performance. \n"
                                                + "See https://bugs.mojang.com/browse/MC-11193 for more information. \n"
                                                + "Note: This optimization has a few issues which are explained in the bug report.")
@@ -122,6 +134,22 @@ public boolean useAsyncLighting() {
         return this.asyncLightingCategory.isEnabled();
     }
 
+    public ChunkSaveCategory getChunkSaveCategory() {
+        return this.chunkSaveCategory;
+    }
+
+    public BlockWorkerCategory getBlockWorkerCategory() {
+        return this.blockWorkerCategory;
+    }
+
+    public AsyncTerrainGenerationCategory getAsyncTerrainGenerationCategory() {
+        return this.asyncTerrainGenerationCategory;
+    }
+
+    public SpawnPreparationCategory getSpawnPreparationCategory() {
+        return this.spawnPreparationCategory;
+    }
+
     public boolean usePandaRedstone() {
         return this.pandaRedstone;
     }
@@ -69,6 +69,17 @@ public class PhaseTrackerCategory extends ConfigCategory {
                                                                + "to resolve the runaway. If verbose is enabled, they will always print.")
     private int maxRunawayCount = 3;
 
+    @Setting(value = "pool-phase-contexts", comment = "If 'true', the contexts of frequently entered phases, such as block, entity \n"
+                                                    + "and tile entity ticks, are reused along with their capture lists instead \n"
+                                                    + "of being created every time the phase is entered.")
+    private boolean poolPhaseContexts = true;
+
+    @Setting(value = "verify-pooled-contexts", comment = "If 'true', pooled phase contexts are discarded instead of being reused \n"
+                                                       + "once they are closed, and any further use of them throws an exception \n"
+                                                       + "showing where they were closed. This is meant for debugging and defeats \n"
+                                                       + "the purpose of pooling.")
+    private boolean verifyPooledContexts = false;
+
     public boolean isVerbose() {
         return this.isVerbose;
     }
@@ -102,4 +113,12 @@ public boolean generateStackTracePerStateEntry() {
     public int getMaximumRunawayCount() {
         return this.maxRunawayCount;
     }
+
+    public boolean poolPhaseContexts() {
+        return this.poolPhaseContexts;
+    }
+
+    public boolean verifyPooledContexts() {
+        return this.verifyPooledContexts;
+    }
 }
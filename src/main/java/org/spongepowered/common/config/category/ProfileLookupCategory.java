@@ -0,0 +1,70 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ProfileLookupCategory extends ConfigCategory {
+
+    @Setting(value = "requests-per-second", comment = "The average amount of requests per second that may be made to the profile service.\n"
+            + "Names requested while waiting are looked up together in a single request.")
+    private double requestsPerSecond = 1.0;
+
+    @Setting(value = "burst", comment = "The amount of requests that may be made at once after the profile service wasn't used for a while.")
+    private int burst = 10;
+
+    @Setting(value = "threads", comment = "The amount of requests to the profile service that may run at the same time.")
+    private int threads = 2;
+
+    @Setting(value = "max-retries", comment = "The amount of times a failed request is retried. Every consecutive failure doubles\n"
+            + "the delay before the next request, starting at one second.")
+    private int maxRetries = 3;
+
+    @Setting(value = "offline", comment = "If enabled, profiles are resolved locally instead of through the profile service.\n"
+            + "Names are given their offline unique id and unknown unique ids aren't resolved.")
+    private boolean offline = false;
+
+    public double getRequestsPerSecond() {
+        return this.requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return this.burst;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getMaxRetries() {
+        return this.maxRetries;
+    }
+
+    public boolean isOffline() {
+        return this.offline;
+    }
+}
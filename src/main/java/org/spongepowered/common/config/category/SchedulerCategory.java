@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-executor", comment = "The executor that runs asynchronous tasks. One of: \n"
+                                               + "'fork-join' - A work-stealing pool of 'async-threads' threads. Tasks run as managed \n"
+                                               + "    blockers, the pool adds threads while tasks block on IO, sleep or wait, so blocking \n"
+                                               + "    tasks can't take every thread. \n"
+                                               + "'virtual' - One virtual thread per task, if supported by the JVM. Falls back to 'fork-join'. \n"
+                                               + "'cached' - An unbounded pool that creates a thread whenever none is idle.")
+    private String asyncExecutor = "fork-join";
+
+    @Setting(value = "async-threads", comment = "The amount of threads of the 'fork-join' executor. \n"
+                                              + "If '0', twice the amount of available processors is used, with a minimum of 8.")
+    private int asyncThreads = 0;
+
+    @Setting(value = "max-concurrent-tasks-per-plugin", comment = "The maximum amount of asynchronous tasks of a single plugin that may run at \n"
+                                                                + "the same time, further tasks are queued until one completes. This lets \n"
+                                                                + "plugins share the executor fairly. Tasks submitted by a running task of the \n"
+                                                                + "plugin are not limited, but a task waiting for a queued task of its plugin \n"
+                                                                + "submitted elsewhere waits until a slot frees up. \n"
+                                                                + "If '0', half of the 'fork-join' threads is used, and no limit for the other executors.")
+    private int maxConcurrentTasksPerPlugin = 0;
+
+    public String getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    public int getAsyncThreads() {
+        return this.asyncThreads;
+    }
+
+    public int getMaxConcurrentTasksPerPlugin() {
+        return this.maxConcurrentTasksPerPlugin;
+    }
+
+}
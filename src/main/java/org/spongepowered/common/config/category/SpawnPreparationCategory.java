@@ -0,0 +1,72 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SpawnPreparationCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', the spawn area of a world is loaded from the spawn outwards. Saved chunks \n"
+                                          + "are read from their region files ahead of time on worker threads, and missing chunks \n"
+                                          + "have their terrain generated ahead of time if 'async-terrain-generation' allows it. \n"
+                                          + "Chunks beyond 'blocking-radius' are loaded in the background once the world is ready.")
+    private boolean enabled = true;
+
+    @Setting(value = "blocking-radius", comment = "The radius in chunks around the spawn which is loaded before a world is ready. \n"
+                                                  + "The spawn area has a radius of 12 chunks, use 12 to load all of it up front. (Default: 8)")
+    private int blockingRadius = 8;
+
+    @Setting(value = "io-threads", comment = "The amount of threads used to read saved chunks ahead of time. (Default: 4)")
+    private int ioThreads = 4;
+
+    @Setting(value = "prefetch-window", comment = "The maximum amount of chunks per world that are read ahead of time. (Default: 64)")
+    private int prefetchWindow = 64;
+
+    @Setting(value = "background-millis-per-tick", comment = "The amount of milliseconds per tick spent loading the rest of a \n"
+                                                             + "spawn area in the background. (Default: 10)")
+    private int backgroundMillisPerTick = 10;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getBlockingRadius() {
+        return Math.max(0, this.blockingRadius);
+    }
+
+    public int getIoThreads() {
+        return Math.max(1, this.ioThreads);
+    }
+
+    public int getPrefetchWindow() {
+        return Math.max(1, this.prefetchWindow);
+    }
+
+    public int getBackgroundMillisPerTick() {
+        return Math.max(1, this.backgroundMillisPerTick);
+    }
+}
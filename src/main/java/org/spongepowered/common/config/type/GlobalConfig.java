@@ -28,7 +28,10 @@
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import ninja.leaping.configurate.objectmapping.Setting;
 import org.spongepowered.common.config.category.BrokenModCategory;
 import org.spongepowered.common.config.category.BungeeCordCategory;
@@ -40,14 +43,18 @@
 import org.spongepowered.common.config.category.ModuleCategory;
 import org.spongepowered.common.config.category.MovementChecksCategory;
 import org.spongepowered.common.config.category.OptimizationCategory;
+import org.spongepowered.common.config.category.ProfileLookupCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
+import org.spongepowered.common.util.IpPrefixTrie;
 import org.spongepowered.common.util.IpSet;
 
 import java.net.InetAddress;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -68,6 +75,9 @@ public class GlobalConfig extends GeneralConfigBase {
     @Setting(value = "bungeecord")
     private BungeeCordCategory bungeeCord = new BungeeCordCategory();
 
+    // Rebuilt whenever a config reload replaces the ip sets
+    @Nullable private volatile IpSetIndex ipSetIndex;
+
     @Setting
     private ExploitCategory exploits = new ExploitCategory();
 
@@ -89,9 +99,15 @@ public class GlobalConfig extends GeneralConfigBase {
     @Setting("movement-checks")
     private MovementChecksCategory movementChecks = new MovementChecksCategory();
 
+    @Setting(value = "scheduler", comment = "Configuration options related to the execution of asynchronous tasks.")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
     @Setting(value = "broken-mods", comment = "Stopgap measures for dealing with broken mods")
     private BrokenModCategory brokenMods = new BrokenModCategory();
 
+    @Setting(value = "profile-lookup", comment = "Configuration options related to looking up game profiles by unique id or name.")
+    private ProfileLookupCategory profileLookup = new ProfileLookupCategory();
+
     public GlobalConfig() {
         super();
     }
@@ -139,6 +155,22 @@ public Predicate<InetAddress> getIpSet(String name) {
         return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
     }
 
+    /**
+     * Gets the names of all ip sets the given address is part of, matching
+     * {@link #getIpSets()} without testing every set.
+     *
+     * @param address The address
+     * @return The names of the matching ip sets
+     */
+    public Set<String> getMatchingIpSets(InetAddress address) {
+        IpSetIndex index = this.ipSetIndex;
+        if (index == null || index.ipSets != this.ipSets) {
+            index = new IpSetIndex(this.ipSets);
+            this.ipSetIndex = index;
+        }
+        return index.getMatches(address);
+    }
+
     @Override
     public GlobalGeneralCategory getGeneral() {
         return this.general;
@@ -161,4 +193,55 @@ public MovementChecksCategory getMovementChecks() {
         return this.movementChecks;
     }
 
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
+
+    public ProfileLookupCategory getProfileLookup() {
+        return this.profileLookup;
+    }
+
+
+    private static final class IpSetIndex {
+
+        final Map<String, List<IpSet>> ipSets;
+        private final IpPrefixTrie<String> ranges;
+        private final Object2IntMap<String> rangeCounts = new Object2IntOpenHashMap<>();
+        private final Set<String> unconditional;
+
+        IpSetIndex(Map<String, List<IpSet>> ipSets) {
+            this.ipSets = ipSets;
+            final IpPrefixTrie.Builder<String> builder = IpPrefixTrie.builder();
+            final ImmutableSet.Builder<String> unconditional = ImmutableSet.builder();
+            for (Map.Entry<String, List<IpSet>> entry : ipSets.entrySet()) {
+                for (IpSet set : entry.getValue()) {
+                    set.addTo(builder, entry.getKey());
+                }
+                if (entry.getValue().isEmpty()) {
+                    unconditional.add(entry.getKey());
+                } else {
+                    this.rangeCounts.put(entry.getKey(), entry.getValue().size());
+                }
+            }
+            this.ranges = builder.build();
+            this.unconditional = unconditional.build();
+        }
+
+        Set<String> getMatches(InetAddress address) {
+            if (this.ranges.isEmpty()) {
+                return this.unconditional;
+            }
+            // A set is a conjunction of its ranges, so it matches when all of them were found on the path of the address
+            final Object2IntOpenHashMap<String> matched = new Object2IntOpenHashMap<>();
+            this.ranges.forEachMatch(address, name -> matched.addTo(name, 1));
+            final ImmutableSet.Builder<String> matches = ImmutableSet.builder();
+            matches.addAll(this.unconditional);
+            for (Object2IntMap.Entry<String> entry : matched.object2IntEntrySet()) {
+                if (entry.getIntValue() == this.rangeCounts.getInt(entry.getKey())) {
+                    matches.add(entry.getKey());
+                }
+            }
+            return matches.build();
+        }
+    }
 }
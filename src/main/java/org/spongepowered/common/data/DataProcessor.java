@@ -57,6 +57,21 @@
 
     boolean supports(EntityType entityType);
 
+    /**
+     * Checks whether instances of the given {@link DataHolder} class could
+     * ever be supported by this processor. This is used by delegates to
+     * cache the processors worth asking for a particular holder class, so
+     * returning {@code false} must mean that {@link #supports(DataHolder)}
+     * is {@code false} for every instance of the class. The default is the
+     * conservative {@code true}.
+     *
+     * @param holderClass The class of the data holder
+     * @return False if no instance of the class can be supported
+     */
+    default boolean supportsHolderType(Class<?> holderClass) {
+        return true;
+    }
+
     /**
      * Attempts to get the given {@link DataManipulator} of type {@code T} if
      * and only if the manipulator's required data exists from the
@@ -28,17 +28,28 @@
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.api.text.Text;
 import org.spongepowered.common.SpongeImpl;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,16 +59,32 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    private static final Cache<CacheKey, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
         .concurrencyLevel(4)
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
+    private static final Cache<CacheKey, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
         .maximumSize(VALUE_CACHE_LIMIT)
         .build();
 
+    // Most cached immutables wrap a boolean, an enum or a small number, so
+    // those get an intern table per manipulator class or value key that can
+    // be probed without building a cache key at all.
+    private static final ClassValue<InternTable> manipulatorTables = new ClassValue<InternTable>() {
+        @Override
+        protected InternTable computeValue(Class<?> type) {
+            return new InternTable(null, null);
+        }
+    };
+    private static final ConcurrentMap<Key<?>, InternTable> valueTables = new ConcurrentHashMap<>();
+
+    private static final LongAdder manipulatorHits = new LongAdder();
+    private static final LongAdder manipulatorMisses = new LongAdder();
+    private static final LongAdder valueHits = new LongAdder();
+    private static final LongAdder valueMisses = new LongAdder();
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,55 +102,267 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
-        try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
-        } catch (Throwable e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+        final InternTable table = args.length == 1 ? manipulatorTables.get(immutableClass) : null;
+        final int slot = table == null ? -1 : table.slot(args[0]);
+        if (slot >= 0) {
+            final Object interned = table.get(slot);
+            if (interned != null) {
+                manipulatorHits.increment();
+                return (T) interned;
+            }
+        }
+        final CacheKey key = new CacheKey(immutableClass, args);
+        ImmutableDataManipulator<?, ?> manipulator = ImmutableDataCachingUtil.manipulatorCache.getIfPresent(key);
+        if (manipulator != null) {
+            manipulatorHits.increment();
+        } else {
+            manipulatorMisses.increment();
+            // We can't really use the generic typing here because it's complicated...
+            try {
+                manipulator = ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
+                        try {
+                            return createUnsafeInstance(immutableClass, args);
+                        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                                         + Arrays.toString(args), e);
+                        }
+                        throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
+                                                                + Arrays.toString(args));
+                });
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+            }
+        }
+        if (slot >= 0) {
+            table.set(slot, manipulator);
         }
+        return (T) manipulator;
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
-        try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+        final boolean hasExtraArgs = extraArgs != null && extraArgs.length != 0;
+        InternTable table = null;
+        int slot = -1;
+        if (!hasExtraArgs && InternTable.isInternable(arg)) {
+            table = valueTables.computeIfAbsent(usedKey, k -> new InternTable(valueClass, defaultArg));
+            slot = table.matches(valueClass, defaultArg) ? table.slot(arg) : -1;
+            if (slot >= 0) {
+                final Object interned = table.get(slot);
+                if (interned != null) {
+                    valueHits.increment();
+                    return (T) interned;
+                }
+            }
+        }
+        final CacheKey key = hasExtraArgs
+                ? new CacheKey(valueClass, usedKey, defaultArg, arg, extraArgs)
+                : new CacheKey(valueClass, usedKey, defaultArg, arg);
+        ImmutableValue<?> value = ImmutableDataCachingUtil.valueCache.getIfPresent(key);
+        if (value != null) {
+            valueHits.increment();
+        } else {
+            valueMisses.increment();
+            try {
+                value = ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
+                        try {
+                            if (!hasExtraArgs) {
+                                return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+                            }
+                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+                        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
                         }
-                        return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
+                        throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
+                });
+            } catch (ExecutionException e) {
+                throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
+            }
+        }
+        if (slot >= 0) {
+            table.set(slot, value);
         }
+        return (T) value;
+    }
+
+    /**
+     * Gets the fraction of {@link #getManipulator(Class, Object...)} calls
+     * that were served without constructing a new manipulator.
+     *
+     * @return The manipulator hit rate, between 0 and 1
+     */
+    public static double getManipulatorHitRate() {
+        return hitRate(manipulatorHits.sum(), manipulatorMisses.sum());
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
+    /**
+     * Gets the fraction of {@link #getValue(Class, Key, Object, Object, Object...)}
+     * calls that were served without constructing a new value.
+     *
+     * @return The value hit rate, between 0 and 1
+     */
+    public static double getValueHitRate() {
+        return hitRate(valueHits.sum(), valueMisses.sum());
+    }
+
+    public static long getManipulatorRequestCount() {
+        return manipulatorHits.sum() + manipulatorMisses.sum();
+    }
+
+    public static long getValueRequestCount() {
+        return valueHits.sum() + valueMisses.sum();
+    }
+
+    private static double hitRate(long hits, long misses) {
+        final long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * A lookup key made of the constructed class and its arguments, compared
+     * structurally. Arguments that are not known to be immutable are keyed by
+     * their string form instead, so that mutating them after the lookup can
+     * never corrupt the cache.
+     */
+    private static final class CacheKey {
+
+        private final Class<?> type;
+        private final Object[] args;
+        private final int hash;
+
+        CacheKey(Class<?> type, Object... args) {
+            this.type = type;
+            this.args = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                this.args[i] = keyOf(args[i]);
+            }
+            this.hash = 31 * type.hashCode() + Arrays.hashCode(this.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return this.hash == other.hash && this.type == other.type && Arrays.equals(this.args, other.args);
+        }
+
+        @Nullable
+        private static Object keyOf(@Nullable Object object) {
+            if (object == null || object instanceof Boolean || object instanceof Number || object instanceof Character
+                || object instanceof String || object instanceof Enum || object instanceof UUID || object instanceof Key
+                || object instanceof Text || object instanceof Class || object instanceof ImmutableCollection
+                || object instanceof ImmutableMap) {
+                return object;
+            }
             if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+                return new CatalogKey(object.getClass(), ((CatalogType) object).getId());
             }
+            if (object instanceof Object[]) {
+                final Object[] array = ((Object[]) object).clone();
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = keyOf(array[i]);
+                }
+                return Arrays.asList(array);
+            }
+            return object.getClass().getName() + object;
+        }
+    }
+
+    private static final class CatalogKey {
+
+        private final Class<?> type;
+        private final String id;
+
+        CatalogKey(Class<?> type, String id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CatalogKey && ((CatalogKey) obj).type == this.type && ((CatalogKey) obj).id.equals(this.id);
+        }
+    }
+
+    /**
+     * Interned instances for a single manipulator class or value key, indexed
+     * by the boolean, small integer or enum ordinal they were created from.
+     * The first internable argument fixes the kind of the table, any other
+     * kind falls through to the regular cache.
+     */
+    private static final class InternTable {
+
+        private static final int SMALL_INT_OFFSET = 128;
+        private static final int SMALL_INT_COUNT = 256;
+
+        @Nullable private final Class<?> valueClass;
+        @Nullable private final Object defaultArg;
+        @Nullable private volatile Class<?> argType;
+        @Nullable private volatile AtomicReferenceArray<Object> slots;
+
+        InternTable(@Nullable Class<?> valueClass, @Nullable Object defaultArg) {
+            this.valueClass = valueClass;
+            this.defaultArg = defaultArg;
+        }
+
+        static boolean isInternable(@Nullable Object arg) {
+            return arg instanceof Boolean || arg instanceof Enum
+                || arg instanceof Integer && (Integer) arg >= -SMALL_INT_OFFSET && (Integer) arg < SMALL_INT_COUNT - SMALL_INT_OFFSET;
+        }
+
+        boolean matches(Class<?> valueClass, @Nullable Object defaultArg) {
+            return this.valueClass == valueClass && Objects.equals(this.defaultArg, defaultArg);
+        }
+
+        int slot(@Nullable Object arg) {
+            if (!isInternable(arg)) {
+                return -1;
+            }
+            final Class<?> type = arg instanceof Enum ? ((Enum<?>) arg).getDeclaringClass() : arg.getClass();
+            if (this.argType == null) {
+                synchronized (this) {
+                    if (this.argType == null) {
+                        final int size = arg instanceof Boolean ? 2 : arg instanceof Enum ? type.getEnumConstants().length : SMALL_INT_COUNT;
+                        this.slots = new AtomicReferenceArray<>(size);
+                        this.argType = type;
+                    }
+                }
+            }
+            if (this.argType != type) {
+                return -1;
+            }
+            if (arg instanceof Boolean) {
+                return (Boolean) arg ? 1 : 0;
+            }
+            if (arg instanceof Enum) {
+                return ((Enum<?>) arg).ordinal();
+            }
+            return (Integer) arg + SMALL_INT_OFFSET;
+        }
+
+        @Nullable
+        Object get(int slot) {
+            return this.slots.get(slot);
+        }
+
+        void set(int slot, Object value) {
+            this.slots.set(slot, value);
         }
-        return builder.toString();
     }
 }
@@ -827,6 +827,18 @@ public boolean isEmpty() {
         return this.map.isEmpty();
     }
 
+    /**
+     * Gets the values held directly by this view, keyed by name. The map is
+     * not a copy, nested views are held as {@link DataView}s and values put
+     * into it are not checked. INTERNAL USE ONLY, for serializers that need
+     * to avoid the copies made by {@link #getValues(boolean)}.
+     *
+     * @return The backing map of this view
+     */
+    public Map<String, Object> getBackingMap() {
+        return this.map;
+    }
+
     @Override
     public SafetyMode getSafetyMode() {
         return this.safety;
@@ -139,6 +139,20 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks whether instances of the given {@link ValueContainer} class
+     * could ever be supported by this processor. Returning {@code false}
+     * must mean that {@link #supports(ValueContainer)} is {@code false} for
+     * every instance of the class, as delegates cache the result per class.
+     * The default is the conservative {@code true}.
+     *
+     * @param containerClass The class of the value container
+     * @return False if no instance of the class can be supported
+     */
+    default boolean supportsContainerType(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
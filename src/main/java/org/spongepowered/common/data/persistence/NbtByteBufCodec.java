@@ -0,0 +1,434 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.spongepowered.api.data.DataQuery.of;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.data.MemoryDataView;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes {@link DataView}s to and reads them from a {@link ByteBuf} as a
+ * named NBT compound, without building the intermediate NBT tree the
+ * {@link NbtTranslator} goes through. The bytes are the same as those of
+ * the translated compound written with
+ * {@link net.minecraft.network.PacketBuffer#writeCompoundTag}, including the
+ * markers of boolean values, so both ends don't need to use this codec.
+ */
+public final class NbtByteBufCodec {
+
+    /**
+     * The limits vanilla applies to compounds read from packets.
+     */
+    private static final int MAX_DEPTH = 512;
+    private static final int MAX_SIZE = 2097152;
+
+    private NbtByteBufCodec() {
+    }
+
+    /**
+     * Writes the view as a named compound.
+     *
+     * @param buf The buffer to write to
+     * @param view The view to write
+     * @throws IOException If a key or string is too long to be encoded
+     * @throws IllegalArgumentException If a value can't be represented as NBT
+     */
+    public static void write(ByteBuf buf, DataView view) throws IOException {
+        buf.writeByte(NbtDataUtil.TAG_COMPOUND);
+        writeString(buf, "");
+        writeView(buf, view);
+    }
+
+    /**
+     * Reads a named compound into a new container.
+     *
+     * @param buf The buffer to read from
+     * @return The read container
+     * @throws IOException If the data isn't a valid compound
+     */
+    public static DataContainer read(ByteBuf buf) throws IOException {
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        readInto(buf, container);
+        return container;
+    }
+
+    /**
+     * Reads a named compound, setting its values into the given view.
+     *
+     * @param buf The buffer to read from
+     * @param view The view to set the values into
+     * @throws IOException If the data isn't a valid compound
+     */
+    public static void readInto(ByteBuf buf, DataView view) throws IOException {
+        if (buf.readByte() != NbtDataUtil.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        final Reader reader = new Reader(buf);
+        reader.readString();
+        reader.readView(view, 0);
+    }
+
+    private static void writeView(ByteBuf buf, DataView view) throws IOException {
+        if (view instanceof MemoryDataView) {
+            for (Map.Entry<String, Object> entry : ((MemoryDataView) view).getBackingMap().entrySet()) {
+                writeEntry(buf, entry.getKey(), entry.getValue(), true);
+            }
+        } else {
+            for (Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
+                writeEntry(buf, entry.getKey().asString('.'), entry.getValue(), true);
+            }
+        }
+        buf.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static void writeMap(ByteBuf buf, Map<?, ?> map) throws IOException {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            // Only values of queries are marked as booleans, like the translator does
+            if (entry.getKey() instanceof DataQuery) {
+                writeEntry(buf, ((DataQuery) entry.getKey()).asString('.'), entry.getValue(), true);
+            } else {
+                writeEntry(buf, entry.getKey().toString(), entry.getValue(), false);
+            }
+        }
+        buf.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static void writeEntry(ByteBuf buf, String key, Object value, boolean markBooleans) throws IOException {
+        final byte type = getType(value);
+        buf.writeByte(type);
+        writeString(buf, markBooleans && value instanceof Boolean ? key + NbtTranslator.BOOLEAN_IDENTIFER : key);
+        writePayload(buf, type, value);
+    }
+
+    private static void writeList(ByteBuf buf, List<?> list) throws IOException {
+        // Elements that don't match the type of the first one are dropped, like NBTTagList#appendTag does
+        byte type = NbtDataUtil.TAG_END;
+        int count = 0;
+        for (Object element : list) {
+            final byte elementType = getType(element);
+            if (type == NbtDataUtil.TAG_END) {
+                type = elementType;
+            }
+            if (elementType == type) {
+                count++;
+            }
+        }
+        buf.writeByte(type);
+        buf.writeInt(count);
+        for (Object element : list) {
+            if (getType(element) == type) {
+                writePayload(buf, type, element);
+            }
+        }
+    }
+
+    private static byte getType(Object value) {
+        if (value instanceof Boolean || value instanceof Byte) {
+            return NbtDataUtil.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return NbtDataUtil.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return NbtDataUtil.TAG_INT;
+        } else if (value instanceof Long) {
+            return NbtDataUtil.TAG_LONG;
+        } else if (value instanceof Float) {
+            return NbtDataUtil.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return NbtDataUtil.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return NbtDataUtil.TAG_STRING;
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            return NbtDataUtil.TAG_BYTE_ARRAY;
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            return NbtDataUtil.TAG_INT_ARRAY;
+        } else if (value instanceof List) {
+            return NbtDataUtil.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return NbtDataUtil.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+    }
+
+    private static void writePayload(ByteBuf buf, byte type, Object value) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                buf.writeByte(value instanceof Boolean ? ((Boolean) value ? 1 : 0) : (Byte) value);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                buf.writeShort((Short) value);
+                break;
+            case NbtDataUtil.TAG_INT:
+                buf.writeInt((Integer) value);
+                break;
+            case NbtDataUtil.TAG_LONG:
+                buf.writeLong((Long) value);
+                break;
+            case NbtDataUtil.TAG_FLOAT:
+                buf.writeFloat((Float) value);
+                break;
+            case NbtDataUtil.TAG_DOUBLE:
+                buf.writeDouble((Double) value);
+                break;
+            case NbtDataUtil.TAG_STRING:
+                writeString(buf, (String) value);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                if (value instanceof byte[]) {
+                    buf.writeInt(((byte[]) value).length);
+                    buf.writeBytes((byte[]) value);
+                } else {
+                    buf.writeInt(((Byte[]) value).length);
+                    for (Byte element : (Byte[]) value) {
+                        buf.writeByte(element);
+                    }
+                }
+                break;
+            case NbtDataUtil.TAG_INT_ARRAY:
+                if (value instanceof int[]) {
+                    buf.writeInt(((int[]) value).length);
+                    for (int element : (int[]) value) {
+                        buf.writeInt(element);
+                    }
+                } else {
+                    buf.writeInt(((Integer[]) value).length);
+                    for (Integer element : (Integer[]) value) {
+                        buf.writeInt(element);
+                    }
+                }
+                break;
+            case NbtDataUtil.TAG_LIST:
+                writeList(buf, (List<?>) value);
+                break;
+            default:
+                if (value instanceof Map) {
+                    writeMap(buf, (Map<?, ?>) value);
+                } else if (value instanceof DataSerializable) {
+                    writeView(buf, ((DataSerializable) value).toContainer());
+                } else {
+                    writeView(buf, (DataView) value);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Writes a string in the modified UTF-8 of
+     * {@link java.io.DataOutput#writeUTF(String)}.
+     */
+    private static void writeString(ByteBuf buf, String string) throws IOException {
+        final int length = string.length();
+        int utfLength = length;
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                utfLength += c >= 0x800 ? 2 : 1;
+            }
+        }
+        if (utfLength > 0xffff) {
+            throw new UTFDataFormatException("Encoded string too long: " + utfLength + " bytes");
+        }
+        buf.ensureWritable(2 + utfLength);
+        buf.writeShort(utfLength);
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c < 0x80 && c != 0) {
+                buf.writeByte(c);
+            } else if (c < 0x800) {
+                buf.writeByte(0xc0 | c >> 6);
+                buf.writeByte(0x80 | c & 0x3f);
+            } else {
+                buf.writeByte(0xe0 | c >> 12);
+                buf.writeByte(0x80 | c >> 6 & 0x3f);
+                buf.writeByte(0x80 | c & 0x3f);
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final ByteBuf buf;
+        private final int start;
+
+        Reader(ByteBuf buf) {
+            this.buf = buf;
+            this.start = buf.readerIndex();
+        }
+
+        void readView(DataView view, int depth) throws IOException {
+            if (depth > MAX_DEPTH) {
+                throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+            }
+            // Values are put directly into memory views, set would look for translators and copy them again
+            @Nullable final Map<String, Object> values = view instanceof MemoryDataView ? ((MemoryDataView) view).getBackingMap() : null;
+            byte type;
+            while ((type = this.buf.readByte()) != NbtDataUtil.TAG_END) {
+                if (this.buf.readerIndex() - this.start > MAX_SIZE) {
+                    throw new IOException("Tried to read NBT tag that was too big, more than " + MAX_SIZE + " bytes");
+                }
+                String key = readString();
+                if (type == NbtDataUtil.TAG_COMPOUND) {
+                    readView(view.createView(of(key)), depth + 1);
+                    continue;
+                }
+                final Object value;
+                if (type == NbtDataUtil.TAG_BYTE && key.contains(NbtTranslator.BOOLEAN_IDENTIFER)) {
+                    key = key.replace(NbtTranslator.BOOLEAN_IDENTIFER, "");
+                    value = this.buf.readByte() != 0;
+                } else {
+                    value = readPayload(type, depth + 1);
+                }
+                if (values != null) {
+                    values.put(key, value);
+                } else {
+                    view.set(of(key), value);
+                }
+            }
+        }
+
+        private Object readPayload(byte type, int depth) throws IOException {
+            switch (type) {
+                case NbtDataUtil.TAG_BYTE:
+                    return this.buf.readByte();
+                case NbtDataUtil.TAG_SHORT:
+                    return this.buf.readShort();
+                case NbtDataUtil.TAG_INT:
+                    return this.buf.readInt();
+                case NbtDataUtil.TAG_LONG:
+                    return this.buf.readLong();
+                case NbtDataUtil.TAG_FLOAT:
+                    return this.buf.readFloat();
+                case NbtDataUtil.TAG_DOUBLE:
+                    return this.buf.readDouble();
+                case NbtDataUtil.TAG_STRING:
+                    return readString();
+                case NbtDataUtil.TAG_BYTE_ARRAY: {
+                    final byte[] array = new byte[readLength(1)];
+                    this.buf.readBytes(array);
+                    return array;
+                }
+                case NbtDataUtil.TAG_INT_ARRAY: {
+                    final int[] array = new int[readLength(4)];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = this.buf.readInt();
+                    }
+                    return array;
+                }
+                case NbtDataUtil.TAG_LIST:
+                    return readList(depth);
+                case NbtDataUtil.TAG_COMPOUND: {
+                    final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+                    readView(container, depth);
+                    return container;
+                }
+                default:
+                    throw new IOException("Unknown NBT type " + type);
+            }
+        }
+
+        private List<Object> readList(int depth) throws IOException {
+            if (depth > MAX_DEPTH) {
+                throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+            }
+            final byte type = this.buf.readByte();
+            final int count = readLength(1);
+            if (type == NbtDataUtil.TAG_END && count > 0) {
+                throw new IOException("Missing type on ListTag");
+            }
+            final ImmutableList.Builder<Object> builder = ImmutableList.builder();
+            for (int i = 0; i < count; i++) {
+                builder.add(readPayload(type, depth + 1));
+            }
+            return builder.build();
+        }
+
+        /**
+         * Reads the length of an array or list, checking that the elements
+         * can fit in the remaining bytes before anything is allocated.
+         */
+        private int readLength(int elementSize) throws IOException {
+            final int length = this.buf.readInt();
+            if (length < 0 || (long) length * elementSize > this.buf.readableBytes()) {
+                throw new IOException("Tried to read NBT tag with an invalid length of " + length);
+            }
+            return length;
+        }
+
+        /**
+         * Reads a string in the modified UTF-8 of
+         * {@link java.io.DataInput#readUTF()}.
+         */
+        String readString() throws IOException {
+            final int length = this.buf.readUnsignedShort();
+            if (length > this.buf.readableBytes()) {
+                throw new IOException("Tried to read NBT string with an invalid length of " + length);
+            }
+            final char[] chars = new char[length];
+            int count = 0;
+            int index = this.buf.readerIndex();
+            final int end = index + length;
+            while (index < end) {
+                final int b = this.buf.getByte(index) & 0xff;
+                if (b < 0x80) {
+                    chars[count++] = (char) b;
+                    index++;
+                } else if ((b & 0xe0) == 0xc0 && index + 1 < end) {
+                    final int b2 = this.buf.getByte(index + 1);
+                    if ((b2 & 0xc0) != 0x80) {
+                        throw new UTFDataFormatException("Malformed input around byte " + (index - this.start));
+                    }
+                    chars[count++] = (char) ((b & 0x1f) << 6 | b2 & 0x3f);
+                    index += 2;
+                } else if ((b & 0xf0) == 0xe0 && index + 2 < end) {
+                    final int b2 = this.buf.getByte(index + 1);
+                    final int b3 = this.buf.getByte(index + 2);
+                    if ((b2 & 0xc0) != 0x80 || (b3 & 0xc0) != 0x80) {
+                        throw new UTFDataFormatException("Malformed input around byte " + (index - this.start));
+                    }
+                    chars[count++] = (char) ((b & 0x0f) << 12 | (b2 & 0x3f) << 6 | b3 & 0x3f);
+                    index += 3;
+                } else {
+                    throw new UTFDataFormatException("Malformed input around byte " + (index - this.start));
+                }
+            }
+            this.buf.readerIndex(end);
+            return new String(chars, 0, count);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.util.gen.SectionedBackingData;
+
+/**
+ * Decodes the varint encoded block data of a schematic straight into
+ * {@link SectionedBackingData}. The data may be fed in arbitrary chunks,
+ * a varint split between two chunks is carried over.
+ *
+ * <p>Schematics store their blocks in {@code (y * length + z) * width + x}
+ * order while block buffers are indexed by {@code (x * length + z) * height + y},
+ * so the buffer index is advanced incrementally as the position moves.</p>
+ */
+final class SchematicBlockDecoder {
+
+    private final SectionedBackingData blocks;
+    private final int width;
+    private final int height;
+    private final int length;
+    private final int xStride;
+    private final int volume;
+
+    private int x;
+    private int y;
+    private int z;
+    private int columnIndex;
+    private int index;
+    private int decoded;
+
+    private int value;
+    private int varintLength;
+
+    SchematicBlockDecoder(SectionedBackingData blocks, int width, int height, int length) {
+        this.blocks = blocks;
+        this.width = width;
+        this.height = height;
+        this.length = length;
+        this.xStride = length * height;
+        this.volume = blocks.size();
+    }
+
+    void decode(byte[] buffer, int offset, int count) throws InvalidDataException {
+        final int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            final byte b = buffer[i];
+            this.value |= (b & 127) << (this.varintLength++ * 7);
+            if (this.varintLength > 5) {
+                throw new InvalidDataException("VarInt too big (probably corrupted data)");
+            }
+            if ((b & 128) != 128) {
+                accept(this.value);
+                this.value = 0;
+                this.varintLength = 0;
+            }
+        }
+    }
+
+    /**
+     * Sets all blocks that weren't decoded yet to the given id.
+     */
+    void fill(int id) throws InvalidDataException {
+        while (this.decoded < this.volume) {
+            accept(id);
+        }
+    }
+
+    private void accept(int id) throws InvalidDataException {
+        if (this.decoded == this.volume) {
+            throw new InvalidDataException("Schematic contains more block data than its size allows");
+        }
+        this.blocks.set(this.index, id);
+        this.decoded++;
+        if (++this.x < this.width) {
+            this.index += this.xStride;
+            return;
+        }
+        this.x = 0;
+        if (++this.z < this.length) {
+            this.columnIndex += this.height;
+        } else {
+            this.z = 0;
+            this.columnIndex = ++this.y;
+        }
+        this.index = this.columnIndex;
+    }
+
+    boolean isComplete() {
+        return this.decoded == this.volume && this.varintLength == 0;
+    }
+
+    /**
+     * Gets the number of layers, counted from the bottom of the schematic,
+     * which have been fully decoded.
+     */
+    int getCompletedLayers() {
+        return this.y;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.DataFormat;
+import org.spongepowered.api.data.persistence.InvalidDataFormatException;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.SpongeCatalogType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reads and writes schematics as uncompressed NBT, the same as the NBT
+ * format does, but streams the tags with {@link StreamingSchematicReader}
+ * and {@link StreamingSchematicWriter} instead of building the whole tag
+ * tree and block data array in memory.
+ *
+ * <p>Only views in the format of the schematic translator can be written.
+ * {@link #readSchematic(InputStream)} and
+ * {@link #writeSchematic(OutputStream, Schematic)} skip the translation
+ * into a view entirely.</p>
+ */
+public class SchematicDataFormat extends SpongeCatalogType implements DataFormat {
+
+    public SchematicDataFormat(String id) {
+        super(id);
+    }
+
+    @Override
+    public DataContainer readFrom(InputStream input) throws InvalidDataFormatException, IOException {
+        return SchematicTranslator.get().translate(readSchematic(input));
+    }
+
+    @Override
+    public void writeTo(OutputStream output, DataView data) throws IOException {
+        writeSchematic(output, SchematicTranslator.get().translate(data));
+    }
+
+    /**
+     * Reads a schematic from the given stream and closes it.
+     *
+     * @param input The uncompressed NBT stream
+     * @return The schematic
+     * @throws IOException If the stream could not be read
+     */
+    public Schematic readSchematic(InputStream input) throws IOException {
+        try {
+            return StreamingSchematicReader.read(input, null);
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Writes a schematic to the given stream and closes it.
+     *
+     * @param output The stream to write the uncompressed NBT to
+     * @param schematic The schematic
+     * @throws IOException If the stream could not be written to
+     */
+    public void writeSchematic(OutputStream output, Schematic schematic) throws IOException {
+        try {
+            StreamingSchematicWriter.write(schematic, output);
+        } finally {
+            output.close();
+        }
+    }
+
+}
@@ -32,6 +32,7 @@
 import net.minecraft.util.ResourceLocation;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.block.tileentity.TileEntityArchetype;
 import org.spongepowered.api.block.tileentity.TileEntityType;
 import org.spongepowered.api.data.DataContainer;
@@ -40,6 +41,7 @@
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.api.world.extent.BlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.api.world.schematic.BlockPaletteTypes;
@@ -48,6 +50,7 @@
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.registry.type.block.TileEntityTypeRegistryModule;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.util.gen.SectionedBackingData;
 import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 import org.spongepowered.common.world.schematic.SpongeSchematic;
@@ -58,12 +61,16 @@
 import java.util.Optional;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 public class SchematicTranslator implements DataTranslator<Schematic> {
 
     private static final SchematicTranslator INSTANCE = new SchematicTranslator();
     private static final TypeToken<Schematic> TYPE_TOKEN = TypeToken.of(Schematic.class);
-    private static final int VERSION = 1;
-    private static final int MAX_SIZE = 65535;
+    static final int VERSION = 1;
+    static final int MAX_SIZE = 65535;
+    @SuppressWarnings("ConstantConditions")
+    private static final BlockState AIR = BlockTypes.AIR.getDefaultState();
 
     public static SchematicTranslator get() {
         return INSTANCE;
@@ -95,18 +102,7 @@ public Schematic translate(DataView view) throws InvalidDataException {
         if (version != VERSION) {
             throw new InvalidDataException(String.format("Unknown schematic version %d (current version is %d)", version, VERSION));
         }
-        DataView metadata = view.getView(DataQueries.Schematic.METADATA).orElse(null);
-        if (metadata != null) {
-            Optional<DataView> dot_data = metadata.getView(DataQuery.of("."));
-            if (dot_data.isPresent()) {
-                DataView data = dot_data.get();
-                for (DataQuery key : data.getKeys(false)) {
-                    if (!metadata.contains(key)) {
-                        metadata.set(key, data.get(key).get());
-                    }
-                }
-            }
-        }
+        DataView metadata = readMetadata(view.getView(DataQueries.Schematic.METADATA).orElse(null));
 
         // TODO error handling for these optionals
         int width = view.getShort(DataQueries.Schematic.WIDTH).get();
@@ -124,71 +120,21 @@ public Schematic translate(DataView view) throws InvalidDataException {
         if (offset.length != 3) {
             throw new InvalidDataException("Schematic offset was not of length 3");
         }
-        BlockPalette palette;
-        Optional<DataView> paletteData = view.getView(DataQueries.Schematic.PALETTE);
         int palette_max = view.getInt(DataQueries.Schematic.PALETTE_MAX).orElse(0xFFFF);
-        if (paletteData.isPresent()) {
-            // If we had a default palette_max we don't want to allocate all
-            // that space for nothing so we use a sensible default instead
-            palette = new BimapPalette(palette_max != 0xFFFF ? palette_max : 64);
-            DataView paletteMap = paletteData.get();
-            Set<DataQuery> paletteKeys = paletteMap.getKeys(false);
-            for (DataQuery key : paletteKeys) {
-                BlockState state = Sponge.getRegistry().getType(BlockState.class, key.getParts().get(0)).get();
-                ((BimapPalette) palette).assign(state, paletteMap.getInt(key).get());
-            }
-        } else {
-            palette = GlobalPalette.instance;
-        }
-
-        MutableBlockVolume buffer =
-                new ArrayMutableBlockBuffer(palette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
+        BlockPalette palette = readPalette(view.getView(DataQueries.Schematic.PALETTE).orElse(null), palette_max);
 
+        SectionedBackingData blocks = new SectionedBackingData(width * height * length, palette.get(AIR).orElse(0));
         byte[] blockdata = (byte[]) view.get(DataQueries.Schematic.BLOCK_DATA).get();
-        int index = 0;
-        int i = 0;
-        int value = 0;
-        int varint_length = 0;
-        while (i < blockdata.length) {
-            value = 0;
-            varint_length = 0;
-
-            while (true) {
-                value |= (blockdata[i] & 127) << (varint_length++ * 7);
-                if (varint_length > 5) {
-                    throw new RuntimeException("VarInt too big (probably corrupted data)");
-                }
-                if ((blockdata[i] & 128) != 128) {
-                    i++;
-                    break;
-                }
-                i++;
-            }
-            // index = (y * length + z) * width + x
-            int y = index / (width * length);
-            int z = (index % (width * length)) / width;
-            int x = (index % (width * length)) % width;
-            BlockState state = palette.get(value).get();
-            buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state);
+        SchematicBlockDecoder decoder = new SchematicBlockDecoder(blocks, width, height, length);
+        decoder.decode(blockdata, 0, blockdata.length);
+        MutableBlockVolume buffer =
+                new ArrayMutableBlockBuffer(palette, blocks, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
 
-            index++;
-        }
         Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
         List<DataView> tiledata = view.getViewList(DataQueries.Schematic.TILEENTITY_DATA).orElse(null);
         if (tiledata != null) {
             for (DataView tile : tiledata) {
-                int[] pos = (int[]) tile.get(DataQueries.Schematic.TILEENTITY_POS).get();
-                if (offset.length != 3) {
-                    throw new InvalidDataException("Schematic tileentity pos was not of length 3");
-                }
-                TileEntityType type = TileEntityTypeRegistryModule.getInstance()
-                        .getForClass(TileEntity.REGISTRY.getObject(new ResourceLocation(tile.getString(DataQuery.of("id")).get())));
-                TileEntityArchetype archetype = new SpongeTileEntityArchetypeBuilder()
-                        .state(buffer.getBlock(pos[0] - offset[0], pos[1] - offset[1], pos[2] - offset[2]))
-                        .tileData(tile)
-                        .tile(type)
-                        .build();
-                tiles.put(new Vector3i(pos[0] - offset[0], pos[1] - offset[1], pos[2] - offset[2]), archetype);
+                readTileEntity(tile, offset, buffer, tiles);
             }
         }
 
@@ -196,6 +142,52 @@ public Schematic translate(DataView view) throws InvalidDataException {
         return schematic;
     }
 
+    static BlockPalette readPalette(@Nullable DataView paletteMap, int palette_max) {
+        if (paletteMap == null) {
+            return GlobalPalette.instance;
+        }
+        // If we had a default palette_max we don't want to allocate all
+        // that space for nothing so we use a sensible default instead
+        BimapPalette palette = new BimapPalette(palette_max != 0xFFFF ? palette_max : 64);
+        Set<DataQuery> paletteKeys = paletteMap.getKeys(false);
+        for (DataQuery key : paletteKeys) {
+            BlockState state = Sponge.getRegistry().getType(BlockState.class, key.getParts().get(0)).get();
+            palette.assign(state, paletteMap.getInt(key).get());
+        }
+        return palette;
+    }
+
+    @Nullable
+    static DataView readMetadata(@Nullable DataView metadata) {
+        if (metadata != null) {
+            Optional<DataView> dot_data = metadata.getView(DataQuery.of("."));
+            if (dot_data.isPresent()) {
+                DataView data = dot_data.get();
+                for (DataQuery key : data.getKeys(false)) {
+                    if (!metadata.contains(key)) {
+                        metadata.set(key, data.get(key).get());
+                    }
+                }
+            }
+        }
+        return metadata;
+    }
+
+    static void readTileEntity(DataView tile, int[] offset, BlockVolume blocks, Map<Vector3i, TileEntityArchetype> tiles) {
+        int[] pos = (int[]) tile.get(DataQueries.Schematic.TILEENTITY_POS).get();
+        if (pos.length != 3) {
+            throw new InvalidDataException("Schematic tileentity pos was not of length 3");
+        }
+        TileEntityType type = TileEntityTypeRegistryModule.getInstance()
+                .getForClass(TileEntity.REGISTRY.getObject(new ResourceLocation(tile.getString(DataQuery.of("id")).get())));
+        TileEntityArchetype archetype = new SpongeTileEntityArchetypeBuilder()
+                .state(blocks.getBlock(pos[0] - offset[0], pos[1] - offset[1], pos[2] - offset[2]))
+                .tileData(tile)
+                .tile(type)
+                .build();
+        tiles.put(new Vector3i(pos[0] - offset[0], pos[1] - offset[1], pos[2] - offset[2]), archetype);
+    }
+
     @Override
     public DataContainer translate(Schematic schematic) throws InvalidDataException {
         DataContainer data = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
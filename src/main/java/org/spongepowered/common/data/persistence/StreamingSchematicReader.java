@@ -0,0 +1,434 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.block.tileentity.TileEntityArchetype;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.schematic.BlockPalette;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.data.util.DataQueries;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.util.gen.SectionedBackingData;
+import org.spongepowered.common.world.schematic.SpongeSchematic;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads a schematic from an uncompressed NBT stream without materializing
+ * the whole tag tree. The block data is decoded in chunks of a fixed size
+ * directly into {@link SectionedBackingData}, so besides the decoded volume
+ * only a small buffer is held in memory.
+ *
+ * <p>If the size, offset and palette of the schematic come before its block
+ * data, which is the case for everything written by
+ * {@link StreamingSchematicWriter}, a {@link SlabListener} is notified about
+ * finished layers while the rest of the stream is still being read.</p>
+ */
+public final class StreamingSchematicReader {
+
+    static final int BUFFER_SIZE = 8192;
+    /**
+     * The number of layers which are decoded before a listener is notified.
+     */
+    private static final int SLAB_HEIGHT = 16;
+    /**
+     * A compound tag type with an empty name, prepended to the stream to
+     * read nested compounds through {@link CompressedStreamTools}.
+     */
+    private static final byte[] COMPOUND_ROOT = {NbtDataUtil.TAG_COMPOUND, 0, 0};
+
+    private static final String VERSION = DataQueries.Schematic.VERSION.asString('.');
+    private static final String METADATA = DataQueries.Schematic.METADATA.asString('.');
+    private static final String WIDTH = DataQueries.Schematic.WIDTH.asString('.');
+    private static final String HEIGHT = DataQueries.Schematic.HEIGHT.asString('.');
+    private static final String LENGTH = DataQueries.Schematic.LENGTH.asString('.');
+    private static final String OFFSET = DataQueries.Schematic.OFFSET.asString('.');
+    private static final String PALETTE = DataQueries.Schematic.PALETTE.asString('.');
+    private static final String PALETTE_MAX = DataQueries.Schematic.PALETTE_MAX.asString('.');
+    private static final String BLOCK_DATA = DataQueries.Schematic.BLOCK_DATA.asString('.');
+    private static final String TILEENTITY_DATA = DataQueries.Schematic.TILEENTITY_DATA.asString('.');
+
+    @SuppressWarnings("ConstantConditions")
+    private static final BlockState AIR = BlockTypes.AIR.getDefaultState();
+
+    /**
+     * Receives the layers of a schematic as soon as they are decoded.
+     */
+    @FunctionalInterface
+    public interface SlabListener {
+
+        /**
+         * Called once all blocks between the given layers of the volume were
+         * decoded. The volume is still being written to above {@code maxY}.
+         *
+         * @param volume The volume being read
+         * @param minY The lowest decoded layer, in the space of the volume
+         * @param maxY The highest decoded layer, inclusive
+         */
+        void onSlabDecoded(BlockVolume volume, int minY, int maxY);
+    }
+
+    /**
+     * Creates a listener which pastes every decoded slab into the world, the
+     * same way {@link Schematic#apply(Location, BlockChangeFlag)} would. Tile
+     * entities are only known once the whole schematic was read, so they are
+     * not placed.
+     *
+     * <p>The listener changes the world from the thread reading the
+     * schematic, which therefore has to be the main thread.</p>
+     *
+     * @param location The location to paste the schematic at
+     * @param flag The flag to set blocks with
+     * @return The listener
+     */
+    public static SlabListener pasteInto(Location<World> location, BlockChangeFlag flag) {
+        final World world = location.getExtent();
+        final int originX = location.getBlockX();
+        final int originY = location.getBlockY();
+        final int originZ = location.getBlockZ();
+        return (volume, minY, maxY) -> {
+            final Vector3i min = volume.getBlockMin();
+            final Vector3i max = volume.getBlockMax();
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = min.getZ(); z <= max.getZ(); z++) {
+                    for (int x = min.getX(); x <= max.getX(); x++) {
+                        world.setBlock(originX + x, originY + y, originZ + z, volume.getBlock(x, y, z), flag);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Reads a schematic from the given stream, the stream is not closed.
+     *
+     * @param input The uncompressed NBT stream
+     * @param listener The listener to notify about decoded slabs, if any
+     * @return The schematic
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the stream does not contain a valid
+     *     schematic
+     */
+    public static Schematic read(InputStream input, @Nullable SlabListener listener) throws IOException, InvalidDataException {
+        return new StreamingSchematicReader(input, listener).read();
+    }
+
+    private final DataInputStream in;
+    @Nullable private final SlabListener listener;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int version = -1;
+    private int width = -1;
+    private int height = -1;
+    private int length = -1;
+    private boolean hasOffset;
+    private int[] offset = new int[3];
+    private int paletteMax = 0xFFFF;
+    @Nullable private BlockPalette palette;
+    @Nullable private DataView metadata;
+
+    @Nullable private SectionedBackingData blocks;
+    @Nullable private SchematicBlockDecoder decoder;
+    @Nullable private ArrayMutableBlockBuffer volume;
+    /** Block data which was found before the size of the schematic */
+    @Nullable private byte[] pendingBlockData;
+    private int notifiedLayers;
+
+    private final Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
+    /** Tile entities which were found before all blocks were known */
+    private final List<DataView> pendingTiles = Lists.newArrayList();
+
+    private StreamingSchematicReader(InputStream input, @Nullable SlabListener listener) {
+        this.in = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+        this.listener = listener;
+    }
+
+    private Schematic read() throws IOException {
+        if (this.in.readByte() != NbtDataUtil.TAG_COMPOUND) {
+            throw new InvalidDataException("Schematic root tag must be a compound tag");
+        }
+        this.in.readUTF();
+        byte type;
+        while ((type = this.in.readByte()) != NbtDataUtil.TAG_END) {
+            readEntry(type, this.in.readUTF());
+        }
+        return finish();
+    }
+
+    private void readEntry(byte type, String name) throws IOException {
+        if (VERSION.equals(name)) {
+            this.version = readNumber(type);
+            // TODO version conversions
+            if (this.version != SchematicTranslator.VERSION) {
+                throw new InvalidDataException(String.format("Unknown schematic version %d (current version is %d)",
+                        this.version, SchematicTranslator.VERSION));
+            }
+        } else if (WIDTH.equals(name)) {
+            this.width = readNumber(type);
+        } else if (HEIGHT.equals(name)) {
+            this.height = readNumber(type);
+        } else if (LENGTH.equals(name)) {
+            this.length = readNumber(type);
+        } else if (OFFSET.equals(name)) {
+            checkType(name, type, NbtDataUtil.TAG_INT_ARRAY);
+            this.offset = new int[this.in.readInt()];
+            for (int i = 0; i < this.offset.length; i++) {
+                this.offset[i] = this.in.readInt();
+            }
+            if (this.offset.length != 3) {
+                throw new InvalidDataException("Schematic offset was not of length 3");
+            }
+            this.hasOffset = true;
+        } else if (PALETTE_MAX.equals(name)) {
+            this.paletteMax = readNumber(type);
+        } else if (PALETTE.equals(name)) {
+            checkType(name, type, NbtDataUtil.TAG_COMPOUND);
+            this.palette = SchematicTranslator.readPalette(NbtTranslator.getInstance().translateFrom(readCompound()), this.paletteMax);
+        } else if (METADATA.equals(name)) {
+            checkType(name, type, NbtDataUtil.TAG_COMPOUND);
+            this.metadata = SchematicTranslator.readMetadata(NbtTranslator.getInstance().translateFrom(readCompound()));
+        } else if (BLOCK_DATA.equals(name)) {
+            checkType(name, type, NbtDataUtil.TAG_BYTE_ARRAY);
+            readBlockData();
+        } else if (TILEENTITY_DATA.equals(name)) {
+            checkType(name, type, NbtDataUtil.TAG_LIST);
+            readTileEntities();
+        } else {
+            skip(type);
+        }
+    }
+
+    private void readBlockData() throws IOException {
+        int remaining = this.in.readInt();
+        if (this.width < 0 || this.height < 0 || this.length < 0) {
+            // Nothing to decode into yet
+            this.pendingBlockData = new byte[remaining];
+            this.in.readFully(this.pendingBlockData);
+            return;
+        }
+        createBlocks();
+        while (remaining > 0) {
+            final int count = Math.min(remaining, this.buffer.length);
+            this.in.readFully(this.buffer, 0, count);
+            this.decoder.decode(this.buffer, 0, count);
+            remaining -= count;
+            notifySlabs(false);
+        }
+    }
+
+    private void createBlocks() {
+        if (this.width > SchematicTranslator.MAX_SIZE || this.height > SchematicTranslator.MAX_SIZE || this.length > SchematicTranslator.MAX_SIZE) {
+            throw new InvalidDataException(String.format("Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)",
+                    this.width, this.height, this.length, SchematicTranslator.MAX_SIZE));
+        }
+        final long size = (long) this.width * this.height * this.length;
+        if (size > Integer.MAX_VALUE) {
+            throw new InvalidDataException(String.format("Schematic volume of %d blocks is too large", size));
+        }
+        // Only use air as the default if the palette is final, the block data
+        // will normally cover the whole volume anyways
+        this.blocks = new SectionedBackingData((int) size, this.palette == null ? 0 : this.palette.get(AIR).orElse(0));
+        this.decoder = new SchematicBlockDecoder(this.blocks, this.width, this.height, this.length);
+        if (this.palette != null && this.hasOffset) {
+            createVolume();
+        }
+    }
+
+    private void createVolume() {
+        this.volume = new ArrayMutableBlockBuffer(this.palette, this.blocks, new Vector3i(-this.offset[0], -this.offset[1], -this.offset[2]),
+                new Vector3i(this.width, this.height, this.length));
+    }
+
+    private void notifySlabs(boolean complete) {
+        if (this.listener == null || this.volume == null) {
+            return;
+        }
+        final int layers = complete ? this.height : this.decoder.getCompletedLayers();
+        if (layers > this.notifiedLayers && (complete || layers - this.notifiedLayers >= SLAB_HEIGHT)) {
+            this.listener.onSlabDecoded(this.volume, this.notifiedLayers - this.offset[1], layers - 1 - this.offset[1]);
+            this.notifiedLayers = layers;
+        }
+    }
+
+    private void readTileEntities() throws IOException {
+        final byte elementType = this.in.readByte();
+        final int count = this.in.readInt();
+        for (int i = 0; i < count; i++) {
+            if (elementType != NbtDataUtil.TAG_COMPOUND) {
+                skip(elementType);
+                continue;
+            }
+            final DataView tile = NbtTranslator.getInstance().translateFrom(readCompound());
+            if (this.volume != null && this.decoder.isComplete()) {
+                SchematicTranslator.readTileEntity(tile, this.offset, this.volume, this.tiles);
+            } else {
+                this.pendingTiles.add(tile);
+            }
+        }
+    }
+
+    private Schematic finish() {
+        if (this.version < 0) {
+            throw new InvalidDataException("Schematic is missing its version");
+        }
+        if (this.width < 0 || this.height < 0 || this.length < 0) {
+            throw new InvalidDataException("Schematic is missing its size");
+        }
+        if (this.palette == null) {
+            this.palette = SchematicTranslator.readPalette(null, this.paletteMax);
+        }
+        if (this.pendingBlockData != null) {
+            createBlocks();
+            this.decoder.decode(this.pendingBlockData, 0, this.pendingBlockData.length);
+            this.pendingBlockData = null;
+        } else if (this.decoder == null) {
+            throw new InvalidDataException("Schematic is missing its block data");
+        }
+        if (!this.decoder.isComplete()) {
+            this.decoder.fill(this.palette.get(AIR).orElse(0));
+        }
+        if (this.volume == null) {
+            createVolume();
+        }
+        notifySlabs(true);
+        for (DataView tile : this.pendingTiles) {
+            SchematicTranslator.readTileEntity(tile, this.offset, this.volume, this.tiles);
+        }
+        return new SpongeSchematic(this.volume, this.tiles, this.metadata);
+    }
+
+    private NBTTagCompound readCompound() throws IOException {
+        // The stream is not buffered again, so it ends up right after the compound
+        return CompressedStreamTools.read(new DataInputStream(new SequenceInputStream(new ByteArrayInputStream(COMPOUND_ROOT), this.in)));
+    }
+
+    private static void checkType(String name, byte type, byte expected) {
+        if (type != expected) {
+            throw new InvalidDataException(String.format("Schematic tag %s has type %d, expected %d", name, type, expected));
+        }
+    }
+
+    private int readNumber(byte type) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                return this.in.readUnsignedByte();
+            case NbtDataUtil.TAG_SHORT:
+                // Sizes are stored as shorts but may go up to 65535
+                return this.in.readUnsignedShort();
+            case NbtDataUtil.TAG_INT:
+                return this.in.readInt();
+            case NbtDataUtil.TAG_LONG:
+                return (int) this.in.readLong();
+            case NbtDataUtil.TAG_FLOAT:
+                return (int) this.in.readFloat();
+            case NbtDataUtil.TAG_DOUBLE:
+                return (int) this.in.readDouble();
+            default:
+                throw new InvalidDataException("Expected a number in the schematic, found a tag of type " + type);
+        }
+    }
+
+    private void skip(byte type) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                skipFully(1);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                skipFully(2);
+                break;
+            case NbtDataUtil.TAG_INT:
+            case NbtDataUtil.TAG_FLOAT:
+                skipFully(4);
+                break;
+            case NbtDataUtil.TAG_LONG:
+            case NbtDataUtil.TAG_DOUBLE:
+                skipFully(8);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                skipFully(this.in.readInt());
+                break;
+            case NbtDataUtil.TAG_STRING:
+                skipFully(this.in.readUnsignedShort());
+                break;
+            case NbtDataUtil.TAG_LIST:
+                final byte elementType = this.in.readByte();
+                for (int i = this.in.readInt(); i > 0; i--) {
+                    skip(elementType);
+                }
+                break;
+            case NbtDataUtil.TAG_COMPOUND:
+                byte entryType;
+                while ((entryType = this.in.readByte()) != NbtDataUtil.TAG_END) {
+                    skipFully(this.in.readUnsignedShort());
+                    skip(entryType);
+                }
+                break;
+            case NbtDataUtil.TAG_INT_ARRAY:
+                skipFully(this.in.readInt() * 4L);
+                break;
+            case NbtDataUtil.TAG_LONG_ARRAY:
+                skipFully(this.in.readInt() * 8L);
+                break;
+            default:
+                throw new InvalidDataException("Unknown tag type " + type + " in schematic");
+        }
+    }
+
+    private void skipFully(long count) throws IOException {
+        while (count > 0) {
+            final long skipped = this.in.skip(count);
+            if (skipped <= 0) {
+                // skip may give up early, reading tells the end of the stream apart
+                this.in.readByte();
+                count--;
+            } else {
+                count -= skipped;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.tileentity.TileEntityArchetype;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.world.schematic.BlockPalette;
+import org.spongepowered.api.world.schematic.BlockPaletteTypes;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.data.util.DataQueries;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes a schematic as an uncompressed NBT stream without building the tag
+ * tree or the block data array in memory. The tags are written in the order
+ * {@link StreamingSchematicReader} needs to hand out slabs while reading,
+ * with the size, offset and palette before the block data.
+ *
+ * <p>The blocks are walked twice, once to assign their palette ids and
+ * measure the block data, and once to encode it into a small buffer.</p>
+ */
+public final class StreamingSchematicWriter {
+
+    private static final String ROOT_NAME = "Schematic";
+
+    /**
+     * Writes a schematic to the given stream, the stream is flushed but not
+     * closed.
+     *
+     * @param schematic The schematic
+     * @param output The stream to write the uncompressed NBT to
+     * @throws IOException If the stream could not be written to
+     */
+    public static void write(Schematic schematic, OutputStream output) throws IOException {
+        final int xMin = schematic.getBlockMin().getX();
+        final int yMin = schematic.getBlockMin().getY();
+        final int zMin = schematic.getBlockMin().getZ();
+        final int width = schematic.getBlockSize().getX();
+        final int height = schematic.getBlockSize().getY();
+        final int length = schematic.getBlockSize().getZ();
+        if (width > SchematicTranslator.MAX_SIZE || height > SchematicTranslator.MAX_SIZE || length > SchematicTranslator.MAX_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)",
+                    width, height, length, SchematicTranslator.MAX_SIZE));
+        }
+
+        // Assign all ids up front so the palette can be written before the blocks
+        final BlockPalette palette = schematic.getPalette();
+        long blockDataLength = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    final int id = palette.getOrAssign(schematic.getBlock(xMin + x, yMin + y, zMin + z));
+                    blockDataLength += varIntSize(id);
+                }
+            }
+        }
+        if (blockDataLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Schematic block data is too large to be written");
+        }
+
+        final NBTTagCompound header = new NBTTagCompound();
+        header.setInteger(DataQueries.Schematic.VERSION.asString('.'), SchematicTranslator.VERSION);
+        if (!schematic.getMetadata().getKeys(false).isEmpty()) {
+            header.setTag(DataQueries.Schematic.METADATA.asString('.'), NbtTranslator.getInstance().translateData(schematic.getMetadata()));
+        }
+        header.setShort(DataQueries.Schematic.WIDTH.asString('.'), (short) width);
+        header.setShort(DataQueries.Schematic.HEIGHT.asString('.'), (short) height);
+        header.setShort(DataQueries.Schematic.LENGTH.asString('.'), (short) length);
+        header.setIntArray(DataQueries.Schematic.OFFSET.asString('.'), new int[] {-xMin, -yMin, -zMin});
+        if (palette.getType() == BlockPaletteTypes.LOCAL) {
+            final NBTTagCompound paletteTag = new NBTTagCompound();
+            for (BlockState state : palette.getEntries()) {
+                // getOrAssign to skip the optional, it will never assign
+                paletteTag.setInteger(state.getId(), palette.getOrAssign(state));
+            }
+            header.setTag(DataQueries.Schematic.PALETTE.asString('.'), paletteTag);
+            header.setInteger(DataQueries.Schematic.PALETTE_MAX.asString('.'), palette.getHighestId());
+        }
+
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output, StreamingSchematicReader.BUFFER_SIZE));
+        out.writeByte(NbtDataUtil.TAG_COMPOUND);
+        out.writeUTF(ROOT_NAME);
+        writeEntries(out, header, false);
+
+        out.writeByte(NbtDataUtil.TAG_BYTE_ARRAY);
+        out.writeUTF(DataQueries.Schematic.BLOCK_DATA.asString('.'));
+        out.writeInt((int) blockDataLength);
+        final byte[] buffer = new byte[StreamingSchematicReader.BUFFER_SIZE];
+        int position = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    if (position > buffer.length - 5) {
+                        out.write(buffer, 0, position);
+                        position = 0;
+                    }
+                    int id = palette.getOrAssign(schematic.getBlock(xMin + x, yMin + y, zMin + z));
+                    while ((id & -128) != 0) {
+                        buffer[position++] = (byte) (id & 127 | 128);
+                        id >>>= 7;
+                    }
+                    buffer[position++] = (byte) id;
+                }
+            }
+        }
+        out.write(buffer, 0, position);
+
+        final Map<Vector3i, TileEntityArchetype> tiles = schematic.getTileEntityArchetypes();
+        out.writeByte(NbtDataUtil.TAG_LIST);
+        out.writeUTF(DataQueries.Schematic.TILEENTITY_DATA.asString('.'));
+        out.writeByte(NbtDataUtil.TAG_COMPOUND);
+        out.writeInt(tiles.size());
+        for (Map.Entry<Vector3i, TileEntityArchetype> entry : tiles.entrySet()) {
+            final Vector3i pos = entry.getKey();
+            final DataContainer tiledata = entry.getValue().getTileData();
+            tiledata.set(DataQueries.Schematic.TILEENTITY_POS, new int[] {pos.getX() - xMin, pos.getY() - yMin, pos.getZ() - zMin});
+            if (!tiledata.contains(DataQueries.CONTENT_VERSION)) {
+                // Set a default content version of 1
+                tiledata.set(DataQueries.CONTENT_VERSION, 1);
+            }
+            writeEntries(out, NbtTranslator.getInstance().translateData(tiledata), true);
+        }
+
+        out.writeByte(NbtDataUtil.TAG_END);
+        out.flush();
+    }
+
+    /**
+     * Writes the entries of a compound without the root tag type and name
+     * {@link CompressedStreamTools} puts in front of them.
+     */
+    private static void writeEntries(DataOutputStream out, NBTTagCompound compound, boolean withEnd) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(bytes));
+        final byte[] array = bytes.toByteArray();
+        out.write(array, 3, array.length - (withEnd ? 3 : 4));
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & -128) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    private StreamingSchematicWriter() {
+    }
+
+}
@@ -141,6 +141,7 @@ public static final class Minecraft {
     public static final byte TAG_LIST = 9;
     public static final byte TAG_COMPOUND = 10;
     public static final byte TAG_INT_ARRAY = 11;
+    public static final byte TAG_LONG_ARRAY = 12;
     public static final byte TAG_ANY_NUMERIC = 99;
 
     // These are Sponge's NBT tag keys
@@ -148,6 +149,8 @@ public static final class Minecraft {
     public static final String SPONGE_ENTITY_CREATOR = "Creator";
     public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
     public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+    public static final String SPONGE_SHORT_POS_TABLE = "ShortPosTable";
+    public static final String SPONGE_INT_POS_TABLE = "IntPosTable";
     public static final String SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
     public static final String CUSTOM_MANIPULATOR_TAG_LIST = "CustomManipulators";
     public static final String PROJECTILE_DAMAGE_AMOUNT = "damageAmount";
@@ -188,6 +191,19 @@ public static final class Minecraft {
     public static final String PREVIOUS_PICKUP_DELAY = "PreviousPickupDelay";
     public static final String PREVIOUS_DESPAWN_DELAY = "PreviousDespawnDelay";
 
+    // These are used by the chunk pre-generation checkpoint
+    public static final String PREGEN_CENTER_X = "CenterX";
+    public static final String PREGEN_CENTER_Z = "CenterZ";
+    public static final String PREGEN_RADIUS = "Radius";
+    public static final String PREGEN_POSITION_X = "PositionX";
+    public static final String PREGEN_POSITION_Z = "PositionZ";
+    public static final String PREGEN_GEN_COUNT = "GenCount";
+    public static final String PREGEN_LAYER = "Layer";
+    public static final String PREGEN_INDEX = "Index";
+    public static final String PREGEN_NEXT_JUMP = "NextJump";
+    public static final String PREGEN_GENERATED = "Generated";
+    public static final String PREGEN_SKIPPED = "Skipped";
+
     public static final class Deprecated {
 
         public static final class Entity {
@@ -0,0 +1,257 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash table of packed block positions to the owner and
+ * notifier indices of the players tracked at those positions. Keys and
+ * indices are kept in parallel primitive arrays, so a tracked position costs
+ * three ints instead of a boxed key, a map entry and a {@link PlayerTracker}.
+ *
+ * <p>Lookups go through {@link #find(int)}, which returns the slot of the
+ * key that can then be used to read or write its indices. Slots are only
+ * valid until the table is modified.</p>
+ */
+public final class TrackedPositionTable {
+
+    /**
+     * The index of an unset owner or notifier.
+     */
+    public static final int NONE = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75F;
+
+    // A key of zero marks a free slot, the zero key itself is kept in the extra slot at the end
+    private int[] keys;
+    private int[] owners;
+    private int[] notifiers;
+    private int mask;
+    private int maxFill;
+    private boolean containsZeroKey;
+    private int size;
+
+    public TrackedPositionTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TrackedPositionTable(int expected) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * LOAD_FACTOR <= expected) {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity + 1];
+        this.owners = new int[capacity + 1];
+        this.notifiers = new int[capacity + 1];
+        this.mask = capacity - 1;
+        this.maxFill = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Gets the slot of the given key.
+     *
+     * @param key The packed position
+     * @return The slot, or {@code -1} if the key isn't tracked
+     */
+    public int find(int key) {
+        if (key == 0) {
+            return this.containsZeroKey ? this.mask + 1 : -1;
+        }
+        final int[] keys = this.keys;
+        int pos = mix(key) & this.mask;
+        int current;
+        while ((current = keys[pos]) != 0) {
+            if (current == key) {
+                return pos;
+            }
+            pos = (pos + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    public int getOwner(int slot) {
+        return this.owners[slot];
+    }
+
+    public int getNotifier(int slot) {
+        return this.notifiers[slot];
+    }
+
+    public void setOwner(int slot, int ownerIndex) {
+        this.owners[slot] = ownerIndex;
+    }
+
+    public void setNotifier(int slot, int notifierIndex) {
+        this.notifiers[slot] = notifierIndex;
+    }
+
+    /**
+     * Sets the owner and notifier indices of the given key, adding it if it
+     * isn't tracked yet.
+     *
+     * @param key The packed position
+     * @param ownerIndex The owner index
+     * @param notifierIndex The notifier index
+     */
+    public void put(int key, int ownerIndex, int notifierIndex) {
+        int pos;
+        if (key == 0) {
+            pos = this.mask + 1;
+            if (!this.containsZeroKey) {
+                this.containsZeroKey = true;
+                this.size++;
+            }
+        } else {
+            final int[] keys = this.keys;
+            pos = mix(key) & this.mask;
+            int current;
+            while ((current = keys[pos]) != 0 && current != key) {
+                pos = (pos + 1) & this.mask;
+            }
+            if (current == 0) {
+                keys[pos] = key;
+                if (++this.size > this.maxFill) {
+                    this.owners[pos] = ownerIndex;
+                    this.notifiers[pos] = notifierIndex;
+                    this.rehash((this.mask + 1) << 1);
+                    return;
+                }
+            }
+        }
+        this.owners[pos] = ownerIndex;
+        this.notifiers[pos] = notifierIndex;
+    }
+
+    public void remove(int key) {
+        if (key == 0) {
+            if (this.containsZeroKey) {
+                this.containsZeroKey = false;
+                this.size--;
+            }
+            return;
+        }
+        final int pos = this.find(key);
+        if (pos != -1) {
+            this.size--;
+            this.shiftKeys(pos);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+        this.containsZeroKey = false;
+        this.size = 0;
+    }
+
+    /**
+     * Passes every tracked position to the given visitor.
+     *
+     * @param visitor The visitor
+     */
+    public void forEach(Visitor visitor) {
+        final int[] keys = this.keys;
+        for (int pos = 0; pos <= this.mask; pos++) {
+            if (keys[pos] != 0) {
+                visitor.visit(keys[pos], this.owners[pos], this.notifiers[pos]);
+            }
+        }
+        if (this.containsZeroKey) {
+            visitor.visit(0, this.owners[this.mask + 1], this.notifiers[this.mask + 1]);
+        }
+    }
+
+    // Closes the gap left by a removed key so probing sequences stay intact
+    private void shiftKeys(int pos) {
+        final int[] keys = this.keys;
+        int last;
+        int slot;
+        int current;
+        for (;;) {
+            pos = ((last = pos) + 1) & this.mask;
+            for (;;) {
+                if ((current = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                slot = mix(current) & this.mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & this.mask;
+            }
+            keys[last] = current;
+            this.owners[last] = this.owners[pos];
+            this.notifiers[last] = this.notifiers[pos];
+        }
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = this.keys;
+        final int[] oldOwners = this.owners;
+        final int[] oldNotifiers = this.notifiers;
+        final int oldCapacity = this.mask + 1;
+        this.allocate(capacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            final int key = oldKeys[i];
+            if (key != 0) {
+                int pos = mix(key) & this.mask;
+                while (this.keys[pos] != 0) {
+                    pos = (pos + 1) & this.mask;
+                }
+                this.keys[pos] = key;
+                this.owners[pos] = oldOwners[i];
+                this.notifiers[pos] = oldNotifiers[i];
+            }
+        }
+        this.owners[capacity] = oldOwners[oldCapacity];
+        this.notifiers[capacity] = oldNotifiers[oldCapacity];
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+
+        void visit(int key, int ownerIndex, int notifierIndex);
+
+    }
+}
@@ -167,6 +167,7 @@ public class SpongeCommonEventFactory {
     public static boolean interactBlockEventCancelled = false;
     // inventory or interact block) were cancelled
     @Nullable private static ChangeBlockEvent.Pre DUMMY_BLOCK_PRE_EVENT = null;
+    private static final EventType<ChangeBlockEvent.Pre> CHANGE_BLOCK_EVENT_PRE_TYPE = new EventType<>(ChangeBlockEvent.Pre.class);
 
     // Dummy ChangeBlockEvent.Pre
     public static int lastAnimationPacketTick = 0;
@@ -491,13 +492,32 @@ public static CollideEntityEvent callCollideEntityEvent(net.minecraft.world.Worl
     }
 
     public static ChangeBlockEvent.Pre callChangeBlockEventPre(IMixinWorldServer worldIn, BlockPos pos) {
+        if (!ShouldFire.CHANGE_BLOCK_EVENT || !SpongeImpl.hasListeners(CHANGE_BLOCK_EVENT_PRE_TYPE)) {
+            return getDummyBlockPreEvent();
+        }
         return callChangeBlockEventPre(worldIn, ImmutableList.of(new Location<>((World) worldIn, pos.getX(), pos.getY(), pos.getZ())), null);
     }
 
     public static ChangeBlockEvent.Pre callChangeBlockEventPre(IMixinWorldServer worldIn, BlockPos pos, Object source) {
+        if (!ShouldFire.CHANGE_BLOCK_EVENT || !SpongeImpl.hasListeners(CHANGE_BLOCK_EVENT_PRE_TYPE)) {
+            return getDummyBlockPreEvent();
+        }
         return callChangeBlockEventPre(worldIn, ImmutableList.of(new Location<>((World) worldIn, pos.getX(), pos.getY(), pos.getZ())), source);
     }
 
+    /**
+     * Gets an event that is never posted, returned in place of a
+     * {@link ChangeBlockEvent.Pre} that would not have been cancelled.
+     *
+     * @return The dummy event
+     */
+    private static ChangeBlockEvent.Pre getDummyBlockPreEvent() {
+        if (DUMMY_BLOCK_PRE_EVENT == null) {
+            DUMMY_BLOCK_PRE_EVENT = SpongeEventFactory.createChangeBlockEventPre(Cause.of(EventContext.empty(), SpongeImpl.getGame()), ImmutableList.of());
+        }
+        return DUMMY_BLOCK_PRE_EVENT;
+    }
+
     /**
      * Processes pre block event data then fires event.
      *
@@ -514,11 +534,7 @@ private static ChangeBlockEvent.Pre callChangeBlockEventPre(IMixinWorldServer wo
                 source = data.context.getSource(LocatableBlock.class).orElse(null);
                 if (source == null) {
                     // safety measure, return a dummy event
-                    if (DUMMY_BLOCK_PRE_EVENT == null) {
-                        DUMMY_BLOCK_PRE_EVENT =
-                            SpongeEventFactory.createChangeBlockEventPre(frame.getCurrentCause(), ImmutableList.of());
-                    }
-                    return DUMMY_BLOCK_PRE_EVENT;
+                    return getDummyBlockPreEvent();
                 }
             }
 
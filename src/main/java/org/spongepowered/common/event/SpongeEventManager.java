@@ -31,10 +31,10 @@
 import co.aikar.timings.TimingsManager;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import org.apache.logging.log4j.Logger;
@@ -66,10 +66,9 @@
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -89,7 +88,13 @@ public class SpongeEventManager implements EventManager {
     private final Object lock = new Object();
     protected final Logger logger;
     private final PluginManager pluginManager;
-    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
+    /**
+     * An immutable snapshot of the registered handlers by their raw event
+     * type. Registration replaces the snapshot while holding the lock, so
+     * readers never need to lock. The identity of the snapshot serves as the
+     * version the handler caches were baked from.
+     */
+    private volatile ImmutableMap<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent = ImmutableMap.of();
     private final Map<ClassLoader, AnnotatedEventListener.Factory> classLoaders = Maps.newHashMap();
     private final Set<Object> registeredListeners = Sets.newHashSet();
 
@@ -97,8 +102,8 @@ public class SpongeEventManager implements EventManager {
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Only the entries of the event types that are subtypes of a changed
+     * raw event type are invalidated when handlers are added or removed.</p>
      */
     protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
             Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
@@ -133,26 +138,32 @@ public SpongeEventManager(Logger logger, PluginManager pluginManager) {
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType) {
+        return bakeHandlers(this.handlersByEvent, eventType);
+    }
+
+    private static <T extends Event> RegisteredListener.Cache bakeHandlers(Map<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent,
+            EventType<T> eventType) {
         final List<RegisteredListener<?>> handlers = new ArrayList<>();
         final Set<Class<? super T>> types = TypeToken.of(eventType.getType()).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<? super T> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
-                    if (GenericEvent.class.isAssignableFrom(type)) {
-                        final TypeToken<?> genericType = eventType.getGenericType();
-                        checkNotNull(genericType);
-                        for (RegisteredListener<?> listener : listeners) {
-                            final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
-                            checkNotNull(genericType1);
-                            if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
-                                handlers.add(listener);
-                            }
+        for (Class<? super T> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                final List<RegisteredListener<?>> listeners = handlersByEvent.get(type);
+                if (listeners == null) {
+                    continue;
+                }
+                if (GenericEvent.class.isAssignableFrom(type)) {
+                    final TypeToken<?> genericType = eventType.getGenericType();
+                    checkNotNull(genericType);
+                    for (RegisteredListener<?> listener : listeners) {
+                        final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
+                        checkNotNull(genericType1);
+                        if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
+                            handlers.add(listener);
                         }
-                    } else {
-                        handlers.addAll(listeners);
                     }
+                } else {
+                    handlers.addAll(listeners);
                 }
             }
         }
@@ -161,6 +172,26 @@ <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType)
         return new RegisteredListener.Cache(handlers);
     }
 
+    /**
+     * Publishes a new snapshot of the registered handlers and drops the
+     * cached handlers of every event type that is affected by the changed
+     * raw event types. Must be called while holding the lock.
+     *
+     * @param handlersByEvent The new snapshot
+     * @param changedTypes The raw event types whose handlers changed
+     */
+    private void publish(ImmutableMap<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent, Set<Class<?>> changedTypes) {
+        this.handlersByEvent = handlersByEvent;
+        this.handlersCache.asMap().keySet().removeIf(eventType -> {
+            for (Class<?> changedType : changedTypes) {
+                if (changedType.isAssignableFrom(eventType.getType())) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
     @Nullable
     private static String getHandlerErrorOrNull(Method method) {
         int modifiers = method.getModifiers();
@@ -196,20 +227,32 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Map<Class<?>, List<RegisteredListener<?>>> added = new HashMap<>();
             for (RegisteredListener<?> handler : handlers) {
                 final Class<?> raw = handler.getEventType().getType();
-                if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
+                final List<RegisteredListener<?>> current = this.handlersByEvent.get(raw);
+                final List<RegisteredListener<?>> addedForType = added.computeIfAbsent(raw, key -> new ArrayList<>());
+                if ((current == null || !current.contains(handler)) && !addedForType.contains(handler)) {
+                    addedForType.add(handler);
                     this.checker.registerListenerFor(raw);
                 }
             }
-        }
+            added.values().removeIf(List::isEmpty);
+            if (added.isEmpty()) {
+                return;
+            }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            final Map<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent = new HashMap<>(this.handlersByEvent);
+            added.forEach((raw, addedForType) -> {
+                final ImmutableList.Builder<RegisteredListener<?>> builder = ImmutableList.builder();
+                final ImmutableList<RegisteredListener<?>> current = handlersByEvent.get(raw);
+                if (current != null) {
+                    builder.addAll(current);
+                }
+                handlersByEvent.put(raw, builder.addAll(addedForType).build());
+            });
+            publish(ImmutableMap.copyOf(handlersByEvent), added.keySet());
         }
     }
 
@@ -342,24 +385,35 @@ public <T extends Event> void registerListener(Object plugin, TypeToken<T> event
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
-
         synchronized (this.lock) {
-            Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
-            while (itr.hasNext()) {
-                RegisteredListener<?> handler = itr.next();
-                if (unregister.test(handler)) {
-                    itr.remove();
-                    changed = true;
-                    // TODO: This doesn't seem right, even as it was before
-                    this.checker.unregisterListenerFor(handler.getEventType().getType());
-                    this.registeredListeners.remove(handler.getHandle());
+            final Set<Class<?>> changedTypes = new HashSet<>();
+            final ImmutableMap.Builder<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent = ImmutableMap.builder();
+            for (Map.Entry<Class<?>, ImmutableList<RegisteredListener<?>>> entry : this.handlersByEvent.entrySet()) {
+                final ImmutableList.Builder<RegisteredListener<?>> remaining = ImmutableList.builder();
+                boolean changed = false;
+                for (RegisteredListener<?> handler : entry.getValue()) {
+                    if (unregister.test(handler)) {
+                        changed = true;
+                        // TODO: This doesn't seem right, even as it was before
+                        this.checker.unregisterListenerFor(handler.getEventType().getType());
+                        this.registeredListeners.remove(handler.getHandle());
+                    } else {
+                        remaining.add(handler);
+                    }
+                }
+                if (!changed) {
+                    handlersByEvent.put(entry);
+                    continue;
+                }
+                changedTypes.add(entry.getKey());
+                final ImmutableList<RegisteredListener<?>> handlers = remaining.build();
+                if (!handlers.isEmpty()) {
+                    handlersByEvent.put(entry.getKey(), handlers);
                 }
             }
-        }
-
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changedTypes.isEmpty()) {
+                publish(handlersByEvent.build(), changedTypes);
+            }
         }
     }
 
@@ -385,7 +439,33 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
         } else {
             eventType = new EventType(eventClass, null);
         }
-        return this.handlersCache.get(eventType);
+        return getHandlerCache(eventType);
+    }
+
+    protected RegisteredListener.Cache getHandlerCache(EventType<?> eventType) {
+        // Handlers are baked from the current snapshot without locking. If
+        // handlers were registered meanwhile, the cache that was stored may
+        // already be stale, so bake again until the snapshot is unchanged.
+        ImmutableMap<Class<?>, ImmutableList<RegisteredListener<?>>> handlersByEvent = this.handlersByEvent;
+        RegisteredListener.Cache cache = this.handlersCache.get(eventType);
+        while (handlersByEvent != this.handlersByEvent) {
+            this.handlersCache.invalidate(eventType);
+            handlersByEvent = this.handlersByEvent;
+            cache = this.handlersCache.get(eventType);
+        }
+        return cache;
+    }
+
+    /**
+     * Gets whether an event of the given type would be passed to any
+     * listener. Callers should keep the {@link EventType} around, so that
+     * the lookup doesn't allocate once the handlers are cached.
+     *
+     * @param eventType The event type
+     * @return True if any listener would receive the event
+     */
+    public boolean hasListeners(EventType<?> eventType) {
+        return !getHandlerCache(eventType).getListeners().isEmpty();
     }
 
     @SuppressWarnings("unchecked")
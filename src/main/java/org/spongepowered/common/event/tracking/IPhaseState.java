@@ -69,7 +69,6 @@
 import org.spongepowered.common.world.BlockChange;
 import org.spongepowered.common.world.WorldUtil;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -91,7 +90,7 @@
 
     BiConsumer<CauseStackManager.StackFrame, ? extends PhaseContext<?>> DEFAULT_OWNER_NOTIFIER = (frame, ctx) -> {
         if (ctx.usedFrame == null) {
-            ctx.usedFrame = new ArrayDeque<>();
+            ctx.usedFrame = ctx.createFrameDeque();
         }
         ctx.usedFrame.push(frame); // WE NEED TO STORE THIS SO WE CAN PROPERLY POP THE FRAME
         if (ctx.owner != null) {
@@ -338,6 +337,18 @@ default ChangeBlockEvent.Post createChangeBlockPostEvent(C context, ImmutableLis
         return SpongeEventFactory.createChangeBlockEventPost(Sponge.getCauseStackManager().getCurrentCause(), transactions);
     }
 
+    /**
+     * Gets whether the event created by {@link #createChangeBlockPostEvent(PhaseContext, ImmutableList)}
+     * would reach any listener. States that create a specialized post event
+     * need to check for the listeners of that event.
+     *
+     * @param context The context
+     * @return True if the post event has listeners
+     */
+    default boolean hasChangeBlockPostListeners(C context) {
+        return BlockChange.hasPostListeners();
+    }
+
     /**
      * Performs any necessary custom logic after the provided {@link BlockSnapshot}
      * {@link Transaction} has taken place. The provided {@link BlockChange} is usually
@@ -117,10 +117,18 @@ public static PhaseContext<?> empty() {
     private boolean allowsBulkBlockCaptures = true; // Defaults to allow block captures
     private boolean allowsBulkEntityCaptures = true;
     @Nullable Deque<CauseStackManager.StackFrame> usedFrame;
+    @Nullable private Deque<CauseStackManager.StackFrame> spareFrames;
 
     @Nullable private Object source;
 
+    // Only set for contexts handed out by a PhaseContextPool
+    @Nullable PhaseContextPool<?> pool;
+    boolean pooled;
+    @Nullable IllegalStateException releaseTrace;
+    @Nullable PhaseData phaseData;
+
     public P source(Object owner) {
+        this.checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         this.source = owner;
         return (P) this;
@@ -132,6 +140,7 @@ public P owner(Supplier<Optional<User>> supplier) {
     }
 
     public P owner(User owner) {
+        this.checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         if (this.owner != null) {
             throw new IllegalStateException("Owner for this phase context is already set!");
@@ -146,6 +155,7 @@ public P notifier(Supplier<Optional<User>> supplier) {
     }
 
     public P notifier(User notifier) {
+        this.checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         if (this.notifier != null) {
             throw new IllegalStateException("Notifier for this phase context is already set!");
@@ -251,6 +261,7 @@ public boolean allowsBulkEntityCaptures() {
     }
 
     public P buildAndSwitch() {
+        this.checkNotReleased();
         this.isCompleted = true;
         if (SpongeImpl.getGlobalConfig().getConfig().getPhaseTracker().generateStackTracePerStateEntry()) {
             this.stackTrace = new Exception("Debug Trace").getStackTrace();
@@ -358,6 +369,7 @@ public Optional<User> getNotifier() {
     }
 
     public List<Entity> getCapturedEntities() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.capturedEntitiesSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture entity spawns!", this).get();
         }
@@ -365,6 +377,7 @@ public List<Entity> getCapturedEntities() throws IllegalStateException {
     }
 
     public CapturedSupplier<Entity> getCapturedEntitySupplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.capturedEntitiesSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture entity spawns!", this).get();
         }
@@ -372,6 +385,7 @@ public CapturedSupplier<Entity> getCapturedEntitySupplier() throws IllegalStateE
     }
 
     public List<EntityItem> getCapturedItems() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.capturedItemsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture dropped item entities!", this).get();
         }
@@ -379,6 +393,7 @@ public List<EntityItem> getCapturedItems() throws IllegalStateException {
     }
 
     public CapturedSupplier<EntityItem> getCapturedItemsSupplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.capturedItemsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture dropped item entities!", this).get();
         }
@@ -386,6 +401,7 @@ public CapturedSupplier<EntityItem> getCapturedItemsSupplier() throws IllegalSta
     }
 
     public List<BlockSnapshot> getCapturedBlocks() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.blocksSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing blocks, but we're not capturing them!", this).get();
         }
@@ -393,6 +409,7 @@ public List<BlockSnapshot> getCapturedBlocks() throws IllegalStateException {
     }
 
     public CapturedSupplier<BlockSnapshot> getCapturedBlockSupplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.blocksSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing blocks, but we're not capturing them!", this).get();
         }
@@ -400,6 +417,7 @@ public CapturedSupplier<BlockSnapshot> getCapturedBlockSupplier() throws Illegal
     }
 
     public CapturedMultiMapSupplier<BlockPos, ItemDropData> getBlockDropSupplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.blockItemDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing block drops!", this).get();
         }
@@ -407,6 +425,7 @@ public CapturedMultiMapSupplier<BlockPos, ItemDropData> getBlockDropSupplier() t
     }
 
     public CapturedMultiMapSupplier<BlockPos, EntityItem> getBlockItemDropSupplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.blockItemEntityDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to track block item drops!", this).get();
         }
@@ -414,6 +433,7 @@ public CapturedMultiMapSupplier<BlockPos, EntityItem> getBlockItemDropSupplier()
     }
 
     public CapturedMultiMapSupplier<UUID, ItemDropData> getPerEntityItemDropSupplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.entityItemDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture entity drops!", this).get();
         }
@@ -421,6 +441,7 @@ public CapturedMultiMapSupplier<UUID, ItemDropData> getPerEntityItemDropSupplier
     }
 
     public CapturedMultiMapSupplier<UUID, EntityItem> getPerEntityItemEntityDropSupplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.entityItemEntityDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture entity drops!", this).get();
         }
@@ -428,6 +449,7 @@ public CapturedMultiMapSupplier<UUID, EntityItem> getPerEntityItemEntityDropSupp
     }
 
     public CapturedSupplier<ItemDropData> getCapturedItemStackSupplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.capturedItemStackSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing ItemStack drops from entities!", this).get();
         }
@@ -435,6 +457,7 @@ public CapturedSupplier<ItemDropData> getCapturedItemStackSupplier() throws Ille
     }
 
     public CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> getPerBlockEntitySpawnSuppplier() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.blockEntitySpawnSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to track block entity spawns!", this).get();
         }
@@ -442,6 +465,7 @@ public CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> getPerBlo
     }
 
     public CaptureBlockPos getCaptureBlockPos() throws IllegalStateException {
+        this.checkNotReleased();
         if (this.captureBlockPos == null) {
             throw TrackingUtil.throwWithContext("Intended to capture a block position!", this).get();
         }
@@ -541,6 +565,13 @@ private boolean isEmpty() {
 
     @Override
     public void close() { // Should never throw an exception
+        if (this.pooled || this.releaseTrace != null) {
+            PhaseTracker.getInstance()
+                .printMessageWithCaughtException("Closing a released PhaseContext",
+                    "A PhaseContext was closed after it was already returned to its pool. This is likely an error from sponge.",
+                    this.releaseTrace != null ? this.releaseTrace : new IllegalStateException("Closing released phase context"));
+            return;
+        }
         if (this.isEmpty()) {
             // We aren't ever supposed to close here...
             PhaseTracker.getInstance()
@@ -559,8 +590,63 @@ public void close() { // Should never throw an exception
         if (this.usedFrame != null) {
             this.usedFrame.iterator().forEachRemaining(Sponge.getCauseStackManager()::popCauseFrame);
             this.usedFrame.clear();
+            this.spareFrames = this.usedFrame;
             this.usedFrame = null;
         }
+        if (this.pool != null) {
+            this.pool.release(this);
+        }
+    }
+
+    Deque<CauseStackManager.StackFrame> createFrameDeque() {
+        final Deque<CauseStackManager.StackFrame> frames = this.spareFrames;
+        if (frames != null) {
+            this.spareFrames = null;
+            return frames;
+        }
+        return new ArrayDeque<>();
+    }
+
+    /**
+     * Resets this context to the state it was in when it was created by its
+     * {@link PhaseContextPool}. The capture suppliers are kept and emptied.
+     * Contexts declaring their own fields should override this to clear them.
+     */
+    protected void reset() {
+        this.isCompleted = false;
+        this.stackTrace = null;
+        this.source = null;
+        this.owner = null;
+        this.notifier = null;
+        this.processImmediately = false;
+        this.allowsBlockEvents = true;
+        this.allowsEntityEvents = true;
+        this.allowsBulkBlockCaptures = true;
+        this.allowsBulkEntityCaptures = true;
+        resetIfPresent(this.blocksSupplier);
+        resetIfPresent(this.blockItemDropsSupplier);
+        resetIfPresent(this.blockItemEntityDropsSupplier);
+        resetIfPresent(this.capturedItemsSupplier);
+        resetIfPresent(this.capturedEntitiesSupplier);
+        resetIfPresent(this.capturedItemStackSupplier);
+        resetIfPresent(this.entityItemDropsSupplier);
+        resetIfPresent(this.entityItemEntityDropsSupplier);
+        resetIfPresent(this.blockEntitySpawnSupplier);
+        if (this.captureBlockPos != null) {
+            this.captureBlockPos.reset();
+        }
+    }
+
+    private static void resetIfPresent(@Nullable ICaptureSupplier supplier) {
+        if (supplier != null) {
+            supplier.reset();
+        }
+    }
+
+    private void checkNotReleased() {
+        if (this.releaseTrace != null) {
+            throw new IllegalStateException("Attempted to use a PhaseContext after it was returned to its pool!", this.releaseTrace);
+        }
     }
 
 
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * A pool of {@link PhaseContext}s belonging to a single {@link IPhaseState}.
+ * Contexts handed out by {@link #acquire()} return themselves to the pool
+ * when they are {@link PhaseContext#close() closed}, after being
+ * {@link PhaseContext#reset() reset}. Their capture suppliers, and the lists
+ * backing them, are kept across uses.
+ *
+ * <p>Since the factory is only called when the pool is empty, it is expected
+ * to add the captures the state requires, such that every context of the pool
+ * is set up identically.</p>
+ *
+ * <p>Pooling only happens on the main thread, contexts requested from other
+ * threads are always created fresh and never pooled.</p>
+ *
+ * @param <C> The type of context
+ */
+public final class PhaseContextPool<C extends PhaseContext<C>> {
+
+    /**
+     * The amount of free contexts kept, the depth of recursion of a single
+     * state rarely exceeds this.
+     */
+    private static final int MAX_FREE_CONTEXTS = 8;
+
+    private final Supplier<C> factory;
+    private final ArrayDeque<C> free = new ArrayDeque<>(MAX_FREE_CONTEXTS);
+
+    public PhaseContextPool(Supplier<C> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Gets a reset context from this pool, or creates a new one if there
+     * are no free contexts.
+     *
+     * @return The context
+     */
+    public C acquire() {
+        if (!SpongeImplHooks.isMainThread() || !SpongeImpl.getGlobalConfig().getConfig().getPhaseTracker().poolPhaseContexts()) {
+            return this.factory.get();
+        }
+        final C context = this.free.poll();
+        if (context != null) {
+            context.pooled = false;
+            return context;
+        }
+        final C created = this.factory.get();
+        created.pool = this;
+        return created;
+    }
+
+    /**
+     * Resets and returns the context to this pool. When the context is
+     * verified to not be used after being returned, it is poisoned instead
+     * and never handed out again.
+     *
+     * @param context The context
+     */
+    @SuppressWarnings("unchecked")
+    void release(PhaseContext<?> context) {
+        context.reset();
+        if (SpongeImpl.getGlobalConfig().getConfig().getPhaseTracker().verifyPooledContexts()) {
+            context.releaseTrace = new IllegalStateException("PhaseContext was returned to its pool here");
+            return;
+        }
+        context.pooled = true;
+        if (this.free.size() < MAX_FREE_CONTEXTS) {
+            this.free.push((C) context);
+        }
+    }
+
+}
@@ -83,7 +83,14 @@ private PhaseStack push(PhaseData tuple) {
     }
 
     PhaseStack push(IPhaseState<?> state, PhaseContext<?> context) {
-        return push(new PhaseData(context, state));
+        if (context.pool == null) {
+            return push(new PhaseData(context, state));
+        }
+        // Pooled contexts always belong to the same state, so their data can be reused
+        if (context.phaseData == null || context.phaseData.state != state) {
+            context.phaseData = new PhaseData(context, state);
+        }
+        return push(context.phaseData);
     }
 
     public void forEach(Consumer<PhaseData> consumer) {
@@ -78,6 +78,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.registry.type.event.SpawnTypeRegistryModule;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockChange;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
 import org.spongepowered.common.world.WorldUtil;
 
@@ -709,7 +710,9 @@ public boolean setBlockState(final IMixinWorldServer mixinWorld, final BlockPos
                 final SpongeBlockChangeFlag spongeFlag1 = (SpongeBlockChangeFlag) flag;
                 final Block block1 = newState.getBlock();
 
-                if (!ShouldFire.CHANGE_BLOCK_EVENT) { // If we don't have to worry about any block events, don't bother
+                final BlockChange blockChange = TrackingUtil.getBlockChange(phaseState, block1, currentState);
+                // If we don't have to worry about any block events, don't bother
+                if (blockChange == null || !blockChange.hasListeners() && !((IPhaseState) phaseState).hasChangeBlockPostListeners(context)) {
                     // Sponge End - continue with vanilla mechanics
                     // Also, call the direct method instead of letting the overwrites do their job, because we want to
                     // reduce the amount of nested calls
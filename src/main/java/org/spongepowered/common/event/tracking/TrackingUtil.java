@@ -81,7 +81,6 @@
 import org.spongepowered.common.event.tracking.phase.tick.DimensionContext;
 import org.spongepowered.common.event.tracking.phase.tick.EntityTickContext;
 import org.spongepowered.common.event.tracking.phase.tick.TickPhase;
-import org.spongepowered.common.event.tracking.phase.tick.TileEntityTickContext;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.block.IMixinBlockEventData;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
@@ -146,23 +145,24 @@ public static void tickEntity(net.minecraft.entity.Entity entity) {
             return;
         }
 
-        final EntityTickContext tickContext = TickPhase.Tick.ENTITY.createPhaseContext().source(entity);
-        try (final EntityTickContext context = tickContext;
+        // The exception is printed before the context is closed, closing returns it to its pool and resets it
+        try (final EntityTickContext context = TickPhase.Tick.ENTITY.createPhaseContext().source(entity);
              final Timing entityTiming = mixinEntity.getTimingsHandler()
         ) {
-
-            mixinEntity.getNotifierUser()
-                    .ifPresent(context::notifier);
-            mixinEntity.getCreatorUser()
-                    .ifPresent(context::owner);
-            context.buildAndSwitch();
-            entityTiming.startTiming();
-            entity.onUpdate();
-            if (ShouldFire.MOVE_ENTITY_EVENT) {
-                SpongeCommonEventFactory.callMoveEntityEvent(entity);
+            try {
+                mixinEntity.getNotifierUser()
+                        .ifPresent(context::notifier);
+                mixinEntity.getCreatorUser()
+                        .ifPresent(context::owner);
+                context.buildAndSwitch();
+                entityTiming.startTiming();
+                entity.onUpdate();
+                if (ShouldFire.MOVE_ENTITY_EVENT) {
+                    SpongeCommonEventFactory.callMoveEntityEvent(entity);
+                }
+            } catch (Exception | NoClassDefFoundError e) {
+                PhaseTracker.getInstance().printExceptionFromPhase(e, context);
             }
-        } catch (Exception | NoClassDefFoundError e) {
-            PhaseTracker.getInstance().printExceptionFromPhase(e, tickContext);
         }
     }
 
@@ -174,23 +174,24 @@ public static void tickRidingEntity(net.minecraft.entity.Entity entity) {
             return;
         }
 
-        final EntityTickContext tickContext = TickPhase.Tick.ENTITY.createPhaseContext().source(entity);
         try (
-             final EntityTickContext context = tickContext;
+             final EntityTickContext context = TickPhase.Tick.ENTITY.createPhaseContext().source(entity);
              final Timing entityTiming = mixinEntity.getTimingsHandler()
              ) {
-            entityTiming.startTiming();
-            mixinEntity.getNotifierUser()
-                .ifPresent(context::notifier);
-            mixinEntity.getCreatorUser()
-                .ifPresent(context::owner);
-            context.buildAndSwitch();
-            entity.updateRidden();
-            if (ShouldFire.MOVE_ENTITY_EVENT) {
-                SpongeCommonEventFactory.callMoveEntityEvent(entity);
+            try {
+                entityTiming.startTiming();
+                mixinEntity.getNotifierUser()
+                    .ifPresent(context::notifier);
+                mixinEntity.getCreatorUser()
+                    .ifPresent(context::owner);
+                context.buildAndSwitch();
+                entity.updateRidden();
+                if (ShouldFire.MOVE_ENTITY_EVENT) {
+                    SpongeCommonEventFactory.callMoveEntityEvent(entity);
+                }
+            } catch (Exception | NoClassDefFoundError e) {
+                PhaseTracker.getInstance().printExceptionFromPhase(e, context);
             }
-        } catch (Exception | NoClassDefFoundError e) {
-            PhaseTracker.getInstance().printExceptionFromPhase(e, tickContext);
         }
     }
 
@@ -206,36 +207,36 @@ public static void tickTileEntity(IMixinWorldServer mixinWorldServer, ITickable
             return;
         }
 
-        final TileEntityTickContext context = TickPhase.Tick.TILE_ENTITY.createPhaseContext().source(mixinTileEntity);
-        try (final PhaseContext<?> phaseContext = context) {
-
-            // Add notifier and owner so we don't have to perform lookups during the phases and other processing
-            final User blockNotifier = mixinTileEntity.getSpongeNotifier();
-            if (blockNotifier != null) {
-                phaseContext.notifier(blockNotifier);
-            }
+        try (final PhaseContext<?> phaseContext = TickPhase.Tick.TILE_ENTITY.createPhaseContext().source(mixinTileEntity)) {
+            try {
+                // Add notifier and owner so we don't have to perform lookups during the phases and other processing
+                final User blockNotifier = mixinTileEntity.getSpongeNotifier();
+                if (blockNotifier != null) {
+                    phaseContext.notifier(blockNotifier);
+                }
 
-            // Allow the tile entity to validate the owner of itself. As long as the tile entity
-            // chunk is already loaded and activated, and the tile entity has already loaded
-            // the owner of itself.
-            final User blockOwner = mixinTileEntity.getSpongeOwner();
-            if (blockOwner != null) {
-                phaseContext.owner(blockOwner);
-            }
+                // Allow the tile entity to validate the owner of itself. As long as the tile entity
+                // chunk is already loaded and activated, and the tile entity has already loaded
+                // the owner of itself.
+                final User blockOwner = mixinTileEntity.getSpongeOwner();
+                if (blockOwner != null) {
+                    phaseContext.owner(blockOwner);
+                }
 
-            // Finally, switch the context now that we have the owner and notifier
-            phaseContext.buildAndSwitch();
+                // Finally, switch the context now that we have the owner and notifier
+                phaseContext.buildAndSwitch();
 
-            mixinTileEntity.setIsTicking(true);
-            try (Timing timing = mixinTileEntity.getTimingsHandler().startTiming()) {
-                tile.update();
-            }
-            // We delay clearing active chunk if TE is invalidated during tick so we must remove it after
-            if (tileEntity.isInvalid()) {
-                mixinTileEntity.setActiveChunk(null);
+                mixinTileEntity.setIsTicking(true);
+                try (Timing timing = mixinTileEntity.getTimingsHandler().startTiming()) {
+                    tile.update();
+                }
+                // We delay clearing active chunk if TE is invalidated during tick so we must remove it after
+                if (tileEntity.isInvalid()) {
+                    mixinTileEntity.setActiveChunk(null);
+                }
+            } catch (Exception e) {
+                PhaseTracker.getInstance().printExceptionFromPhase(e, phaseContext);
             }
-        } catch (Exception e) {
-            PhaseTracker.getInstance().printExceptionFromPhase(e, context);
         }
         mixinTileEntity.setIsTicking(false);
     }
@@ -270,12 +271,13 @@ public static void updateTickBlock(IMixinWorldServer mixinWorld, Block block, Bl
 
         try (final PhaseContext<?> context = phaseContext;
              final Timing timing = BlockUtil.toMixin(state).getTimingsHandler()) {
-            timing.startTiming();
-            context.buildAndSwitch();
-            block.updateTick(world, pos, state, random);
-        } catch (Exception | NoClassDefFoundError e) {
-            phaseTracker.printExceptionFromPhase(e, phaseContext);
-
+            try {
+                timing.startTiming();
+                context.buildAndSwitch();
+                block.updateTick(world, pos, state, random);
+            } catch (Exception | NoClassDefFoundError e) {
+                phaseTracker.printExceptionFromPhase(e, context);
+            }
         }
     }
 
@@ -308,10 +310,12 @@ public static void randomTickBlock(PhaseTracker phaseTracker, IMixinWorldServer
         ((IPhaseState) currentState).appendNotifierPreBlockTick(mixinWorld, pos, current.context, phaseContext);
         // Now actually switch to the new phase
         try (PhaseContext<?> context = phaseContext) {
-            context.buildAndSwitch();
-            block.randomTick(world, pos, state, random);
-        } catch (Exception | NoClassDefFoundError e) {
-            phaseTracker.printExceptionFromPhase(e, phaseContext);
+            try {
+                context.buildAndSwitch();
+                block.randomTick(world, pos, state, random);
+            } catch (Exception | NoClassDefFoundError e) {
+                phaseTracker.printExceptionFromPhase(e, context);
+            }
         }
     }
 
@@ -388,22 +392,33 @@ static boolean captureBulkBlockChange(IMixinWorldServer mixinWorld, Chunk chunk,
 
     static void associateBlockChangeWithSnapshot(IPhaseState<?> phaseState, Block newBlock, IBlockState currentState, SpongeBlockSnapshot snapshot,
         List<BlockSnapshot> capturedSnapshots) {
+        final BlockChange blockChange = getBlockChange(phaseState, newBlock, currentState);
+        if (blockChange != null) {
+            snapshot.blockChange = blockChange;
+            capturedSnapshots.add(snapshot);
+        }
+    }
+
+    /**
+     * Gets the {@link BlockChange} that replacing the current state with
+     * the new block would be captured as, without capturing anything.
+     *
+     * @param phaseState The current phase state
+     * @param newBlock The new block
+     * @param currentState The current block state
+     * @return The block change, or null if the change isn't captured
+     */
+    @Nullable
+    static BlockChange getBlockChange(IPhaseState<?> phaseState, Block newBlock, IBlockState currentState) {
         Block originalBlock = currentState.getBlock();
         if (phaseState == BlockPhase.State.BLOCK_DECAY) {
-            if (newBlock == Blocks.AIR) {
-                snapshot.blockChange = BlockChange.DECAY;
-                capturedSnapshots.add(snapshot);
-            }
+            return newBlock == Blocks.AIR ? BlockChange.DECAY : null;
         } else if (newBlock == Blocks.AIR) {
-            snapshot.blockChange = BlockChange.BREAK;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.BREAK;
         } else if (newBlock != originalBlock && !forceModify(originalBlock, newBlock)) {
-            snapshot.blockChange = BlockChange.PLACE;
-            capturedSnapshots.add(snapshot);
-        } else {
-            snapshot.blockChange = BlockChange.MODIFY;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.PLACE;
         }
+        return BlockChange.MODIFY;
     }
 
     private static boolean forceModify(Block originalBlock, Block newBlock) {
@@ -472,6 +487,25 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         if (snapshots.isEmpty()) {
             return false;
         }
+        if (!hasChangeBlockListeners(snapshots, state, context)) {
+            // Nobody would see the change block events, so apply the changes
+            // right away without building or posting them. The cause frame is
+            // still needed by the events thrown while performing the additions.
+            final List<Transaction<BlockSnapshot>> transactions = new ArrayList<>(snapshots.size());
+            for (BlockSnapshot snapshot : snapshots) {
+                transactions.add(TRANSACTION_CREATION.apply(snapshot));
+            }
+            // Clear captured snapshots after processing them
+            context.getCapturedBlocksOrEmptyList().clear();
+            try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                try {
+                    state.associateAdditionalCauses(context, frame);
+                } catch (Exception e) {
+                    // See below, don't bomb on performing block changes.
+                }
+                return performBlockAdditions(transactions, state, context, true, currentDepth);
+            }
+        }
         final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
 
         ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays = new ImmutableList[EVENT_COUNT];
@@ -525,6 +559,27 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         }
     }
 
+    @SuppressWarnings("rawtypes")
+    private static boolean hasChangeBlockListeners(List<BlockSnapshot> snapshots, IPhaseState<?> state, PhaseContext<?> context) {
+        if (((IPhaseState) state).hasChangeBlockPostListeners(context)) {
+            return true;
+        }
+        if (!ShouldFire.CHANGE_BLOCK_EVENT) {
+            return false;
+        }
+        BlockChange checked = null;
+        for (BlockSnapshot snapshot : snapshots) {
+            final BlockChange blockChange = ((SpongeBlockSnapshot) snapshot).blockChange;
+            if (blockChange != checked) {
+                if (blockChange == null || blockChange.hasListeners()) {
+                    return true;
+                }
+                checked = blockChange;
+            }
+        }
+        return false;
+    }
+
     private static void createTransactionLists(List<BlockSnapshot> snapshots, ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays,
         ImmutableList.Builder<Transaction<BlockSnapshot>>[] transactionBuilders) {
         for (BlockSnapshot snapshot : snapshots) {
@@ -63,6 +63,13 @@ public final boolean isEmpty() {
         return this.captured == null || this.captured.isEmpty();
     }
 
+    @Override
+    public final void reset() {
+        if (this.captured != null) {
+            this.captured.clear();
+        }
+    }
+
     /**
      * If not empty, activates the consumer then clears all captures.
      *
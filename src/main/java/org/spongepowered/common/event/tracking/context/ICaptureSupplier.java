@@ -28,4 +28,10 @@ public interface ICaptureSupplier {
 
     boolean isEmpty();
 
+    /**
+     * Clears all captured objects, keeping the backing collections
+     * for reuse by a pooled context.
+     */
+    void reset();
+
 }
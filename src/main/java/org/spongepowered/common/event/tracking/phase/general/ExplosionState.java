@@ -37,7 +37,10 @@
 import org.spongepowered.api.event.block.ChangeBlockEvent;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.api.event.cause.entity.spawn.SpawnTypes;
+import org.spongepowered.api.event.world.ExplosionEvent;
 import org.spongepowered.api.world.explosion.Explosion;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.EventType;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.IEntitySpecificItemDropsState;
 import org.spongepowered.common.event.tracking.IPhaseState;
@@ -49,6 +52,8 @@
 
 final class ExplosionState extends GeneralState<ExplosionContext> implements IEntitySpecificItemDropsState<ExplosionContext> {
 
+    private static final EventType<ExplosionEvent.Post> EXPLOSION_POST_EVENT_TYPE = new EventType<>(ExplosionEvent.Post.class);
+
     public final BiConsumer<CauseStackManager.StackFrame, ExplosionContext> EXPLOSION_MODIFIER =
         super.getFrameModifier().andThen((frame, context) -> frame.pushCause(context.getExplosion()));
 
@@ -115,6 +120,11 @@ public ChangeBlockEvent.Post createChangeBlockPostEvent(ExplosionContext context
         return SpongeEventFactory.createExplosionEventPost(Sponge.getCauseStackManager().getCurrentCause(), context.getSpongeExplosion(), transactions);
     }
 
+    @Override
+    public boolean hasChangeBlockPostListeners(ExplosionContext context) {
+        return SpongeImpl.hasListeners(EXPLOSION_POST_EVENT_TYPE);
+    }
+
     @Override
     public boolean shouldCaptureBlockChangeOrSkip(ExplosionContext phaseContext,
         BlockPos pos) {
@@ -37,6 +37,7 @@
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.ExplosionContext;
 
@@ -47,14 +48,16 @@ class BlockTickPhaseState extends LocationBasedTickPhaseState<BlockTickContext>
 
     private final String name;
 
+    private final PhaseContextPool<BlockTickContext> contextPool = new PhaseContextPool<>(() -> new BlockTickContext(this)
+            .addCaptures());
+
     BlockTickPhaseState(String name) {
         this.name = name;
     }
 
     @Override
     public BlockTickContext createPhaseContext() {
-        return new BlockTickContext(this)
-                .addCaptures();
+        return this.contextPool.acquire();
     }
 
     @Override
@@ -47,6 +47,7 @@
 import org.spongepowered.api.event.cause.entity.spawn.SpawnTypes;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.ExplosionContext;
 import org.spongepowered.common.util.VecHelper;
@@ -72,6 +73,8 @@ class EntityTickPhaseState extends TickPhaseState<EntityTickContext> {
 
     private String name;
 
+    private final PhaseContextPool<EntityTickContext> contextPool = new PhaseContextPool<>(() -> new EntityTickContext(this).addCaptures());
+
     EntityTickPhaseState(String name) {
         this.name = name;
     }
@@ -206,7 +209,7 @@ private void appendContextOfPossibleEntityDeath(Entity tickingEntity, CauseStack
 
     @Override
     public EntityTickContext createPhaseContext() {
-        return new EntityTickContext(this).addCaptures();
+        return this.contextPool.acquire();
     }
 
     @Override
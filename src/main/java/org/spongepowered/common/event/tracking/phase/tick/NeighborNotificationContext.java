@@ -59,6 +59,15 @@ public NeighborNotificationContext source(Object owner) {
         return this;
     }
 
+    @Override
+    protected void reset() {
+        super.reset();
+        this.sourceNotification = null;
+        this.sourceNotifier = null;
+        this.notifiedBlockPos = null;
+        this.notifiedBlockState = null;
+    }
+
     @Override
     public PrettyPrinter printCustom(PrettyPrinter printer, int indent) {
         super.printCustom(printer, indent);
@@ -36,6 +36,7 @@
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.ExplosionContext;
 
@@ -46,14 +47,16 @@ class NeighborNotificationState extends LocationBasedTickPhaseState<NeighborNoti
 
     private final String name;
 
+    private final PhaseContextPool<NeighborNotificationContext> contextPool = new PhaseContextPool<>(() -> new NeighborNotificationContext(this)
+            .addCaptures());
+
     NeighborNotificationState(String name) {
         this.name = name;
     }
 
     @Override
     public NeighborNotificationContext createPhaseContext() {
-        return new NeighborNotificationContext(this)
-                .addCaptures();
+        return this.contextPool.acquire();
     }
 
     @Override
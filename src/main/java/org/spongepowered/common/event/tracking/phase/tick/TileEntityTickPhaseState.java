@@ -38,6 +38,7 @@
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.phase.general.ExplosionContext;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
@@ -50,16 +51,18 @@ class TileEntityTickPhaseState extends LocationBasedTickPhaseState<TileEntityTic
 
     private String name;
 
+    private final PhaseContextPool<TileEntityTickContext> contextPool = new PhaseContextPool<>(() -> new TileEntityTickContext(this)
+            .addEntityCaptures()
+            .addEntityDropCaptures()
+            .addBlockCaptures());
+
     TileEntityTickPhaseState(String name) {
         this.name = name;
     }
 
     @Override
     public TileEntityTickContext createPhaseContext() {
-        return new TileEntityTickContext(this)
-                .addEntityCaptures()
-                .addEntityDropCaptures()
-                .addBlockCaptures();
+        return this.contextPool.acquire();
     }
 
     @Override
@@ -28,7 +28,6 @@
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.chunk.ChunkPrimer;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.entity.living.player.User;
@@ -37,13 +36,13 @@
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.extent.EntityUniverse;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.TrackedPositionTable;
+import org.spongepowered.common.world.lighting.LightUpdateQueue;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -51,9 +50,9 @@
 
 public interface IMixinChunk {
 
-    Map<Short, PlayerTracker> getTrackedShortPlayerPositions();
+    TrackedPositionTable getTrackedShortPlayerPositions();
 
-    Map<Integer, PlayerTracker> getTrackedIntPlayerPositions();
+    TrackedPositionTable getTrackedIntPlayerPositions();
 
     Optional<User> getBlockOwner(BlockPos pos);
 
@@ -75,9 +74,9 @@ public interface IMixinChunk {
 
     void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
+    void setTrackedIntPlayerPositions(TrackedPositionTable trackedPlayerPositions);
 
-    void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void setTrackedShortPlayerPositions(TrackedPositionTable trackedPlayerPositions);
 
     void setNeighbor(Direction direction, Chunk neighbor);
 
@@ -117,7 +116,7 @@ void getIntersectingEntities(Vector3d start, Vector3d direction, double distance
 
     boolean isQueuedForUnload();
 
-    CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type);
+    LightUpdateQueue getLightUpdateQueue();
 
     void markChunkDirty();
 
@@ -27,6 +27,8 @@
 import net.minecraft.world.World;
 
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface IMixinAnvilChunkLoader {
 
@@ -35,4 +37,20 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Reads the saved compound of a chunk on the given executor, so that
+     * loading the chunk afterwards doesn't have to wait for the disk.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param executor The executor to read the chunk on
+     * @return A future of whether the chunk was saved
+     */
+    CompletableFuture<Boolean> prefetchChunk(int x, int z, Executor executor);
+
+    /**
+     * Discards all chunks which were read ahead of time but not loaded.
+     */
+    void discardPrefetchedChunks();
+
 }
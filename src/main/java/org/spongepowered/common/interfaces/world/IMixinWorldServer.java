@@ -43,9 +43,9 @@
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 import javax.annotation.Nullable;
 
@@ -94,7 +94,7 @@ public interface IMixinWorldServer extends IMixinWorld {
 
     boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
 
-    ExecutorService getLightingExecutor();
+    AsyncLightingEngine getLightingEngine();
 
     WorldTimingsHandler getTimingsHandler();
 
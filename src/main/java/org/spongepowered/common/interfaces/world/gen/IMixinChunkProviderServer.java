@@ -28,6 +28,7 @@
 
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 
 public interface IMixinChunkProviderServer {
 
@@ -44,4 +45,6 @@ public interface IMixinChunkProviderServer {
     long getChunkUnloadDelay();
 
     WorldServer getWorld();
+
+    IChunkLoader getChunkLoader();
 }
@@ -57,7 +57,6 @@
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.client.CPacketClientSettings;
 import net.minecraft.network.play.server.SPacketBlockChange;
-import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.network.play.server.SPacketCombatEvent;
 import net.minecraft.network.play.server.SPacketCustomSound;
 import net.minecraft.network.play.server.SPacketEntityProperties;
@@ -534,12 +533,7 @@ public void sendMessage(ChatType type, Text message) {
         checkNotNull(type, "type");
         checkNotNull(message, "message");
 
-        ITextComponent component = SpongeTexts.toComponent(message);
-        if (type == ChatTypes.ACTION_BAR) {
-            component = SpongeTexts.fixActionBarFormatting(component);
-        }
-
-        this.connection.sendPacket(new SPacketChat(component, (net.minecraft.util.text.ChatType) (Object) type));
+        this.connection.sendPacket(ChatUtil.createChatPacket(message, type));
     }
 
     /**
@@ -1142,7 +1136,7 @@ public MessageChannelEvent.Chat simulateChat(Text message, Cause cause) {
                 new MessageEvent.MessageFormatter(messages[0], messages[1]), message, false
         );
         if (!SpongeImpl.postEvent(event) && !event.isMessageCancelled()) {
-            event.getChannel().ifPresent(channel -> channel.send(this, event.getMessage(), ChatTypes.CHAT));
+            event.getChannel().ifPresent(channel -> ChatUtil.broadcast(channel, this, event.getMessage(), ChatTypes.CHAT));
         }
         return event;
     }
@@ -60,6 +60,7 @@
 import net.minecraft.network.play.client.CPacketPlayerTryUseItem;
 import net.minecraft.network.play.client.CPacketPlayerTryUseItemOnBlock;
 import net.minecraft.network.play.client.CPacketResourcePackStatus;
+import net.minecraft.network.play.client.CPacketTabComplete;
 import net.minecraft.network.play.client.CPacketUpdateSign;
 import net.minecraft.network.play.client.CPacketUseEntity;
 import net.minecraft.network.play.client.CPacketVehicleMove;
@@ -69,6 +70,7 @@
 import net.minecraft.network.play.server.SPacketPlayerListItem;
 import net.minecraft.network.play.server.SPacketResourcePackSend;
 import net.minecraft.network.play.server.SPacketSetSlot;
+import net.minecraft.network.play.server.SPacketTabComplete;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.PlayerInteractionManager;
 import net.minecraft.server.management.PlayerList;
@@ -88,6 +90,7 @@
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.tileentity.Sign;
+import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.data.manipulator.mutable.tileentity.SignData;
 import org.spongepowered.api.data.type.HandType;
 import org.spongepowered.api.data.type.HandTypes;
@@ -122,6 +125,7 @@
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.command.SpongeCommandManager;
 import org.spongepowered.common.entity.player.tab.SpongeTabList;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
@@ -141,6 +145,7 @@
 import org.spongepowered.common.interfaces.network.IMixinNetHandlerPlayServer;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.text.chat.ChatUtil;
 import org.spongepowered.common.util.VecHelper;
 
 import java.lang.ref.WeakReference;
@@ -261,6 +266,34 @@ private void checkSpongeKeepAlive(CPacketKeepAlive packetIn, CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "processTabComplete", at = @At("HEAD"), cancellable = true)
+    private void onProcessTabComplete(CPacketTabComplete packetIn, CallbackInfo ci) {
+        // Only commands are completed off the main thread, checked before the packet is handed to the main thread
+        if (this.serverController.isCallingFromMinecraftThread() || !packetIn.getMessage().startsWith("/")
+                || !SpongeImpl.getGlobalConfig().getConfig().getCommands().isAsyncTabCompletion()) {
+            return;
+        }
+        ci.cancel();
+        final String arguments = packetIn.getMessage().substring(1);
+        final boolean hasTargetBlock = packetIn.hasTargetBlock();
+        final BlockPos targetBlock = packetIn.getTargetBlock();
+        final Location<World> target = targetBlock == null ? null : new Location<>((World) this.player.getServerWorld(), VecHelper.toVector3i(targetBlock));
+        // Like MinecraftServer#getTabCompletions, aliases are completed with a slash outside of command blocks
+        final boolean prefixSlash = arguments.indexOf(' ') == -1 && !hasTargetBlock;
+        ((SpongeCommandManager) SpongeImpl.getGame().getCommandManager()).getSuggestionsAsync((CommandSource) this.player, arguments, target,
+                hasTargetBlock).whenComplete((suggestions, error) -> {
+                    if (error != null) {
+                        LOGGER.error("Failed to tab complete '{}' for {}", arguments, this.player.getName(), error);
+                        return;
+                    }
+                    final String[] completions = new String[suggestions.size()];
+                    for (int i = 0; i < completions.length; i++) {
+                        completions[i] = prefixSlash ? "/" + suggestions.get(i) : suggestions.get(i);
+                    }
+                    this.sendPacket(new SPacketTabComplete(completions));
+                });
+    }
+
     /**
      * This method wraps packets being sent to perform any additional actions,
      * such as rewriting data in the packet.
@@ -589,7 +622,7 @@ public void onDisconnectHandler(PlayerList this$0, ITextComponent component) {
         SpongeImpl.postEvent(event);
         Sponge.getCauseStackManager().popCause();
         if (!event.isMessageCancelled()) {
-            event.getChannel().ifPresent(channel -> channel.send(player, event.getMessage()));
+            event.getChannel().ifPresent(channel -> ChatUtil.broadcast(channel, player, event.getMessage()));
         }
         ((IMixinEntityPlayerMP) this.player).getWorldBorderListener().onPlayerDisconnect();
     }
@@ -30,7 +30,6 @@
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.network.ChannelBuf;
@@ -39,15 +38,13 @@
 import org.spongepowered.asm.mixin.Intrinsic;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
-import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.persistence.NbtByteBufCodec;
 import org.spongepowered.common.network.SpongeNetworkManager;
 
 import java.io.IOException;
 import java.nio.ByteOrder;
 import java.util.UUID;
 
-import javax.annotation.Nullable;
-
 @Mixin(PacketBuffer.class)
 @Implements(@Interface(iface = ChannelBuf.class, prefix = "cbuf$"))
 public abstract class MixinPacketBuffer extends ByteBuf {
@@ -59,7 +56,6 @@ public abstract class MixinPacketBuffer extends ByteBuf {
     @Shadow public abstract PacketBuffer writeByteArray(byte[] array);
     @Shadow public abstract PacketBuffer writeVarInt(int input);
     @Shadow public abstract PacketBuffer writeString(String string);
-    @Shadow public abstract PacketBuffer writeCompoundTag(@Nullable NBTTagCompound nbt);
     @Shadow public abstract PacketBuffer writeUniqueId(UUID uniqueId);
     
     // mojang methods, non-fluent
@@ -67,7 +63,6 @@ public abstract class MixinPacketBuffer extends ByteBuf {
     @Shadow public abstract byte[] readByteArray(int limit);
     @Shadow public abstract int readVarInt();
     @Shadow public abstract String readString(int maxLength);
-    @Shadow public abstract NBTTagCompound readCompoundTag() throws IOException;
     @Shadow public abstract UUID readUniqueId();
 
     public int cbuf$getCapacity() {
@@ -493,8 +488,11 @@ public UUID getUniqueId(int index) {
     }
 
     public ChannelBuf cbuf$writeDataView(DataView data) {
-        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(checkNotNull(data, "data"));
-        this.writeCompoundTag(compound);
+        try {
+            NbtByteBufCodec.write(this, checkNotNull(data, "data"));
+        } catch (IOException e) {
+            throw new EncoderException(e);
+        }
         return (ChannelBuf) this;
     }
 
@@ -509,7 +507,7 @@ public UUID getUniqueId(int index) {
 
     public DataView cbuf$readDataView() {
         try {
-            return NbtTranslator.getInstance().translateFrom(this.readCompoundTag());
+            return NbtByteBufCodec.read(this);
         } catch (IOException e) {
             throw new DecoderException(e);
         }
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.network.play.server;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketChat;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketChat;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+@Mixin(SPacketChat.class)
+public abstract class MixinSPacketChat implements IMixinSPacketChat {
+
+    @Shadow public abstract void writePacketData(PacketBuffer buf) throws IOException;
+
+    // Heap bytes instead of a pooled buffer, the packet may still be queued on a connection long after it was sent
+    @Nullable private byte[] encodedPayload;
+
+    @Override
+    public void encodePayload() {
+        if (this.encodedPayload != null) {
+            return;
+        }
+        final PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        try {
+            this.writePacketData(buf);
+        } catch (IOException e) {
+            // Leave it to the encoder of every connection
+            return;
+        }
+        final byte[] payload = new byte[buf.readableBytes()];
+        buf.readBytes(payload);
+        this.encodedPayload = payload;
+    }
+
+    @Inject(method = "writePacketData", at = @At("HEAD"), cancellable = true)
+    private void onWritePacketData(PacketBuffer buf, CallbackInfo ci) {
+        if (this.encodedPayload != null) {
+            buf.writeBytes(this.encodedPayload);
+            ci.cancel();
+        }
+    }
+}
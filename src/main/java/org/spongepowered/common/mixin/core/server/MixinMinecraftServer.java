@@ -91,6 +91,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.command.SpongeCommandManager;
+import org.spongepowered.common.config.category.SpawnPreparationCategory;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.CauseTrackerCrashHandler;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationContext;
@@ -108,6 +109,7 @@
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.SpawnAreaPreparer;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
@@ -353,6 +355,15 @@ public void prepareSpawnArea(WorldServer worldServer) {
             return;
         }
 
+        final SpawnPreparationCategory spawnPreparation = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getSpawnPreparationCategory();
+        if (spawnPreparation.isEnabled()) {
+            this.setUserMessage("menu.generatingTerrain");
+            LOGGER.info("Preparing start region for level {} ({})", ((IMixinWorldServer) worldServer).getDimensionId(), ((World) worldServer).getName());
+            SpawnAreaPreparer.prepare(worldServer, spawnPreparation, percent -> this.outputPercentRemaining("Preparing spawn area", percent));
+            this.clearCurrentTask();
+            return;
+        }
+
         IMixinChunkProviderServer chunkProviderServer = (IMixinChunkProviderServer) worldServer.getChunkProvider();
         chunkProviderServer.setForceChunkRequests(true);
 
@@ -650,6 +661,10 @@ public void saveAllWorlds(boolean dontLog) {
         }
         for (WorldServer worldserver : this.worlds) {
             if (worldserver != null && !worldserver.disableLevelSaving) {
+                // Sponge - Saves of worlds which are being copied are paused, unless the server stops
+                if (this.isServerRunning() && WorldManager.isAutoSavingPaused(worldserver)) {
+                    continue;
+                }
                 // Sponge start - check auto save interval in world config
                 if (this.isDedicatedServer() && this.isServerRunning()) {
                     final IMixinWorldServer spongeWorld = (IMixinWorldServer) worldserver;
@@ -120,6 +120,7 @@
 import org.spongepowered.common.service.ban.SpongeIPBanList;
 import org.spongepowered.common.service.ban.SpongeUserListBans;
 import org.spongepowered.common.service.permission.SpongePermissionService;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.service.whitelist.SpongeUserListWhitelist;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.chat.ChatUtil;
@@ -248,6 +249,7 @@ private void initializeConnectionToPlayer(NetworkManager netManager, EntityPlaye
         Optional<Instant> firstJoined = SpongePlayerDataHandler.getFirstJoined(playerIn.getUniqueID());
         Instant lastJoined = Instant.now();
         SpongePlayerDataHandler.setPlayerInfo(playerIn.getUniqueID(), firstJoined.orElse(lastJoined), lastJoined);
+        UserIndex.update(playerIn.getGameProfile());
 
         if (actualDimensionId != playerIn.dimension) {
             SpongeImpl.getLogger().warn("Player [{}] has attempted to login to unloaded world [{}]. This is not safe so we have moved them to "
@@ -439,7 +441,7 @@ private void initializeConnectionToPlayer(NetworkManager netManager, EntityPlaye
         Sponge.getCauseStackManager().popCause();
         // Send to the channel
         if (!event.isMessageCancelled()) {
-            event.getChannel().ifPresent(channel -> channel.send(player, event.getMessage()));
+            event.getChannel().ifPresent(channel -> ChatUtil.broadcast(channel, player, event.getMessage()));
         }
         // Sponge end
     }
@@ -820,6 +822,11 @@ private void onWritePlayerFile(EntityPlayerMP playerMP, CallbackInfo callbackInf
         SpongePlayerDataHandler.savePlayer(playerMP.getUniqueID());
     }
 
+    @Inject(method = "saveAllPlayerData", at = @At("RETURN"))
+    private void onSaveAllPlayerData(CallbackInfo callbackInfo) {
+        UserIndex.save();
+    }
+
     @ModifyVariable(method = "sendPlayerPermissionLevel", at = @At("HEAD"), argsOnly = true)
     public int fixPermLevel(int permLevel) {
         // If a non-default permission service is being used, then the op level will always be 0.
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.server.management;
 
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.world.WorldServer;
@@ -33,10 +34,13 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMap;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.gen.AsyncTerrainGenerator;
 
 import javax.annotation.Nullable;
 
@@ -70,4 +74,32 @@ private void onUnloadChunk(ChunkProviderServer chunkProvider, Chunk chunk) {
             ((IMixinChunk) chunk).setScheduledForUnload(System.currentTimeMillis());
         }
     }
+
+    @Inject(method = "updateMovingPlayer", at = @At("HEAD"))
+    private void onUpdateMovingPlayer(EntityPlayerMP player, CallbackInfo ci) {
+        final double deltaX = player.posX - player.managedPosX;
+        final double deltaZ = player.posZ - player.managedPosZ;
+        // Same threshold vanilla uses before it updates the chunks a player watches
+        if (deltaX * deltaX + deltaZ * deltaZ < 64.0D) {
+            return;
+        }
+
+        // Generate the terrain of the two rows of chunks just beyond the view distance
+        // in the direction the player is moving, they will most likely be needed next
+        final int radius = ((PlayerChunkMap) (Object) this).playerViewRadius;
+        final int chunkX = (int) player.posX >> 4;
+        final int chunkZ = (int) player.posZ >> 4;
+        final int directionX = deltaX > 1.0D ? 1 : deltaX < -1.0D ? -1 : 0;
+        final int directionZ = deltaZ > 1.0D ? 1 : deltaZ < -1.0D ? -1 : 0;
+        for (int distance = radius + 1; distance <= radius + 2; distance++) {
+            for (int offset = -radius; offset <= radius; offset++) {
+                if (directionX != 0) {
+                    AsyncTerrainGenerator.prefetch(this.world, chunkX + directionX * distance, chunkZ + offset);
+                }
+                if (directionZ != 0) {
+                    AsyncTerrainGenerator.prefetch(this.world, chunkX + offset, chunkZ + directionZ * distance);
+                }
+            }
+        }
+    }
 }
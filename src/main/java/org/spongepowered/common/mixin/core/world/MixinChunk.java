@@ -50,6 +50,7 @@
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.WorldType;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeProvider;
 import net.minecraft.world.chunk.Chunk.EnumCreateEntityType;
@@ -95,6 +96,7 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.BlockUtil;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.TrackedPositionTable;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.IPhaseState;
@@ -111,6 +113,7 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.extent.ExtentViewDownsize;
+import org.spongepowered.common.world.extent.worker.BlockSectionSource;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeVolumeWorker;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
 import org.spongepowered.common.world.gen.WorldGenConstants;
@@ -133,7 +136,7 @@
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.chunk.Chunk.class)
-public abstract class MixinChunk implements Chunk, IMixinChunk, IMixinCachable {
+public abstract class MixinChunk implements Chunk, IMixinChunk, IMixinCachable, BlockSectionSource {
 
     private org.spongepowered.api.world.World sponge_world;
     private UUID uuid;
@@ -144,6 +147,8 @@ public abstract class MixinChunk implements Chunk, IMixinChunk, IMixinCachable {
     private long cacheKey;
     private static final Direction[] CARDINAL_DIRECTIONS = new Direction[] {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
 
+    // Shared by all chunks while block tracking is disabled, it is never modified
+    private static final TrackedPositionTable EMPTY_TRACKED_POSITIONS = new TrackedPositionTable();
     private static final Vector3i BIOME_SIZE = new Vector3i(SpongeChunkLayout.CHUNK_SIZE.getX(), 1, SpongeChunkLayout.CHUNK_SIZE.getZ());
     private Vector3i chunkPos;
     private Vector3i blockMin;
@@ -406,6 +411,30 @@ public BlockState getBlock(int x, int y, int z) {
         return (BlockState) getBlockState(new BlockPos(x, y, z));
     }
 
+    @Override
+    public void copySection(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, BlockState[] states) {
+        checkBlockBounds(xMin, yMin, zMin);
+        checkBlockBounds(xMax, yMax, zMax);
+        final boolean debugWorld = this.world.getWorldType() == WorldType.DEBUG_ALL_BLOCK_STATES;
+        for (int y = yMin; y <= yMax; y++) {
+            final ExtendedBlockStorage storage = this.storageArrays[y >> 4];
+            for (int z = zMin; z <= zMax; z++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    final IBlockState state;
+                    if (debugWorld) {
+                        state = getBlockState(new BlockPos(x, y, z));
+                    } else if (storage == net.minecraft.world.chunk.Chunk.NULL_BLOCK_STORAGE) {
+                        state = Blocks.AIR.getDefaultState();
+                    } else {
+                        // Read the palette of the section directly
+                        state = storage.getData().get(x & 15, y & 15, z & 15);
+                    }
+                    states[(y - yMin) << 8 | (z - zMin) << 4 | (x - xMin)] = (BlockState) state;
+                }
+            }
+        }
+    }
+
     @Override
     public boolean setBlock(int x, int y, int z, BlockState block) {
         checkBlockBounds(x, y, z);
@@ -760,13 +789,13 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return Collections.emptyMap();
+    public TrackedPositionTable getTrackedIntPlayerPositions() {
+        return EMPTY_TRACKED_POSITIONS;
     }
 
     @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return Collections.emptyMap();
+    public TrackedPositionTable getTrackedShortPlayerPositions() {
+        return EMPTY_TRACKED_POSITIONS;
     }
 
     @Override
@@ -800,11 +829,11 @@ public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
+    public void setTrackedIntPlayerPositions(TrackedPositionTable trackedPositions) {
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
+    public void setTrackedShortPlayerPositions(TrackedPositionTable trackedPositions) {
     }
 
     // Continuing the rest of the implementation
@@ -28,9 +28,12 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.datafix.DataFixer;
+import net.minecraft.util.datafix.FixTypes;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
@@ -62,24 +65,36 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.TrackedPositionTable;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.QueuedChunk;
+import org.spongepowered.common.world.storage.ChunkSaveWriter;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
 
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
+    private static final int MAX_SAVE_ATTEMPTS = 5;
+
     private ConcurrentLinkedQueue<QueuedChunk> queue = new ConcurrentLinkedQueue<>();
-    private final Object lock = new Object();
 
     private static final String ENTITY_LIST_CREATE_FROM_NBT =
             "Lnet/minecraft/entity/EntityList;createEntityFromNBT(Lnet/minecraft/nbt/NBTTagCompound;Lnet/minecraft/world/World;)Lnet/minecraft/entity/Entity;";
@@ -88,71 +103,81 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
     @Shadow @Final private File chunkSaveLocation;
     @Shadow private boolean flushing;
+    @Shadow @Final private DataFixer fixer;
+
+    @Shadow @Nullable protected abstract Chunk checkedReadChunkFromNBT(World worldIn, int x, int z, NBTTagCompound compound);
 
-    @Shadow
-    public abstract void writeChunkData(ChunkPos pos, NBTTagCompound compound);
+    /** Compounds of saved chunks which were read ahead of time, null if the chunk wasn't saved */
+    private final Map<ChunkPos, CompletableFuture<NBTTagCompound>> prefetchedChunks = new ConcurrentHashMap<>();
 
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
-        // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
+        // Add tracked block positions, packed as key, owner and notifier triples
+        final TrackedPositionTable shortPositions = chunk.getTrackedShortPlayerPositions();
+        final TrackedPositionTable intPositions = chunk.getTrackedIntPlayerPositions();
+        if (!shortPositions.isEmpty() || !intPositions.isEmpty()) {
             NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_SHORT_POS_TABLE, packTrackedPositions(shortPositions));
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_INT_POS_TABLE, packTrackedPositions(intPositions));
             compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
+        }
+    }
 
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
+    private static int[] packTrackedPositions(TrackedPositionTable table) {
+        final int[] packed = new int[table.size() * 3];
+        final int[] index = new int[1];
+        table.forEach((key, ownerIndex, notifierIndex) -> {
+            packed[index[0]++] = key;
+            packed[index[0]++] = ownerIndex;
+            packed[index[0]++] = notifierIndex;
+        });
+        return packed;
+    }
 
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
+    private static TrackedPositionTable unpackTrackedPositions(int[] packed) {
+        final TrackedPositionTable table = new TrackedPositionTable(packed.length / 3);
+        for (int i = 0; i + 2 < packed.length; i += 3) {
+            table.put(packed[i], packed[i + 1], packed[i + 2]);
         }
+        return table;
     }
 
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     private void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX,
       int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-            final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
-            final NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+            final NBTTagCompound spongeData = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
             final IMixinChunk chunk = (IMixinChunk) chunkIn;
+            if (spongeData.hasKey(NbtDataUtil.SPONGE_SHORT_POS_TABLE, NbtDataUtil.TAG_INT_ARRAY)) {
+                chunk.setTrackedShortPlayerPositions(unpackTrackedPositions(spongeData.getIntArray(NbtDataUtil.SPONGE_SHORT_POS_TABLE)));
+                chunk.setTrackedIntPlayerPositions(unpackTrackedPositions(spongeData.getIntArray(NbtDataUtil.SPONGE_INT_POS_TABLE)));
+                return;
+            }
+            // Chunks saved before positions were packed keep a compound per position
+            final NBTTagList positions = spongeData.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+            final TrackedPositionTable trackedIntPlayerPositions = new TrackedPositionTable();
+            final TrackedPositionTable trackedShortPlayerPositions = new TrackedPositionTable();
             for (int i = 0; i < positions.tagCount(); i++) {
                 NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
                 boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
+                int ownerIndex = TrackedPositionTable.NONE;
+                int notifierIndex = TrackedPositionTable.NONE;
                 if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
+                    ownerIndex = valueNbt.getInteger("owner");
                 } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
+                    ownerIndex = valueNbt.getInteger("uuid");
                 }
                 if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
+                    notifierIndex = valueNbt.getInteger("notifier");
                 }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
+                if (notifierIndex != TrackedPositionTable.NONE || ownerIndex != TrackedPositionTable.NONE) {
                     if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
+                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), ownerIndex, notifierIndex);
                     } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
+                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), ownerIndex, notifierIndex);
                     }
                 }
             }
@@ -223,15 +248,21 @@ private static Entity onReadChunkEntity(NBTTagCompound compound, World world, Ch
      * @author aikar - February 19th, 2017
      * @reason Chunk queue improvements.
      *
+     * <p>Repeated saves of a position are coalesced, only the position is
+     * queued and the latest pending compound is written.</p>
+     *
      * @param pos The chunk position to queue
      * @param compound The NBTTagCompound containing chunk data
      */
     @Overwrite
     protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
-        synchronized (this.lock) {
-            this.chunksToSave.put(pos, compound);
+        // Sponge - A prefetched read is older than this save once the pending save is written
+        this.prefetchedChunks.remove(pos);
+        // Sponge - A pending compound means the position is already queued
+        if (this.chunksToSave.put(pos, compound) == null) {
+            this.queue.add(new QueuedChunk(pos));
+            ChunkSaveWriter.onChunkQueued();
         }
-        this.queue.add(new QueuedChunk(pos, compound));
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
     }
@@ -239,63 +270,106 @@ protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
     /**
      * @author aikar - February 19th, 2017
      * @reason Refactor entire method for chunk queue improvements.
+     *
+     * <p>Writes a batch of queued chunks at once, compressing them in
+     * parallel and writing them grouped by region file.</p>
+     *
      * @return Whether write was successful
      */
     @Overwrite
     public boolean writeNextIO() {
-        QueuedChunk chunk = this.queue.poll();
-        if (chunk == null) {
+        // Flushing may call this from another thread than the file IO thread
+        final List<QueuedChunk> batch = new ArrayList<>();
+        final int batchSize = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkSaveCategory().getBatchSize();
+        QueuedChunk chunk;
+        while (batch.size() < batchSize && (chunk = this.queue.poll()) != null) {
+            chunk.compound = this.chunksToSave.get(chunk.coords);
+            if (chunk.compound != null) {
+                batch.add(chunk);
+            } else {
+                ChunkSaveWriter.onChunkDropped();
+            }
+        }
+        if (batch.isEmpty()) {
             if (this.flushing) {
                 LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
             }
 
             return false;
-        } else {
-            ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
-
-            try {
-                // this.field_193415_c.add(chunkpos);
-                NBTTagCompound nbttagcompound = chunk.compound;
+        }
 
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
+        ChunkSaveWriter.write(this.chunkSaveLocation, batch);
+        for (QueuedChunk saved : batch) {
+            final NBTTagCompound compound = saved.compound;
+            if (saved.error != null) {
+                if (++saved.attempts < MAX_SAVE_ATTEMPTS) {
+                    // Still pending, so it is retried with the next batch
+                    saved.clearData();
+                    this.queue.add(saved);
+                    continue;
                 }
-
-                synchronized (this.lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
-                    }
+                LOGGER.error("Failed to save chunk {} after {} attempts", saved.coords, saved.attempts, saved.error);
+            }
+            // Sponge - This will not remove if a newer version is still pending,
+            // in which case the position is queued again
+            if (this.chunksToSave.remove(saved.coords, compound)) {
+                if (saved.error == null) {
+                    ChunkSaveWriter.onChunkSaved(saved);
+                } else {
+                    ChunkSaveWriter.onChunkDropped();
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
+            } else {
+                saved.clearData();
+                saved.attempts = 0;
+                saved.queuedTime = System.nanoTime();
+                this.queue.add(saved);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> prefetchChunk(int x, int z, Executor executor) {
+        final ChunkPos pos = new ChunkPos(x, z);
+        if (this.chunksToSave.containsKey(pos)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        final CompletableFuture<NBTTagCompound> future = CompletableFuture.supplyAsync(() -> {
+            // Only reading the bytes locks the region file, they are decompressed and parsed in parallel
+            try (DataInputStream in = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z)) {
+                return in == null ? null : this.fixer.process(FixTypes.CHUNK, CompressedStreamTools.read(in));
+            } catch (IOException e) {
+                throw new CompletionException(e);
             }
+        }, executor);
+        this.prefetchedChunks.put(pos, future);
+        return future.thenApply(compound -> compound != null);
+    }
+
+    @Override
+    public void discardPrefetchedChunks() {
+        this.prefetchedChunks.clear();
+    }
 
-            return lvt_3_1_;
+    @Inject(method = "loadChunk", at = @At("HEAD"), cancellable = true)
+    private void onLoadChunk(World worldIn, int x, int z, CallbackInfoReturnable<Chunk> cir) {
+        if (this.prefetchedChunks.isEmpty()) {
+            return;
+        }
+        final ChunkPos pos = new ChunkPos(x, z);
+        final CompletableFuture<NBTTagCompound> future = this.prefetchedChunks.remove(pos);
+        // A pending save is newer than anything read from disk
+        if (future == null || this.chunksToSave.containsKey(pos)) {
+            return;
+        }
+        final NBTTagCompound compound;
+        try {
+            compound = future.join();
+        } catch (CompletionException | CancellationException e) {
+            // Let the chunk be read again the usual way
+            return;
         }
+        cir.setReturnValue(compound == null ? null : this.checkedReadChunkFromNBT(worldIn, x, z, compound));
     }
 
     @Override
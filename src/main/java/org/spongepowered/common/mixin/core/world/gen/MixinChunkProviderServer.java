@@ -114,6 +114,11 @@ public WorldServer getWorld() {
         return this.world;
     }
 
+    @Override
+    public IChunkLoader getChunkLoader() {
+        return this.chunkLoader;
+    }
+
     @Override
     public ChunkDataStream getGeneratedChunks() {
         if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader)) {
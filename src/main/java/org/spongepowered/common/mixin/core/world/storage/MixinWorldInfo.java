@@ -29,10 +29,9 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.MoreObjects;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonParseException;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -158,9 +157,10 @@ public abstract class MixinWorldInfo implements WorldProperties, IMixinWorldInfo
     private boolean generateBonusChest, isValid = true;
     private NBTTagCompound spongeRootLevelNbt = new NBTTagCompound(), spongeNbt = new NBTTagCompound();
     private final NBTTagList playerUniqueIdNbt = new NBTTagList();
-    private final BiMap<Integer, UUID> playerUniqueIdMap = HashBiMap.create();
+    // The index of a unique id is its position in the list
+    private final Object2IntOpenHashMap<UUID> playerUniqueIdIndices = createUniqueIdIndexMap();
+    private final List<UUID> playerUniqueIds = new ArrayList<>();
     private final List<UUID> pendingUniqueIds = new ArrayList<>();
-    private int trackedUniqueIdCount = 0;
     @Nullable private SpongeConfig<WorldConfig> worldConfig;
     @Nullable private PortalAgentType portalAgentType;
 
@@ -772,21 +772,38 @@ public void setPropertySection(DataQuery path, DataView data) {
         this.spongeRootLevelNbt.setTag(path.toString(), nbt);
     }
 
+    private static Object2IntOpenHashMap<UUID> createUniqueIdIndexMap() {
+        final Object2IntOpenHashMap<UUID> map = new Object2IntOpenHashMap<>();
+        map.defaultReturnValue(-1);
+        return map;
+    }
+
     @Override
     public int getIndexForUniqueId(UUID uuid) {
-        final Integer index = this.playerUniqueIdMap.inverse().get(uuid);
-        if (index != null) {
+        final int index = this.playerUniqueIdIndices.getInt(uuid);
+        if (index != -1) {
             return index;
         }
 
-        this.playerUniqueIdMap.put(this.trackedUniqueIdCount, uuid);
-        this.pendingUniqueIds.add(uuid);
-        return this.trackedUniqueIdCount++;
+        return this.addUniqueId(uuid, true);
+    }
+
+    private int addUniqueId(UUID uuid, boolean pending) {
+        final int index = this.playerUniqueIds.size();
+        this.playerUniqueIds.add(uuid);
+        this.playerUniqueIdIndices.put(uuid, index);
+        if (pending) {
+            this.pendingUniqueIds.add(uuid);
+        }
+        return index;
     }
 
     @Override
     public Optional<UUID> getUniqueIdForIndex(int index) {
-        return Optional.ofNullable(this.playerUniqueIdMap.get(index));
+        if (index < 0 || index >= this.playerUniqueIds.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(this.playerUniqueIds.get(index));
     }
 
     @Override
@@ -824,7 +841,8 @@ public void readSpongeNbt(NBTTagCompound nbt) {
         this.generateBonusChest = nbt.getBoolean(NbtDataUtil.GENERATE_BONUS_CHEST);
         this.portalAgentType = PortalAgentRegistryModule.getInstance().validatePortalAgent(nbt.getString(NbtDataUtil.PORTAL_AGENT_TYPE), this.levelName);
         this.hasCustomDifficulty = nbt.getBoolean(NbtDataUtil.HAS_CUSTOM_DIFFICULTY);
-        this.trackedUniqueIdCount = 0;
+        this.playerUniqueIds.clear();
+        this.playerUniqueIdIndices.clear();
         if (nbt.hasKey(NbtDataUtil.WORLD_SERIALIZATION_BEHAVIOR)) {
             short saveBehavior = nbt.getShort(NbtDataUtil.WORLD_SERIALIZATION_BEHAVIOR);
             if (saveBehavior == 1) {
@@ -840,11 +858,11 @@ public void readSpongeNbt(NBTTagCompound nbt) {
             for (int i = 0; i < playerIdList.tagCount(); i++) {
                 final NBTTagCompound playerId = playerIdList.getCompoundTagAt(i);
                 final UUID playerUuid = playerId.getUniqueId(NbtDataUtil.UUID);
-                final Integer playerIndex = this.playerUniqueIdMap.inverse().get(playerUuid);
-                if (playerIndex == null) {
-                    this.playerUniqueIdMap.put(this.trackedUniqueIdCount++, playerUuid);
+                if (!this.playerUniqueIdIndices.containsKey(playerUuid)) {
+                    this.addUniqueId(playerUuid, false);
                 } else {
-                    playerIdList.removeTag(i);
+                    // Keep list positions in line with the indices
+                    playerIdList.removeTag(i--);
                 }
             }
 
@@ -45,25 +45,23 @@
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
+import org.spongepowered.common.world.lighting.LightUpdateQueue;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Mixin(value = Chunk.class, priority = 1002)
 public abstract class MixinChunk_Async_Lighting implements IMixinChunk {
 
-    // Keeps track of block positions in this chunk currently queued for sky light update
-    private CopyOnWriteArrayList<Short> queuedSkyLightingUpdates = new CopyOnWriteArrayList<>();
-    // Keeps track of block positions in this chunk currently queued for block light update
-    private CopyOnWriteArrayList<Short> queuedBlockLightingUpdates = new CopyOnWriteArrayList<>();
+    // Keeps track of block positions in this chunk currently queued for light updates
+    private final LightUpdateQueue lightUpdateQueue = new LightUpdateQueue();
     private AtomicInteger pendingLightUpdates = new AtomicInteger();
     private long lightUpdateTime;
-    private ExecutorService lightExecutorService;
+    private AsyncLightingEngine lightingEngine;
     private static final List<Chunk> EMPTY_LIST = new ArrayList<>();
     private static final BlockPos DUMMY_POS = new BlockPos(0, 0, 0);
     private boolean isServerChunk;
@@ -99,7 +97,7 @@ public abstract class MixinChunk_Async_Lighting implements IMixinChunk {
     public void onConstruct(World worldIn, int x, int z, CallbackInfo ci) {
         this.isServerChunk = !((IMixinWorld) worldIn).isFake();
         if (this.isServerChunk) {
-            this.lightExecutorService = ((IMixinWorldServer) worldIn).getLightingExecutor();
+            this.lightingEngine = ((IMixinWorldServer) worldIn).getLightingEngine();
         }
     }
 
@@ -125,7 +123,7 @@ private void onTickHead(boolean skipRecheckGaps, CallbackInfo ci)
             final List<Chunk> neighbors = this.getSurroundingChunks();
             if (this.isGapLightingUpdated && this.world.provider.hasSkyLight() && !skipRecheckGaps && !neighbors.isEmpty())
             {
-                this.lightExecutorService.execute(() -> {
+                this.lightingEngine.execute((Chunk) (Object) this, neighbors, () -> {
                     this.recheckGapsAsync(neighbors);
                 });
                 this.isGapLightingUpdated = false;
@@ -135,7 +133,7 @@ private void onTickHead(boolean skipRecheckGaps, CallbackInfo ci)
 
             if (!this.isLightPopulated && this.isTerrainPopulated && !neighbors.isEmpty())
             {
-                this.lightExecutorService.execute(() -> {
+                this.lightingEngine.execute((Chunk) (Object) this, neighbors, () -> {
                     this.checkLightAsync(neighbors);
                 });
                 // set to true to avoid requeuing the same task when not finished
@@ -258,7 +256,7 @@ private boolean onCheckLightWorld(World world, BlockPos pos) {
     @Inject(method = "checkLight", at = @At("HEAD"), cancellable = true)
     private void checkLightHead(CallbackInfo ci) {
         if (this.isServerChunk) {
-            if (this.world.getMinecraftServer().isServerStopped() || this.lightExecutorService.isShutdown()) {
+            if (this.world.getMinecraftServer().isServerStopped()) {
                 return;
             }
 
@@ -273,13 +271,13 @@ private void checkLightHead(CallbackInfo ci) {
 
             if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
                 try {
-                    this.lightExecutorService.execute(() -> {
+                    this.lightingEngine.execute((Chunk) (Object) this, neighborChunks, () -> {
                         this.checkLightAsync(neighborChunks);
                     });
                 } catch (RejectedExecutionException e) {
                     // This could happen if ServerHangWatchdog kills the server
                     // between the start of the method and the execute() call.
-                    if (!this.world.getMinecraftServer().isServerStopped() && !this.lightExecutorService.isShutdown()) {
+                    if (!this.world.getMinecraftServer().isServerStopped()) {
                         throw e;
                     }
                 }
@@ -499,7 +497,7 @@ private List<Chunk> getSurroundingChunks() {
     @Inject(method = "relightBlock", at = @At("HEAD"), cancellable = true)
     private void onRelightBlock(int x, int y, int z, CallbackInfo ci) {
         if (this.isServerChunk) {
-            this.lightExecutorService.execute(() -> {
+            this.lightingEngine.execute((Chunk) (Object) this, this.getSurroundingChunks(), () -> {
                 this.relightBlockAsync(x, y, z);
             });
             ci.cancel();
@@ -698,17 +696,8 @@ private boolean checkWorldLight(BlockPos pos, List<Chunk> neighbors) {
         return flag;
     }
 
-    /**
-     * Gets the list of block positions currently queued for lighting updates.
-     *
-     * @param type The light type
-     * @return The list of queued block positions, empty if none
-     */
     @Override
-    public CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type) {
-        if (type == EnumSkyBlock.SKY) {
-            return this.queuedSkyLightingUpdates;
-        }
-        return this.queuedBlockLightingUpdates;
+    public LightUpdateQueue getLightUpdateQueue() {
+        return this.lightUpdateQueue;
     }
 }
@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -33,30 +32,27 @@
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.util.math.IMixinBlockPos;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
+import org.spongepowered.common.world.lighting.LightUpdateQueue;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class)
 public abstract class MixinWorldServer_Async_Lighting extends MixinWorld implements IMixinWorldServer {
 
-    private static final int NUM_XZ_BITS = 4;
-    private static final int NUM_SHORT_Y_BITS = 8;
-    private static final short XZ_MASK = 0xF;
-    private static final short Y_SHORT_MASK = 0xFF;
+    private static final EnumSkyBlock[] LIGHT_TYPES = EnumSkyBlock.values();
+    // Light checks run on several threads at once, so each needs its own copy of the vanilla work list
+    private static final ThreadLocal<int[]> LIGHT_UPDATE_BLOCK_LIST = ThreadLocal.withInitial(() -> new int[32768]);
 
-    private ExecutorService lightExecutorService = 
-                Executors.newFixedThreadPool(SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    private final AsyncLightingEngine lightingEngine = new AsyncLightingEngine((WorldServer) (Object) this);
 
     @Override
     public boolean checkLightFor(EnumSkyBlock lightType, BlockPos pos) {
@@ -69,7 +65,7 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final IMixinChunk spongeChunk = (IMixinChunk) currentChunk;
+            final int[] lightUpdateBlockList = LIGHT_UPDATE_BLOCK_LIST.get(); // Sponge - use thread local list
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -80,12 +76,12 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
             int k1 = pos.getZ();
 
             if (l > k) {
-                this.lightUpdateBlockList[j++] = 133152;
+                lightUpdateBlockList[j++] = 133152;
             } else if (l < k) {
-                this.lightUpdateBlockList[j++] = 133152 | k << 18;
+                lightUpdateBlockList[j++] = 133152 | k << 18;
 
                 while (i < j) {
-                    int l1 = this.lightUpdateBlockList[i++];
+                    int l1 = lightUpdateBlockList[i++];
                     int i2 = (l1 & 63) - 32 + i1;
                     int j2 = (l1 >> 6 & 63) - 32 + j1;
                     int k2 = (l1 >> 12 & 63) - 32 + k1;
@@ -118,8 +114,8 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                                     i3 = this.getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
                                     // Sponge end
 
-                                    if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
-                                        this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
+                                    if (i3 == l2 - l4 && j < lightUpdateBlockList.length) {
+                                        lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
                                     }
                                 }
 
@@ -136,7 +132,7 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
             //this.theProfiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
 
             while (i < j) {
-                int i5 = this.lightUpdateBlockList[i++];
+                int i5 = lightUpdateBlockList[i++];
                 int j5 = (i5 & 63) - 32 + i1;
                 int k5 = (i5 >> 6 & 63) - 32 + j1;
                 int l5 = (i5 >> 12 & 63) - 32 + k1;
@@ -151,32 +147,32 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                         int k6 = Math.abs(j5 - i1);
                         int l6 = Math.abs(k5 - j1);
                         int i7 = Math.abs(l5 - k1);
-                        boolean flag = j < this.lightUpdateBlockList.length - 6;
+                        boolean flag = j < lightUpdateBlockList.length - 6;
 
                         if (k6 + l6 + i7 < 17 && flag) {
                             // Sponge start - use thread safe method getLightForAsync
                             if (this.getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
                             }
                             // Sponge end
                         }
@@ -184,15 +180,6 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.getQueuedLightingUpdates(lightType).remove((Short) this.blockPosToShort(pos));
-            spongeChunk.getPendingLightUpdates().decrementAndGet();
-            for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
-                neighbor.getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -200,7 +187,7 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
 
     @Override
     public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable Chunk currentChunk) {
-        if (this.getMinecraftServer().isServerStopped() || this.lightExecutorService.isShutdown()) {
+        if (this.getMinecraftServer().isServerStopped()) {
             return false;
         }
 
@@ -213,17 +200,23 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
             return false;
         }
 
-        final short shortPos = this.blockPosToShort(pos);
-        if (spongeChunk.getQueuedLightingUpdates(lightType).contains(shortPos)) {
+        // Checks are coalesced per chunk and processed together by a single task
+        final LightUpdateQueue queue = spongeChunk.getLightUpdateQueue();
+        if (!queue.add(lightType, pos)) {
             return false;
         }
+        this.lightingEngine.addQueuedChecks(1);
+        spongeChunk.setLightUpdateTime(currentChunk.getWorld().getTotalWorldTime());
+        if (queue.trySchedule()) {
+            this.scheduleLightUpdates(currentChunk);
+        }
 
-        final Chunk chunk = currentChunk;
-        spongeChunk.getQueuedLightingUpdates(lightType).add(shortPos);
-        spongeChunk.getPendingLightUpdates().incrementAndGet();
-        spongeChunk.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+        return true;
+    }
 
-        List<Chunk> neighbors = spongeChunk.getNeighbors();
+    private void scheduleLightUpdates(Chunk chunk) {
+        final IMixinChunk spongeChunk = (IMixinChunk) chunk;
+        final List<Chunk> neighbors = spongeChunk.getNeighbors();
         // add diagonal chunks
         Chunk southEastChunk = ((IMixinChunk) spongeChunk.getNeighborChunk(0)).getNeighborChunk(2);
         Chunk southWestChunk = ((IMixinChunk) spongeChunk.getNeighborChunk(0)).getNeighborChunk(3);
@@ -242,27 +235,41 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
             neighbors.add(northWestChunk);
         }
 
-        for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+        // Pending updates keep the chunk and its neighbors from unloading until the task ran
+        final long worldTime = chunk.getWorld().getTotalWorldTime();
+        spongeChunk.getPendingLightUpdates().incrementAndGet();
+        for (Chunk neighborChunk : neighbors) {
             final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
             neighbor.getPendingLightUpdates().incrementAndGet();
-            neighbor.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+            neighbor.setLightUpdateTime(worldTime);
         }
 
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.lightExecutorService.execute(() -> {
-                this.checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.checkLightAsync(lightType, pos, chunk, neighbors);
-        }
+        this.lightingEngine.execute(chunk, neighbors, () -> this.processLightUpdates(chunk, neighbors));
+    }
 
-        return true;
+    private void processLightUpdates(Chunk chunk, List<Chunk> neighbors) {
+        final IMixinChunk spongeChunk = (IMixinChunk) chunk;
+        final LightUpdateQueue queue = spongeChunk.getLightUpdateQueue();
+        // Checks queued from here on need another task, which waits for our locks
+        queue.clearScheduled();
+        try {
+            for (EnumSkyBlock lightType : LIGHT_TYPES) {
+                queue.drain(lightType, packed -> {
+                    this.lightingEngine.addQueuedChecks(-1);
+                    this.checkLightAsync(lightType, LightUpdateQueue.toBlockPos(chunk.x, chunk.z, packed), chunk, neighbors);
+                });
+            }
+        } finally {
+            spongeChunk.getPendingLightUpdates().decrementAndGet();
+            for (Chunk neighborChunk : neighbors) {
+                ((IMixinChunk) neighborChunk).getPendingLightUpdates().decrementAndGet();
+            }
+        }
     }
 
     @Override
-    public ExecutorService getLightingExecutor() {
-        return this.lightExecutorService;
+    public AsyncLightingEngine getLightingEngine() {
+        return this.lightingEngine;
     }
 
     // Thread safe methods to retrieve a chunk during async light updates
@@ -355,24 +362,4 @@ public void setLightForAsync(EnumSkyBlock type, BlockPos pos, int lightValue, Ch
             }
         }
     }
-
-    private short blockPosToShort(BlockPos pos) {
-        short serialized = (short) setNibble(0, pos.getX() & XZ_MASK, 0, NUM_XZ_BITS);
-        serialized = (short) setNibble(serialized, pos.getY() & Y_SHORT_MASK, 1, NUM_SHORT_Y_BITS);
-        serialized = (short) setNibble(serialized, pos.getZ() & XZ_MASK, 3, NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Modifies bits in an integer.
-     *
-     * @param num Integer to modify
-     * @param data Bits of data to add
-     * @param which Index of nibble to start at
-     * @param bitsToReplace The number of bits to replace starting from nibble index
-     * @return The modified integer
-     */
-    private int setNibble(int num, int data, int which, int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
-    }
 }
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Merges the activation areas of all players in a world into a single map
+ * from chunk to the players whose area covers it, so that every chunk is
+ * visited once per tick no matter how many players overlap it.
+ *
+ * <p>Instances are reused from tick to tick and are not thread safe.</p>
+ *
+ * @param <P> The player type
+ */
+final class ActivationGrid<P> {
+
+    interface ChunkVisitor<P> {
+
+        void visit(int chunkX, int chunkZ, List<P> players);
+    }
+
+    private final Long2ObjectOpenHashMap<List<P>> chunks = new Long2ObjectOpenHashMap<>();
+    private final Deque<List<P>> pool = new ArrayDeque<>();
+
+    /**
+     * Adds a player whose activation area spans the given bounds grown by
+     * {@code range} blocks horizontally.
+     */
+    void add(P player, double minX, double minZ, double maxX, double maxZ, int range) {
+        final int minChunkX = MathHelper.floor((minX - range) / 16.0D);
+        final int maxChunkX = MathHelper.floor((maxX + range) / 16.0D);
+        final int minChunkZ = MathHelper.floor((minZ - range) / 16.0D);
+        final int maxChunkZ = MathHelper.floor((maxZ + range) / 16.0D);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final long key = ChunkPos.asLong(chunkX, chunkZ);
+                List<P> players = this.chunks.get(key);
+                if (players == null) {
+                    players = this.pool.isEmpty() ? new ArrayList<>() : this.pool.pop();
+                    this.chunks.put(key, players);
+                }
+                players.add(player);
+            }
+        }
+    }
+
+    void forEachChunk(ChunkVisitor<P> visitor) {
+        for (Long2ObjectMap.Entry<List<P>> entry : this.chunks.long2ObjectEntrySet()) {
+            final long key = entry.getLongKey();
+            visitor.visit((int) key, (int) (key >>> 32), entry.getValue());
+        }
+    }
+
+    int size() {
+        return this.chunks.size();
+    }
+
+    void clear() {
+        final ObjectIterator<List<P>> iterator = this.chunks.values().iterator();
+        while (iterator.hasNext()) {
+            final List<P> players = iterator.next();
+            players.clear();
+            this.pool.push(players);
+        }
+        this.chunks.clear();
+    }
+}
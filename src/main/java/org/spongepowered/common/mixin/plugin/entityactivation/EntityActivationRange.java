@@ -51,7 +51,6 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -73,6 +72,7 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 
+import java.util.List;
 import java.util.Map;
 
 public class EntityActivationRange {
@@ -85,13 +85,8 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
+    static AxisAlignedBB activationBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
+    private static final ActivationGrid<EntityPlayer> activationGrid = new ActivationGrid<>();
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
 
     /**
@@ -215,53 +210,53 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        if (((IMixinWorld) world).isFake()) {
+        if (((IMixinWorld) world).isFake() || world.playerEntities.isEmpty()) {
             return;
         }
 
-        for (EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
 
-            maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            int i = MathHelper.floor(maxBB.minX / 16.0D);
-            int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    Chunk chunk = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
+        // Merge the areas of all players first, so chunks shared by several players are only scanned once
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        for (EntityPlayer player : world.playerEntities) {
+            ((IModData_Activation) player).setActivatedTick(currentTick);
+            final AxisAlignedBB bb = player.getEntityBoundingBox();
+            activationGrid.add(player, bb.minX, bb.minZ, bb.maxX, bb.maxZ, maxRange);
+        }
+
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world).getChunkProvider();
+        try {
+            activationGrid.forEachChunk((chunkX, chunkZ, players) -> {
+                final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(chunkX, chunkZ);
+                if (chunk != null) {
+                    activateChunkEntities(players, chunk, currentTick);
                 }
-            }
+            });
+        } finally {
+            activationGrid.clear();
         }
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * @param players The players whose activation area covers the chunk
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
+    private static void activateChunkEntities(List<EntityPlayer> players, Chunk chunk, long currentTick) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (Object o : chunk.getEntityLists()[i]) {
                 Entity entity = (Entity) o;
                 EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final IModData_Activation spongeEntity = (IModData_Activation) entity;
-                long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((IMixinEntity) entity).shouldTick()) {
                     continue;
                 }
@@ -282,47 +277,14 @@ private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
                         spongeEntity.requiresActivationCacheRefresh(false);
                     }
                     // check for entity type overrides
-                    byte activationType = spongeEntity.getActivationType();
-                    int bbActivationRange = spongeEntity.getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
-
-                    switch (spongeEntity.getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
+                    final int bbActivationRange = spongeEntity.getActivationRange();
+                    final AxisAlignedBB entityBB = entity.getEntityBoundingBox();
+                    for (EntityPlayer player : players) {
+                        growBb(activationBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                        if (activationBB.intersects(entityBB)) {
+                            spongeEntity.setActivatedTick(currentTick);
                             break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.setActivatedTick(currentTick);
-                            }
+                        }
                     }
                 }
             }
@@ -28,6 +28,7 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
@@ -49,6 +50,8 @@
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.util.VecHelper;
 
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class TileEntityActivation {
@@ -128,15 +131,15 @@ public static void initializeTileEntityActivationState(TileEntity tileEntity) {
     */
     public static void activateTileEntities(WorldServer world) {
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final Map<EntityPlayer, Vector3i> playerPositions = new IdentityHashMap<>();
         for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
-            for (EntityPlayer player : playerChunkMapEntry.players) {
-                final Chunk chunk = playerChunkMapEntry.chunk;
-                if (chunk == null || chunk.unloadQueued || ((IMixinChunk) chunk).isPersistedChunk()) {
-                    continue;
-                }
-
-                activateChunkTileEntities(player, chunk);
+            final Chunk chunk = playerChunkMapEntry.chunk;
+            if (chunk == null || chunk.unloadQueued || ((IMixinChunk) chunk).isPersistedChunk() || playerChunkMapEntry.players.isEmpty()) {
+                continue;
             }
+
+            activateChunkTileEntities(playerChunkMapEntry.players, playerPositions, chunk, currentTick);
         }
     }
 
@@ -144,11 +147,13 @@ public static void activateTileEntities(WorldServer world) {
     /**
      * Checks for the activation state of all tileentities in this chunk.
      *
+     * @param players The players watching the chunk
+     * @param playerPositions The block positions of players, filled lazily
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
      */
-    private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk) {
-        final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
-        final long currentTick = SpongeImpl.getServer().getTickCounter();
+    private static void activateChunkTileEntities(List<EntityPlayerMP> players, Map<EntityPlayer, Vector3i> playerPositions, Chunk chunk,
+            long currentTick) {
         for (Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
             final TileEntity tileEntity = mapEntry.getValue();
             final IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
@@ -161,10 +166,9 @@ private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk)
                 continue;
             }
 
-            final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
-            if (currentTick > ((IModData_Activation) tileEntity).getActivatedTick()) {
+            if (currentTick > spongeTileEntity.getActivatedTick()) {
                 if (spongeTileEntity.getDefaultActivationState()) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
+                    spongeTileEntity.setActivatedTick(currentTick);
                     continue;
                 }
 
@@ -174,10 +178,15 @@ private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk)
                     spongeTileEntity.requiresActivationCacheRefresh(false);
                 }
 
-                int bbActivationRange = ((IModData_Activation) tileEntity).getActivationRange();
-                int blockDistance = Math.round(tilePos.distance(playerPos));
-                if (blockDistance <= bbActivationRange) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
+                final int bbActivationRange = spongeTileEntity.getActivationRange();
+                final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
+                for (EntityPlayer player : players) {
+                    final Vector3i playerPos = playerPositions.computeIfAbsent(player, p -> VecHelper.toVector3i(p.getPosition()));
+                    int blockDistance = Math.round(tilePos.distance(playerPos));
+                    if (blockDistance <= bbActivationRange) {
+                        spongeTileEntity.setActivatedTick(currentTick);
+                        break;
+                    }
                 }
             }
         }
@@ -52,6 +52,7 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.GeneralConfigBase;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.TrackedPositionTable;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
@@ -62,7 +63,6 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -89,8 +89,8 @@ public abstract class MixinChunk_Tracker implements Chunk, IMixinChunk {
 
     @Shadow public abstract ChunkPos getPos();
 
-    private Map<Integer, PlayerTracker> trackedIntBlockPositions = new HashMap<>();
-    private Map<Short, PlayerTracker> trackedShortBlockPositions = new HashMap<>();
+    private TrackedPositionTable trackedIntBlockPositions = new TrackedPositionTable();
+    private TrackedPositionTable trackedShortBlockPositions = new TrackedPositionTable();
 
     @Final // need this constructor to never be overwritten by anything.
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"), remap = false)
@@ -144,58 +144,49 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
 
         final IMixinWorldInfo worldInfo = (IMixinWorldInfo) this.world.getWorldInfo();
         final int indexForUniqueId = worldInfo.getIndexForUniqueId(user.getUniqueId());
+        final TrackedPositionTable table;
+        final int key;
         if (pos.getY() <= 255) {
-            short blockPos = this.blockPosToShort(pos);
-            final PlayerTracker playerTracker = this.trackedShortBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
-            } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
-            }
+            table = this.trackedShortBlockPositions;
+            key = this.blockPosToShort(pos);
         } else {
-            int blockPos = this.blockPosToInt(pos);
-            final PlayerTracker playerTracker = this.trackedIntBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
-            } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+            table = this.trackedIntBlockPositions;
+            key = this.blockPosToInt(pos);
+        }
+        final int slot = table.find(key);
+        if (slot != -1) {
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                table.setOwner(slot, indexForUniqueId);
             }
+            table.setNotifier(slot, indexForUniqueId);
+        } else if (trackerType == PlayerTracker.Type.OWNER) {
+            table.put(key, indexForUniqueId, TrackedPositionTable.NONE);
+        } else {
+            table.put(key, TrackedPositionTable.NONE, indexForUniqueId);
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
+    public TrackedPositionTable getTrackedIntPlayerPositions() {
         return this.trackedIntBlockPositions;
     }
 
     @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
+    public TrackedPositionTable getTrackedShortPlayerPositions() {
         return this.trackedShortBlockPositions;
     }
 
     @Override
     public Optional<User> getBlockOwner(BlockPos pos) {
         final int intKey = this.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            final int notifierIndex = intTracker.ownerIndex;
-            return this.getValidatedUser(intKey, notifierIndex);
+        final int intSlot = this.trackedIntBlockPositions.find(intKey);
+        if (intSlot != -1) {
+            return this.getValidatedUser(this.trackedIntBlockPositions, intKey, this.trackedIntBlockPositions.getOwner(intSlot));
         } else {
             final short shortKey = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int notifierIndex = shortTracker.ownerIndex;
-                return this.getValidatedUser(shortKey, notifierIndex);
+            final int shortSlot = this.trackedShortBlockPositions.find(shortKey);
+            if (shortSlot != -1) {
+                return this.getValidatedUser(this.trackedShortBlockPositions, shortKey, this.trackedShortBlockPositions.getOwner(shortSlot));
             }
         }
 
@@ -205,16 +196,14 @@ public Optional<User> getBlockOwner(BlockPos pos) {
     @Override
     public Optional<UUID> getBlockOwnerUUID(BlockPos pos) {
         final int key = this.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = intTracker.ownerIndex;
-            return this.getValidatedUUID(key, ownerIndex);
+        final int intSlot = this.trackedIntBlockPositions.find(key);
+        if (intSlot != -1) {
+            return this.getValidatedUUID(this.trackedIntBlockPositions, key, this.trackedIntBlockPositions.getOwner(intSlot));
         } else {
             final short shortKey = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int ownerIndex = shortTracker.ownerIndex;
-                return this.getValidatedUUID(shortKey, ownerIndex);
+            final int shortSlot = this.trackedShortBlockPositions.find(shortKey);
+            if (shortSlot != -1) {
+                return this.getValidatedUUID(this.trackedShortBlockPositions, shortKey, this.trackedShortBlockPositions.getOwner(shortSlot));
             }
         }
 
@@ -224,14 +213,14 @@ public Optional<UUID> getBlockOwnerUUID(BlockPos pos) {
     @Override
     public Optional<User> getBlockNotifier(BlockPos pos) {
         final int intKey = this.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            return this.getValidatedUser(intKey, intTracker.notifierIndex);
+        final int intSlot = this.trackedIntBlockPositions.find(intKey);
+        if (intSlot != -1) {
+            return this.getValidatedUser(this.trackedIntBlockPositions, intKey, this.trackedIntBlockPositions.getNotifier(intSlot));
         } else {
             final short shortKey = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.getValidatedUser(shortKey, shortTracker.notifierIndex);
+            final int shortSlot = this.trackedShortBlockPositions.find(shortKey);
+            if (shortSlot != -1) {
+                return this.getValidatedUser(this.trackedShortBlockPositions, shortKey, this.trackedShortBlockPositions.getNotifier(shortSlot));
             }
         }
 
@@ -241,22 +230,22 @@ public Optional<User> getBlockNotifier(BlockPos pos) {
     @Override
     public Optional<UUID> getBlockNotifierUUID(BlockPos pos) {
         final int key = this.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            return this.getValidatedUUID(key, intTracker.notifierIndex);
+        final int intSlot = this.trackedIntBlockPositions.find(key);
+        if (intSlot != -1) {
+            return this.getValidatedUUID(this.trackedIntBlockPositions, key, this.trackedIntBlockPositions.getNotifier(intSlot));
         } else {
             final short shortKey = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.getValidatedUUID(shortKey, shortTracker.notifierIndex);
+            final int shortSlot = this.trackedShortBlockPositions.find(shortKey);
+            if (shortSlot != -1) {
+                return this.getValidatedUUID(this.trackedShortBlockPositions, shortKey, this.trackedShortBlockPositions.getNotifier(shortSlot));
             }
         }
 
         return Optional.empty();
     }
 
-    private Optional<User> getValidatedUser(int key, int ownerIndex) {
-        Optional<UUID> uuid = this.getValidatedUUID(key, ownerIndex);
+    private Optional<User> getValidatedUser(TrackedPositionTable table, int key, int ownerIndex) {
+        Optional<UUID> uuid = this.getValidatedUUID(table, key, ownerIndex);
         if (uuid.isPresent()) {
             UUID userUniqueId = uuid.get();
             // get player if online
@@ -270,12 +259,12 @@ private Optional<User> getValidatedUser(int key, int ownerIndex) {
         return Optional.empty();
     }
 
-    private Optional<UUID> getValidatedUUID(int key, int ownerIndex) {
+    private Optional<UUID> getValidatedUUID(TrackedPositionTable table, int key, int ownerIndex) {
         UUID uuid = (((IMixinWorldInfo) this.world.getWorldInfo()).getUniqueIdForIndex(ownerIndex)).orElse(null);
         if (uuid != null) {
             // Verify id is valid and not invalid
             if (SpongeImpl.getGlobalConfig().getConfig().getWorld().getInvalidLookupUuids().contains(uuid)) {
-                this.trackedIntBlockPositions.remove(key);
+                table.remove(key);
                 return Optional.empty();
             }
             // player is not online, get or create user from storage
@@ -305,60 +294,38 @@ private Optional<User> getUserFromId(UUID uuid) {
     // Special setter used by API
     @Override
     public void setBlockNotifier(BlockPos pos, @Nullable UUID uuid) {
-        if (pos.getY() <= 255) {
-            short blockPos = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.notifierIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+        final int index = uuid == null ? TrackedPositionTable.NONE : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
+        final TrackedPositionTable table = pos.getY() <= 255 ? this.trackedShortBlockPositions : this.trackedIntBlockPositions;
+        final int key = pos.getY() <= 255 ? this.blockPosToShort(pos) : this.blockPosToInt(pos);
+        final int slot = table.find(key);
+        if (slot != -1) {
+            table.setNotifier(slot, index);
         } else {
-            int blockPos = this.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.notifierIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            table.put(key, TrackedPositionTable.NONE, index);
         }
     }
 
     // Special setter used by API
     @Override
     public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
-        if (pos.getY() <= 255) {
-            short blockPos = this.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+        final int index = uuid == null ? TrackedPositionTable.NONE : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
+        final TrackedPositionTable table = pos.getY() <= 255 ? this.trackedShortBlockPositions : this.trackedIntBlockPositions;
+        final int key = pos.getY() <= 255 ? this.blockPosToShort(pos) : this.blockPosToInt(pos);
+        final int slot = table.find(key);
+        if (slot != -1) {
+            table.setOwner(slot, index);
         } else {
-            int blockPos = this.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            table.put(key, index, TrackedPositionTable.NONE);
         }
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
+    public void setTrackedIntPlayerPositions(TrackedPositionTable trackedPositions) {
         this.trackedIntBlockPositions = trackedPositions;
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
+    public void setTrackedShortPlayerPositions(TrackedPositionTable trackedPositions) {
         this.trackedShortBlockPositions = trackedPositions;
     }
 
@@ -0,0 +1,282 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.common.profile.resolver.ProfileResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resolves profiles through a {@link ProfileResolver}, sharing one rate limit
+ * and backoff between all requests.
+ *
+ * <p>Concurrent requests for the same unique id or name share a single
+ * lookup, and names that are requested while waiting for the rate limit are
+ * resolved together, up to the resolver's batch limit. Requests are limited
+ * by a token bucket; a failed request makes all requests back off with an
+ * exponentially growing delay before it is retried. Nothing blocks while
+ * waiting, requests are scheduled once they may run.</p>
+ */
+public final class ProfileLookupPipeline {
+
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * Notified of the results of the pipeline as they arrive, to fill caches.
+     */
+    public interface Listener {
+
+        void onResolved(GameProfile profile);
+
+        void onNotFound(UUID uniqueId);
+    }
+
+    private final ScheduledExecutorService executor;
+    private final Listener listener;
+    private final int maxRetries;
+    private final long backoffNanos;
+    private volatile ProfileResolver resolver;
+
+    private final ConcurrentMap<UUID, CompletableFuture<Optional<GameProfile>>> pendingIds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Optional<GameProfile>>> pendingNames = new ConcurrentHashMap<>();
+    private final Queue<String> queuedNames = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean nameBatchScheduled = new AtomicBoolean();
+
+    // Token bucket state, negative tokens are reservations of requests waiting for a token
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+    private long backoffUntil = System.nanoTime();
+    private int failures;
+
+    /**
+     * Creates a new pipeline.
+     *
+     * @param resolver The resolver
+     * @param listener The listener of the results
+     * @param threads The amount of requests that may run at once
+     * @param requestsPerSecond The average amount of requests per second
+     * @param burst The amount of requests that may be made at once after
+     *     being idle
+     * @param maxRetries The amount of times a failed request is retried
+     * @param backoff The delay before the first retry, doubled for every
+     *     consecutive failure
+     * @param backoffUnit The unit of the backoff
+     */
+    public ProfileLookupPipeline(ProfileResolver resolver, Listener listener, int threads, double requestsPerSecond, int burst, int maxRetries,
+            long backoff, TimeUnit backoffUnit) {
+        this.resolver = checkNotNull(resolver, "resolver");
+        this.listener = checkNotNull(listener, "listener");
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, threads),
+                new ThreadFactoryBuilder().setNameFormat("Sponge - Profile Lookup Thread #%d").setDaemon(true).build());
+        this.capacity = Math.max(1, burst);
+        this.tokens = this.capacity;
+        this.tokensPerNano = Math.max(requestsPerSecond, 0.001) / TimeUnit.SECONDS.toNanos(1);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffNanos = backoffUnit.toNanos(backoff);
+    }
+
+    public ProfileResolver getResolver() {
+        return this.resolver;
+    }
+
+    public void setResolver(ProfileResolver resolver) {
+        this.resolver = checkNotNull(resolver, "resolver");
+    }
+
+    /**
+     * Resolves the profile with the given unique id.
+     *
+     * @param uniqueId The unique id
+     * @return The profile, or empty if it doesn't exist
+     */
+    public CompletableFuture<Optional<GameProfile>> resolveId(UUID uniqueId) {
+        checkNotNull(uniqueId, "uniqueId");
+        final CompletableFuture<Optional<GameProfile>> future = new CompletableFuture<>();
+        final CompletableFuture<Optional<GameProfile>> pending = this.pendingIds.putIfAbsent(uniqueId, future);
+        if (pending != null) {
+            return pending;
+        }
+        future.whenComplete((profile, error) -> this.pendingIds.remove(uniqueId, future));
+        this.schedule(() -> this.resolveId(uniqueId, future, 0));
+        return future;
+    }
+
+    /**
+     * Resolves the profile with the given name, ignoring case.
+     *
+     * @param name The name
+     * @return The profile, or empty if it doesn't exist
+     */
+    public CompletableFuture<Optional<GameProfile>> resolveName(String name) {
+        final String key = checkNotNull(name, "name").toLowerCase(Locale.ROOT);
+        final CompletableFuture<Optional<GameProfile>> future = new CompletableFuture<>();
+        final CompletableFuture<Optional<GameProfile>> pending = this.pendingNames.putIfAbsent(key, future);
+        if (pending != null) {
+            return pending;
+        }
+        future.whenComplete((profile, error) -> this.pendingNames.remove(key, future));
+        this.queuedNames.add(key);
+        this.scheduleNameBatch();
+        return future;
+    }
+
+    private void resolveId(UUID uniqueId, CompletableFuture<Optional<GameProfile>> future, int attempt) {
+        final Optional<GameProfile> profile;
+        try {
+            profile = this.resolver.resolveId(uniqueId);
+        } catch (Exception e) {
+            this.retry(attempt, () -> this.resolveId(uniqueId, future, attempt + 1), () -> future.completeExceptionally(e));
+            return;
+        }
+        this.onSuccess();
+        if (profile.isPresent()) {
+            this.listener.onResolved(profile.get());
+        } else {
+            this.listener.onNotFound(uniqueId);
+        }
+        future.complete(profile);
+    }
+
+    private void scheduleNameBatch() {
+        if (this.nameBatchScheduled.compareAndSet(false, true)) {
+            this.schedule(this::resolveQueuedNames);
+        }
+    }
+
+    private void resolveQueuedNames() {
+        this.nameBatchScheduled.set(false);
+        // Take every name that was queued while this batch waited for the rate limit
+        final Map<String, CompletableFuture<Optional<GameProfile>>> batch = new HashMap<>();
+        final int maxNames = this.resolver.getMaxNamesPerRequest();
+        String name;
+        while (batch.size() < maxNames && (name = this.queuedNames.poll()) != null) {
+            final CompletableFuture<Optional<GameProfile>> future = this.pendingNames.get(name);
+            if (future != null) {
+                batch.put(name, future);
+            }
+        }
+        if (!this.queuedNames.isEmpty()) {
+            this.scheduleNameBatch();
+        }
+        if (!batch.isEmpty()) {
+            this.resolveNames(batch, 0);
+        }
+    }
+
+    private void resolveNames(Map<String, CompletableFuture<Optional<GameProfile>>> batch, int attempt) {
+        final Collection<GameProfile> profiles;
+        try {
+            profiles = this.resolver.resolveNames(new ArrayList<>(batch.keySet()));
+        } catch (Exception e) {
+            this.retry(attempt, () -> this.resolveNames(batch, attempt + 1),
+                    () -> batch.values().forEach(future -> future.completeExceptionally(e)));
+            return;
+        }
+        this.onSuccess();
+        for (GameProfile profile : profiles) {
+            final CompletableFuture<Optional<GameProfile>> future = profile.getName().isPresent()
+                    ? batch.remove(profile.getName().get().toLowerCase(Locale.ROOT)) : null;
+            this.listener.onResolved(profile);
+            if (future != null) {
+                future.complete(Optional.of(profile));
+            }
+        }
+        for (CompletableFuture<Optional<GameProfile>> future : batch.values()) {
+            future.complete(Optional.empty());
+        }
+    }
+
+    private void retry(int attempt, Runnable retry, Runnable giveUp) {
+        this.onFailure();
+        if (attempt < this.maxRetries) {
+            this.schedule(retry);
+        } else {
+            giveUp.run();
+        }
+    }
+
+    private void schedule(Runnable request) {
+        final long delay = this.reserve();
+        if (delay <= 0) {
+            this.executor.execute(request);
+        } else {
+            this.executor.schedule(request, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket, possibly one that will only be available
+     * in the future.
+     *
+     * @return The delay in nanoseconds until the token may be used
+     */
+    private synchronized long reserve() {
+        final long now = System.nanoTime();
+        this.tokens = Math.min(this.capacity, this.tokens + (now - this.lastRefill) * this.tokensPerNano);
+        this.lastRefill = now;
+        this.tokens -= 1;
+        final long wait = this.tokens >= 0 ? 0 : (long) Math.ceil(-this.tokens / this.tokensPerNano);
+        return Math.max(wait, this.backoffUntil - now);
+    }
+
+    private synchronized void onSuccess() {
+        this.failures = 0;
+    }
+
+    private synchronized void onFailure() {
+        this.failures++;
+        final long backoff = this.backoffNanos << Math.min(this.failures - 1, 30);
+        this.backoffUntil = Math.max(this.backoffUntil, System.nanoTime() + Math.min(backoff < 0 ? MAX_BACKOFF_NANOS : backoff, MAX_BACKOFF_NANOS));
+    }
+
+    /**
+     * Stops all lookups, requests that haven't completed yet are never
+     * completed.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+}
@@ -26,25 +26,38 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.profile.GameProfileCache;
 import org.spongepowered.api.profile.GameProfileManager;
+import org.spongepowered.api.profile.ProfileNotFoundException;
 import org.spongepowered.api.profile.property.ProfileProperty;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ProfileLookupCategory;
 import org.spongepowered.common.profile.query.GameProfileQuery;
 import org.spongepowered.common.profile.query.NameQuery;
 import org.spongepowered.common.profile.query.UniqueIdQuery;
+import org.spongepowered.common.profile.resolver.MojangProfileResolver;
+import org.spongepowered.common.profile.resolver.OfflineProfileResolver;
+import org.spongepowered.common.profile.resolver.ProfileResolver;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -53,31 +66,59 @@ public final class SpongeProfileManager implements GameProfileManager {
     private static final int LOOKUP_INTERVAL = SpongeImpl.getGlobalConfig().getConfig().getWorld().getGameProfileQueryTaskInterval();
     private final GameProfileCache defaultCache = (GameProfileCache) SpongeImpl.getServer().getPlayerProfileCache();
     private GameProfileCache cache = this.defaultCache;
-    private ExecutorService gameLookupExecutorService = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge - Async User Lookup Thread").build());
+    private final ProfileLookupPipeline pipeline;
+    private final Set<UUID> pendingUserLookups = Sets.newConcurrentHashSet();
+    private final Queue<UUID> userLookupQueue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService userLookupExecutorService = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Async User Lookup Thread").setDaemon(true).build());
 
     public SpongeProfileManager() {
-    }
+        final ProfileLookupCategory config = SpongeImpl.getGlobalConfig().getConfig().getProfileLookup();
+        final ProfileResolver resolver = config.isOffline() ? new OfflineProfileResolver() : new MojangProfileResolver();
+        this.pipeline = new ProfileLookupPipeline(resolver, new ProfileLookupPipeline.Listener() {
 
-    public void lookupUserAsync(UUID uuid) {
-        this.gameLookupExecutorService.execute(() -> {
-            if (SpongeUsernameCache.getLastKnownUsername(uuid) != null) {
-                return;
+            @Override
+            public void onResolved(GameProfile profile) {
+                SpongeProfileManager.this.defaultCache.add(profile, true, (Instant) null);
             }
 
-            try {
-                Sponge.getServer().getGameProfileManager().get(checkNotNull(uuid, "uniqueId")).get();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            } catch (ExecutionException e) {
-                e.printStackTrace();
+            @Override
+            public void onNotFound(UUID uniqueId) {
+                // create a dummy profile to avoid future lookups
+                // if actual user logs in, the profile will be updated during PlayerList#initializeConnectionToPlayer
+                SpongeProfileManager.this.defaultCache.add(GameProfile.of(uniqueId, "[sponge]"), true, (Instant) null);
             }
+        }, config.getThreads(), config.getRequestsPerSecond(), config.getBurst(), config.getMaxRetries(), 1, TimeUnit.SECONDS);
+        this.userLookupExecutorService.scheduleWithFixedDelay(this::drainUserLookups, LOOKUP_INTERVAL, Math.max(LOOKUP_INTERVAL, 1),
+                TimeUnit.SECONDS);
+    }
 
-            try {
-                Thread.sleep(LOOKUP_INTERVAL * 1000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+    public ProfileLookupPipeline getPipeline() {
+        return this.pipeline;
+    }
+
+    public void lookupUserAsync(UUID uuid) {
+        checkNotNull(uuid, "uniqueId");
+        if (this.pendingUserLookups.add(uuid)) {
+            this.userLookupQueue.add(uuid);
+        }
+    }
+
+    private void drainUserLookups() {
+        // Without an interval every queued user is looked up at once, the pipeline still limits the rate
+        UUID uuid;
+        while ((uuid = this.userLookupQueue.poll()) != null) {
+            this.pendingUserLookups.remove(uuid);
+            if (SpongeUsernameCache.getLastKnownUsername(uuid) == null) {
+                this.get(uuid).exceptionally(e -> {
+                    SpongeImpl.getLogger().debug("Failed to look up user " + uuid, e);
+                    return null;
+                });
+                if (LOOKUP_INTERVAL > 0) {
+                    return;
+                }
             }
-        });
+        }
     }
 
     @Override
@@ -93,22 +134,44 @@ public ProfileProperty createProfileProperty(String name, String value, @Nullabl
 
     @Override
     public CompletableFuture<GameProfile> get(UUID uniqueId, final boolean useCache) {
-        return this.submitTask(new UniqueIdQuery.SingleGet(this.cache, checkNotNull(uniqueId, "unique id"), useCache));
+        checkNotNull(uniqueId, "unique id");
+        if (this.cache != this.defaultCache) {
+            return this.submitTask(new UniqueIdQuery.SingleGet(this.cache, uniqueId, useCache));
+        }
+        return this.resolveIds(ImmutableSet.of(uniqueId), useCache)
+                .thenApply(profiles -> profiles.isEmpty() ? GameProfile.of(uniqueId, null) : profiles.get(0));
     }
 
     @Override
     public CompletableFuture<Collection<GameProfile>> getAllById(Iterable<UUID> uniqueIds, boolean useCache) {
-        return this.submitTask(new UniqueIdQuery.MultiGet(this.cache, checkNotNull(uniqueIds, "unique ids"), useCache));
+        checkNotNull(uniqueIds, "unique ids");
+        if (this.cache != this.defaultCache) {
+            return this.submitTask(new UniqueIdQuery.MultiGet(this.cache, uniqueIds, useCache));
+        }
+        return this.resolveIds(ImmutableSet.copyOf(uniqueIds), useCache).thenApply(profiles -> profiles);
     }
 
     @Override
     public CompletableFuture<GameProfile> get(String name, boolean useCache) {
-        return this.submitTask(new NameQuery.SingleGet(this.cache, checkNotNull(name, "name"), useCache));
+        checkNotNull(name, "name");
+        if (this.cache != this.defaultCache) {
+            return this.submitTask(new NameQuery.SingleGet(this.cache, name, useCache));
+        }
+        return this.resolveNames(ImmutableSet.of(name), useCache).thenApply(profiles -> {
+            if (profiles.isEmpty()) {
+                throw new ProfileNotFoundException("Failed to find profile for name " + name);
+            }
+            return profiles.get(0);
+        });
     }
 
     @Override
     public CompletableFuture<Collection<GameProfile>> getAllByName(Iterable<String> names, boolean useCache) {
-        return this.submitTask(new NameQuery.MultiGet(this.cache, checkNotNull(names, "names"), useCache));
+        checkNotNull(names, "names");
+        if (this.cache != this.defaultCache) {
+            return this.submitTask(new NameQuery.MultiGet(this.cache, names, useCache));
+        }
+        return this.resolveNames(ImmutableSet.copyOf(names), useCache).thenApply(profiles -> profiles);
     }
 
     @Override
@@ -131,6 +194,61 @@ public GameProfileCache getDefaultCache() {
         return this.defaultCache;
     }
 
+    private CompletableFuture<List<GameProfile>> resolveIds(Collection<UUID> uniqueIds, boolean useCache) {
+        return this.submitTask(() -> {
+            final List<GameProfile> cached = new ArrayList<>();
+            final List<CompletableFuture<Optional<GameProfile>>> lookups = new ArrayList<>();
+            for (UUID uniqueId : uniqueIds) {
+                if (useCache) {
+                    // check username cache first
+                    final String username = SpongeUsernameCache.getLastKnownUsername(uniqueId);
+                    if (username != null) {
+                        cached.add(GameProfile.of(uniqueId, username));
+                        continue;
+                    }
+                    final Optional<GameProfile> profile = this.cache.getById(uniqueId);
+                    if (profile.isPresent()) {
+                        cached.add(profile.get());
+                        continue;
+                    }
+                }
+                lookups.add(this.pipeline.resolveId(uniqueId));
+            }
+            return join(cached, lookups);
+        }).thenCompose(result -> result);
+    }
+
+    private CompletableFuture<List<GameProfile>> resolveNames(Collection<String> names, boolean useCache) {
+        return this.submitTask(() -> {
+            final List<GameProfile> cached = new ArrayList<>();
+            final List<CompletableFuture<Optional<GameProfile>>> lookups = new ArrayList<>();
+            for (String name : names) {
+                if (useCache) {
+                    final Optional<GameProfile> profile = this.cache.getByName(name);
+                    if (profile.isPresent()) {
+                        cached.add(profile.get());
+                        continue;
+                    }
+                }
+                lookups.add(this.pipeline.resolveName(name));
+            }
+            return join(cached, lookups);
+        }).thenCompose(result -> result);
+    }
+
+    private static CompletableFuture<List<GameProfile>> join(List<GameProfile> cached, List<CompletableFuture<Optional<GameProfile>>> lookups) {
+        if (lookups.isEmpty()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            final List<GameProfile> result = new ArrayList<>(cached);
+            for (CompletableFuture<Optional<GameProfile>> lookup : lookups) {
+                lookup.join().ifPresent(result::add);
+            }
+            return result;
+        });
+    }
+
     private <T> CompletableFuture<T> submitTask(Callable<T> callable) {
         return SpongeImpl.getScheduler().submitAsyncTask(callable);
     }
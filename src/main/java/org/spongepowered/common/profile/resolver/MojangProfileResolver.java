@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile.resolver;
+
+import com.google.common.collect.Iterables;
+import com.mojang.authlib.Agent;
+import com.mojang.authlib.ProfileLookupCallback;
+import com.mojang.authlib.yggdrasil.ProfileNotFoundException;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves profiles through the server's profile repository and session
+ * service, which query Mojang's servers.
+ */
+public final class MojangProfileResolver implements ProfileResolver {
+
+    // The maximum amount of names Mojang's api accepts per request
+    private static final int MAX_NAMES_PER_REQUEST = 10;
+
+    @Override
+    public int getMaxNamesPerRequest() {
+        return MAX_NAMES_PER_REQUEST;
+    }
+
+    @Override
+    public Collection<GameProfile> resolveNames(Collection<String> names) throws Exception {
+        final Callback callback = new Callback();
+        SpongeImpl.getServer().getGameProfileRepository().findProfilesByNames(Iterables.toArray(names, String.class), Agent.MINECRAFT, callback);
+        if (callback.error != null) {
+            throw callback.error;
+        }
+        return callback.profiles;
+    }
+
+    @Override
+    public Optional<GameProfile> resolveId(UUID uniqueId) {
+        final com.mojang.authlib.GameProfile profile = SpongeImpl.getServer().getMinecraftSessionService().fillProfileProperties(
+                new com.mojang.authlib.GameProfile(uniqueId, ""), true);
+        if (profile != null && profile.getName() != null && !profile.getName().isEmpty()) {
+            return Optional.of((GameProfile) profile);
+        }
+        return Optional.empty();
+    }
+
+    private static final class Callback implements ProfileLookupCallback {
+
+        final List<GameProfile> profiles = new ArrayList<>();
+        @Nullable Exception error;
+
+        @Override
+        public void onProfileLookupSucceeded(com.mojang.authlib.GameProfile profile) {
+            this.profiles.add((GameProfile) profile);
+        }
+
+        @Override
+        public void onProfileLookupFailed(com.mojang.authlib.GameProfile profile, Exception exception) {
+            // Names that don't exist are simply left out, anything else means the request failed
+            if (!(exception instanceof ProfileNotFoundException) && this.error == null) {
+                this.error = exception;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile.resolver;
+
+import net.minecraft.entity.player.EntityPlayer;
+import org.spongepowered.api.profile.GameProfile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves profiles without contacting any server, using the unique ids
+ * offline mode assigns to names. Unique ids can't be resolved back to names.
+ */
+public final class OfflineProfileResolver implements ProfileResolver {
+
+    @Override
+    public int getMaxNamesPerRequest() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public Collection<GameProfile> resolveNames(Collection<String> names) {
+        final List<GameProfile> profiles = new ArrayList<>(names.size());
+        for (String name : names) {
+            profiles.add((GameProfile) new com.mojang.authlib.GameProfile(EntityPlayer.getOfflineUUID(name), name));
+        }
+        return profiles;
+    }
+
+    @Override
+    public Optional<GameProfile> resolveId(UUID uniqueId) {
+        return Optional.empty();
+    }
+
+}
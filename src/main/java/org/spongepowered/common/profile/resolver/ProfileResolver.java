@@ -0,0 +1,66 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile.resolver;
+
+import org.spongepowered.api.profile.GameProfile;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves game profiles from their source, usually Mojang's servers. Every
+ * call counts as a single upstream request; rate limiting, retries and
+ * caching are left to the caller.
+ */
+public interface ProfileResolver {
+
+    /**
+     * Gets the maximum amount of names that may be passed to
+     * {@link #resolveNames(Collection)} at once.
+     *
+     * @return The maximum amount of names per request
+     */
+    int getMaxNamesPerRequest();
+
+    /**
+     * Resolves the profiles of the given names.
+     *
+     * @param names The names
+     * @return The profiles that were found, names that don't exist are left out
+     * @throws Exception If the request failed and may be retried
+     */
+    Collection<GameProfile> resolveNames(Collection<String> names) throws Exception;
+
+    /**
+     * Resolves the profile with the given unique id.
+     *
+     * @param uniqueId The unique id
+     * @return The profile, if it exists
+     * @throws Exception If the request failed and may be retried
+     */
+    Optional<GameProfile> resolveId(UUID uniqueId) throws Exception;
+
+}
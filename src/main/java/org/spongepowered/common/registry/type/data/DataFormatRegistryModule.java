@@ -35,6 +35,7 @@
 import org.spongepowered.common.data.persistence.HoconDataFormat;
 import org.spongepowered.common.data.persistence.JsonDataFormat;
 import org.spongepowered.common.data.persistence.NbtDataFormat;
+import org.spongepowered.common.data.persistence.SchematicDataFormat;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -70,5 +71,6 @@ public void registerDefaults() {
         this.dataFormatMappings.put("nbt", new NbtDataFormat("nbt"));
         this.dataFormatMappings.put("json", new JsonDataFormat());
         this.dataFormatMappings.put("hocon", new HoconDataFormat("hocon"));
+        this.dataFormatMappings.put("schematic", new SchematicDataFormat("schematic"));
     }
 }
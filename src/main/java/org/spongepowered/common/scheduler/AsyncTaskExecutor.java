@@ -0,0 +1,268 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs asynchronous tasks on a shared executor while limiting how many
+ * tasks of a single plugin may run at the same time. Tasks exceeding the
+ * limit of their plugin are queued per plugin and dispatched as soon as
+ * one of its running tasks completes, so a plugin flooding tasks can't
+ * take the whole executor from other plugins.
+ */
+class AsyncTaskExecutor {
+
+    // The queue of the task running on the current thread
+    private static final ThreadLocal<PluginTaskQueue> currentQueue = new ThreadLocal<>();
+
+    private final ExecutorService executor;
+    private final int maxConcurrentTasksPerPlugin;
+    private final ConcurrentMap<String, PluginTaskQueue> queues = Maps.newConcurrentMap();
+
+    AsyncTaskExecutor(ExecutorService executor, int maxConcurrentTasksPerPlugin) {
+        this.executor = executor;
+        this.maxConcurrentTasksPerPlugin = maxConcurrentTasksPerPlugin;
+    }
+
+    /**
+     * Creates the executor from the {@link SchedulerCategory} settings.
+     *
+     * @param category The scheduler settings
+     * @return The executor
+     */
+    static AsyncTaskExecutor create(SchedulerCategory category) {
+        final int threads = category.getAsyncThreads() > 0 ? category.getAsyncThreads()
+                : Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+        final int limit = category.getMaxConcurrentTasksPerPlugin();
+        switch (category.getAsyncExecutor().toLowerCase()) {
+            case "cached":
+                return new AsyncTaskExecutor(Executors.newCachedThreadPool(), limit);
+            case "virtual":
+                final ExecutorService virtual = createVirtualThreadExecutor();
+                if (virtual != null) {
+                    return new AsyncTaskExecutor(virtual, limit);
+                }
+                SpongeImpl.getLogger().warn("Virtual threads are not supported by this JVM, falling back to the 'fork-join' async executor.");
+                break;
+            case "fork-join":
+                break;
+            default:
+                SpongeImpl.getLogger().warn("Unknown async executor '{}', falling back to the 'fork-join' async executor.",
+                        category.getAsyncExecutor());
+        }
+        return new AsyncTaskExecutor(createForkJoinPool(threads), limit > 0 ? limit : Math.max(1, threads / 2));
+    }
+
+    private static ExecutorService createForkJoinPool(int threads) {
+        // Worker threads should load classes like the threads of the cached pool would
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return new ForkJoinPool(threads, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge Async Scheduler Worker #" + thread.getPoolIndex());
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, true);
+    }
+
+    @Nullable
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets an {@link Executor} that runs its tasks on behalf of the plugin.
+     *
+     * @param plugin The plugin owning the tasks
+     * @return The executor
+     */
+    Executor forPlugin(PluginContainer plugin) {
+        final PluginTaskQueue queue = this.getQueue(plugin);
+        return queue::submit;
+    }
+
+    void execute(PluginContainer plugin, Runnable runnable) {
+        this.getQueue(plugin).submit(runnable);
+    }
+
+    /**
+     * Gets the amount of tasks of each plugin that are waiting for the
+     * plugin to be below its concurrency limit.
+     *
+     * @return The queued task counts by plugin id
+     */
+    Map<String, Integer> getQueuedTaskCounts() {
+        final ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+        this.queues.forEach((id, queue) -> builder.put(id, queue.getQueued()));
+        return builder.build();
+    }
+
+    /**
+     * Gets the amount of tasks of each plugin that are currently running.
+     *
+     * @return The running task counts by plugin id
+     */
+    Map<String, Integer> getRunningTaskCounts() {
+        final ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+        this.queues.forEach((id, queue) -> builder.put(id, queue.getRunning()));
+        return builder.build();
+    }
+
+    /**
+     * Runs a task of a plugin. Plugin tasks commonly block, on database or
+     * network IO, sleeping or waiting for other tasks, so on a fork join pool
+     * they run as managed blockers for which the pool compensates with
+     * additional threads.
+     */
+    private static void run(Runnable runnable) {
+        if (!(Thread.currentThread() instanceof ForkJoinWorkerThread)) {
+            runnable.run();
+            return;
+        }
+        try {
+            ForkJoinPool.managedBlock(new BlockingRun(runnable));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PluginTaskQueue getQueue(PluginContainer plugin) {
+        return this.queues.computeIfAbsent(plugin.getId(), id -> new PluginTaskQueue());
+    }
+
+    private final class PluginTaskQueue {
+
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+        private int running;
+
+        void submit(Runnable runnable) {
+            synchronized (this) {
+                // Tasks submitted by a running task of the plugin bypass the limit, the running task may wait for them
+                if (AsyncTaskExecutor.this.maxConcurrentTasksPerPlugin > 0 && this.running >= AsyncTaskExecutor.this.maxConcurrentTasksPerPlugin
+                        && currentQueue.get() != this) {
+                    this.pending.add(runnable);
+                    return;
+                }
+                this.running++;
+            }
+            this.dispatch(runnable);
+        }
+
+        private void dispatch(Runnable runnable) {
+            try {
+                AsyncTaskExecutor.this.executor.execute(() -> {
+                    final PluginTaskQueue previous = currentQueue.get();
+                    currentQueue.set(this);
+                    try {
+                        run(runnable);
+                    } finally {
+                        currentQueue.set(previous);
+                        this.complete();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    this.running--;
+                }
+                throw e;
+            }
+        }
+
+        private void complete() {
+            final Runnable next;
+            synchronized (this) {
+                next = this.pending.poll();
+                if (next == null) {
+                    this.running--;
+                    return;
+                }
+            }
+            // Hand the slot of the completed task over to the next one
+            this.dispatch(next);
+        }
+
+        synchronized int getQueued() {
+            return this.pending.size();
+        }
+
+        synchronized int getRunning() {
+            return this.running;
+        }
+
+    }
+
+    /**
+     * Runs a task as a {@link ForkJoinPool.ManagedBlocker}, so the fork join
+     * pool adds a thread while the task blocks instead of running out of
+     * workers.
+     */
+    private static final class BlockingRun implements ForkJoinPool.ManagedBlocker {
+
+        private final Runnable runnable;
+        private boolean done;
+
+        BlockingRun(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                this.runnable.run();
+            } finally {
+                this.done = true;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return this.done;
+        }
+
+    }
+
+}
@@ -36,6 +36,8 @@
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -54,6 +56,10 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    // The scheduler this task was submitted to, indexing it until it is removed
+    @Nullable SchedulerBase scheduler;
+    // The timestamp this task is due at in the queue it currently sits in
+    long queuedTimestamp;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -133,6 +139,11 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        if (this.scheduler != null) {
+            // Drop the task from the index right away, the queued entry is
+            // discarded once it is polled.
+            this.scheduler.removeTask(this);
+        }
         return success;
     }
 
@@ -174,6 +185,17 @@ long nextExecutionTimestamp() {
         return this.timestamp + this.offset;
     }
 
+    /**
+     * Gets whether the timestamps of this task are measured in ticks, based
+     * on whether the task is waiting for its offset or repeating with its
+     * period.
+     *
+     * @return True if the current timestamp is in ticks
+     */
+    boolean isTickBased() {
+        return this.state.isActive ? this.intervalIsTicks : this.delayIsTicks;
+    }
+
     void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
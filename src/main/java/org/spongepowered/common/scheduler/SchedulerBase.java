@@ -37,15 +37,22 @@
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
 abstract class SchedulerBase {
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    // The index of all pending (and running) ScheduledTasks, used for lookup and cancellation
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks submitted since the last tick, handed over to the scheduler thread
+    private final Queue<ScheduledTask> submittedTasks = new ConcurrentLinkedQueue<>();
+    // The queue of all pending tasks that are scheduled in nanoseconds
+    private final TimestampQueue timestampQueue = new TimestampQueue();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -73,14 +80,16 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     /**
-     * Adds the task to the task map, will attempt to process the task on the
-     * next call to {@link #runTick}.
+     * Adds the task to the task map, it will be queued on the next call to
+     * {@link #runTick}.
      *
      * @param task The task to add
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.scheduler = this;
         this.taskMap.put(task.getUniqueId(), task);
+        this.submittedTasks.add(task);
     }
 
     /**
@@ -92,6 +101,45 @@ protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
     }
 
+    /**
+     * Queues the task to be processed once its next execution timestamp is
+     * reached. Only called from the thread that ticks this scheduler.
+     *
+     * @param task The task to queue
+     */
+    protected void queueTask(ScheduledTask task) {
+        this.timestampQueue.add(task, task.nextExecutionTimestamp());
+    }
+
+    /**
+     * Passes every queued task that is due to the consumer. Only called from
+     * the thread that ticks this scheduler.
+     *
+     * @param consumer The consumer of the due tasks
+     */
+    protected void pollTasks(Consumer<ScheduledTask> consumer) {
+        this.timestampQueue.poll(System.nanoTime(), consumer);
+    }
+
+    /**
+     * Gets whether tasks were submitted that haven't been queued yet.
+     *
+     * @return True if there are submitted tasks
+     */
+    protected boolean hasSubmittedTasks() {
+        return !this.submittedTasks.isEmpty();
+    }
+
+    /**
+     * Gets the timestamp in nanoseconds at which the next queued task is
+     * due, or {@link Long#MAX_VALUE} if no such task is queued.
+     *
+     * @return The next due timestamp
+     */
+    protected long nextTimestamp() {
+        return this.timestampQueue.nextTimestamp();
+    }
+
     protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
@@ -103,13 +151,17 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks that are due.
      */
     protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            ScheduledTask task;
+            while ((task = this.submittedTasks.poll()) != null) {
+                this.queueTask(task);
+            }
+            this.pollTasks(this::processTask);
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -137,40 +189,28 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes a task that is due.
      *
      * @param task The task to process
      */
     protected void processTask(ScheduledTask task) {
-        // If the task is now slated to be cancelled, we just remove it as if it
-        // no longer exists.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+        // If the task was cancelled since it was queued, we just remove it as
+        // if it no longer exists.
+        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED || !this.taskMap.containsKey(task.getUniqueId())) {
             this.removeTask(task);
             return;
         }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
-        }
-        // This moment is 'now'
-        long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
         // Repeating tasks get a reset-timestamp each time they are set RUNNING
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        startTask(task);
         // If the task has a period of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        // is removed after we start it. Otherwise it is queued for its next
+        // execution.
+        if (task.period == 0L || task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.removeTask(task);
+        } else {
+            this.queueTask(task);
         }
     }
 
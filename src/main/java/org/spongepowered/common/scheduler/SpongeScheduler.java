@@ -30,6 +30,7 @@
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.api.scheduler.Scheduler;
@@ -37,8 +38,10 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -185,8 +188,54 @@ public void tickSyncScheduler() {
         this.syncScheduler.tick();
     }
 
+    /**
+     * Submits an asynchronous task on behalf of the plugin that caused the
+     * current call, see {@link #getCallingPlugin()}.
+     *
+     * @param callable The task
+     * @param <T> The type of the result
+     * @return The future of the result
+     */
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
+        return submitAsyncTask(getCallingPlugin(), callable);
+    }
+
+    public <T> CompletableFuture<T> submitAsyncTask(PluginContainer plugin, Callable<T> callable) {
+        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor().forPlugin(plugin));
+    }
+
+    /**
+     * Gets the plugin that caused the current call, from the cause stack
+     * when called from the main thread. Sponge is used otherwise, or if no
+     * plugin is in the cause.
+     *
+     * @return The calling plugin
+     */
+    public PluginContainer getCallingPlugin() {
+        if (!SpongeImplHooks.isMainThread()) {
+            return SpongeImpl.getPlugin();
+        }
+        return Sponge.getCauseStackManager().getCurrentCause().first(PluginContainer.class).orElseGet(SpongeImpl::getPlugin);
+    }
+
+    /**
+     * Gets the amount of asynchronous tasks of each plugin that are waiting
+     * for a free slot of the plugin's concurrency limit.
+     *
+     * @return The queued task counts by plugin id
+     */
+    public Map<String, Integer> getQueuedAsyncTaskCounts() {
+        return this.asyncScheduler.getExecutor().getQueuedTaskCounts();
+    }
+
+    /**
+     * Gets the amount of asynchronous tasks of each plugin that are
+     * currently running.
+     *
+     * @return The running task counts by plugin id
+     */
+    public Map<String, Integer> getRunningAsyncTaskCounts() {
+        return this.asyncScheduler.getExecutor().getRunningTaskCounts();
     }
 
     public Future<?> callSync(Runnable runnable) {
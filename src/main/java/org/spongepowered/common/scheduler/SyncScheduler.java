@@ -28,12 +28,16 @@
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.function.Consumer;
+
 import javax.annotation.Nullable;
 
 public class SyncScheduler extends SchedulerBase {
 
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // The queue of all pending tasks that are scheduled in ticks
+    private final TickWheel tickWheel = new TickWheel();
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
@@ -65,6 +69,21 @@ protected long getTimestamp(ScheduledTask task) {
         return 0L;
     }
 
+    @Override
+    protected void queueTask(ScheduledTask task) {
+        if (task.isTickBased()) {
+            this.tickWheel.add(task, task.nextExecutionTimestamp());
+        } else {
+            super.queueTask(task);
+        }
+    }
+
+    @Override
+    protected void pollTasks(Consumer<ScheduledTask> consumer) {
+        this.tickWheel.poll(this.counter, consumer);
+        super.pollTasks(consumer);
+    }
+
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         try (BasicPluginContext context = createContext(task)) {
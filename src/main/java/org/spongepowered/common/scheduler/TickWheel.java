@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * A timing wheel of {@link ScheduledTask}s that are scheduled in ticks.
+ *
+ * <p>Tasks that are due within the span of the wheel are bucketed by the
+ * tick they are due at, so advancing a tick only touches the bucket of
+ * that tick. Tasks due further in the future are held in an overflow
+ * {@link TimestampQueue} and moved into the wheel once they come within
+ * its span.</p>
+ *
+ * <p>This wheel is not thread safe, it should only be accessed from the
+ * thread that ticks the owning scheduler.</p>
+ */
+class TickWheel {
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<ScheduledTask>[] buckets = new ArrayDeque[WHEEL_SIZE];
+    private final TimestampQueue overflow = new TimestampQueue();
+    // The next tick that will be processed, every bucketed task is due
+    // within [cursor, cursor + WHEEL_SIZE)
+    private long cursor;
+
+    TickWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Queues the task to be polled once the given tick is reached. Tasks
+     * that are already overdue will be polled on the next processed tick.
+     *
+     * @param task The task to queue
+     * @param tick The tick at which the task is due
+     */
+    void add(ScheduledTask task, long tick) {
+        if (tick - this.cursor >= WHEEL_SIZE) {
+            this.overflow.add(task, tick);
+            return;
+        }
+        task.queuedTimestamp = tick;
+        this.buckets[(int) (Math.max(tick, this.cursor) & WHEEL_MASK)].add(task);
+    }
+
+    /**
+     * Advances the wheel up to and including the given tick, passing every
+     * task that is due to the consumer.
+     *
+     * @param now The current tick
+     * @param consumer The consumer of the due tasks
+     */
+    void poll(long now, Consumer<ScheduledTask> consumer) {
+        while (this.cursor <= now) {
+            final long tick = this.cursor++;
+            // Pull in the tasks that entered the span of the wheel
+            this.overflow.poll(tick + WHEEL_SIZE - 1, task -> this.buckets[(int) (task.queuedTimestamp & WHEEL_MASK)].add(task));
+            final ArrayDeque<ScheduledTask> bucket = this.buckets[(int) (tick & WHEEL_MASK)];
+            // Tasks re-added while processing the bucket are due at a later
+            // tick, as the cursor has already moved on.
+            for (int i = bucket.size(); i > 0; i--) {
+                consumer.accept(bucket.poll());
+            }
+        }
+    }
+
+}
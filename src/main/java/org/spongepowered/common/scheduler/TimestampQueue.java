@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * A binary heap of {@link ScheduledTask}s ordered by the timestamp of their
+ * next execution. Polling only touches the tasks that are due.
+ *
+ * <p>This queue is not thread safe, it should only be accessed from the
+ * thread that ticks the owning scheduler.</p>
+ */
+class TimestampQueue {
+
+    private final PriorityQueue<ScheduledTask> queue = new PriorityQueue<>(
+            (first, second) -> Long.compare(first.queuedTimestamp, second.queuedTimestamp));
+
+    /**
+     * Queues the task to be polled once the given timestamp is reached.
+     *
+     * @param task The task to queue
+     * @param timestamp The timestamp at which the task is due
+     */
+    void add(ScheduledTask task, long timestamp) {
+        task.queuedTimestamp = timestamp;
+        this.queue.add(task);
+    }
+
+    /**
+     * Passes every task that is due at the given timestamp to the consumer,
+     * in order of their due timestamp.
+     *
+     * @param now The current timestamp
+     * @param consumer The consumer of the due tasks
+     */
+    void poll(long now, Consumer<ScheduledTask> consumer) {
+        ScheduledTask task;
+        while ((task = this.queue.peek()) != null && task.queuedTimestamp - now <= 0) {
+            consumer.accept(this.queue.poll());
+        }
+    }
+
+    /**
+     * Gets the timestamp at which the next task is due, or
+     * {@link Long#MAX_VALUE} if no task is queued.
+     *
+     * @return The next due timestamp
+     */
+    long nextTimestamp() {
+        final ScheduledTask task = this.queue.peek();
+        return task == null ? Long.MAX_VALUE : task.queuedTimestamp;
+    }
+
+    boolean isEmpty() {
+        return this.queue.isEmpty();
+    }
+
+}
@@ -24,9 +24,11 @@
  */
 package org.spongepowered.common.service.ban;
 
+import com.google.common.net.InetAddresses;
 import net.minecraft.server.management.UserListBans;
 import net.minecraft.server.management.UserListEntry;
 import net.minecraft.server.management.UserListIPBans;
+import net.minecraft.server.management.UserListIPBansEntry;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -36,14 +38,19 @@
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanTypes;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.IpPrefixTrie;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 /**
  * The default implementation of {@link BanService}.
  *
@@ -56,6 +63,9 @@
  */
 public class SpongeBanService implements BanService {
 
+    // Rebuilt whenever the entries of the ip ban list change
+    @Nullable private volatile IpBanIndex ipBanIndex;
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public Collection<Ban> getBans() {
@@ -91,8 +101,21 @@ public Optional<Ban.Profile> getBanFor(GameProfile profile) {
     public Optional<Ban.Ip> getBanFor(InetAddress address) {
         UserListIPBans bans = this.getIPBanList();
 
-        bans.removeExpired();
-        return Optional.ofNullable((Ban.Ip) bans.getValues().get(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0)))));
+        final IpBanIndex index = this.getIpBanIndex(bans);
+        String key = index.addresses.getLongestMatch(address);
+        if (key == null && !index.complete) {
+            key = bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0)));
+        }
+        final Ban.Ip ban = key == null ? null : (Ban.Ip) bans.getValues().get(key);
+        if (ban == null) {
+            return Optional.empty();
+        }
+        // Instead of removing every expired ban on each lookup, only clean up once an expired ban is found
+        if (ban.getExpirationDate().isPresent() && ban.getExpirationDate().get().isBefore(Instant.now())) {
+            bans.removeExpired();
+            return Optional.empty();
+        }
+        return Optional.of(ban);
     }
 
     @Override
@@ -105,10 +128,7 @@ public boolean isBanned(GameProfile profile) {
 
     @Override
     public boolean isBanned(InetAddress address) {
-        UserListIPBans bans = this.getIPBanList();
-
-        bans.removeExpired();
-        return bans.getValues().containsKey(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0))));
+        return this.getBanFor(address).isPresent();
     }
 
     @Override
@@ -141,6 +161,7 @@ public boolean removeBan(Ban ban) {
 
             InetSocketAddress inetSocketAddress = new InetSocketAddress(((Ban.Ip) ban).getAddress(), 0);
             UserListUtils.removeEntry(this.getIPBanList(), this.getIPBanList().addressToString(inetSocketAddress));
+            this.ipBanIndex = null;
             return true;
         }
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
@@ -163,6 +184,7 @@ public Optional<? extends Ban> addBan(Ban ban) {
             Sponge.getEventManager().post(SpongeEventFactory.createBanIpEvent(Sponge.getCauseStackManager().getCurrentCause(), (Ban.Ip) ban));
 
             UserListUtils.addEntry(this.getIPBanList(), (UserListEntry<?>) ban);
+            this.ipBanIndex = null;
         } else {
             throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
         }
@@ -187,4 +209,43 @@ private UserListIPBans getIPBanList() {
         return SpongeImpl.getServer().getPlayerList().getBannedIPs();
     }
 
+    private IpBanIndex getIpBanIndex(UserListIPBans bans) {
+        final Map<String, UserListIPBansEntry> values = bans.getValues();
+        IpBanIndex index = this.ipBanIndex;
+        // Entries may also be added or removed by vanilla, e.g. when expired bans are removed
+        if (index == null || index.values != values || index.size != values.size()) {
+            index = new IpBanIndex(values);
+            this.ipBanIndex = index;
+        }
+        return index;
+    }
+
+    private static final class IpBanIndex {
+
+        final Map<String, UserListIPBansEntry> values;
+        final int size;
+        final IpPrefixTrie<String> addresses;
+        // Whether every key could be parsed as an address
+        final boolean complete;
+
+        IpBanIndex(Map<String, UserListIPBansEntry> values) {
+            this.values = values;
+            this.size = values.size();
+            final IpPrefixTrie.Builder<String> builder = IpPrefixTrie.builder();
+            boolean complete = true;
+            for (String key : values.keySet()) {
+                final InetAddress address;
+                try {
+                    address = InetAddresses.forString(key);
+                } catch (IllegalArgumentException e) {
+                    complete = false;
+                    continue;
+                }
+                builder.put(address, address.getAddress().length * 8, key);
+            }
+            this.addresses = builder.build();
+            this.complete = complete;
+        }
+    }
+
 }
@@ -50,12 +50,15 @@
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -159,37 +162,45 @@ static User findByUsername(String username) {
 
     static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
-        final Map<UUID, org.spongepowered.api.profile.GameProfile> profiles = new HashMap<>();
-
-        // Add all cached profiles
-        userCache.asMap().values().stream().map(User::getProfile).forEach(p -> profiles.put(p.getUniqueId(), p));
+        final List<org.spongepowered.api.profile.GameProfile> profiles = new ArrayList<>();
 
-        // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
-        for (String playerUuid : uuids) {
+        // Add all known profiles of players with data files, the index takes precedence over the other sources
+        for (GameProfile profile : UserIndex.getProfiles()) {
+            profiles.add((org.spongepowered.api.profile.GameProfile) profile);
+        }
+        for (org.spongepowered.api.profile.GameProfile profile : getUnindexedProfiles().values()) {
+            profiles.add(profile);
+        }
+        return profiles;
+    }
 
-            // If the filename contains a period, we can fail fast. Vanilla code fixes the Strings that have ".dat" to strip that out
-            // before passing that back in getAvailablePlayerDat. It doesn't remove non ".dat" filenames from the list.
-            if (playerUuid.contains(".")) {
-                continue;
+    static Collection<org.spongepowered.api.profile.GameProfile> matchProfiles(String lastKnownName) {
+        Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
+        final String lowerName = lastKnownName.toLowerCase(Locale.ROOT);
+        final Set<org.spongepowered.api.profile.GameProfile> matching = new HashSet<>();
+        for (GameProfile profile : UserIndex.match(lowerName)) {
+            matching.add((org.spongepowered.api.profile.GameProfile) profile);
+        }
+        for (org.spongepowered.api.profile.GameProfile profile : getUnindexedProfiles().values()) {
+            if (profile.getName().isPresent() && profile.getName().get().toLowerCase(Locale.ROOT).startsWith(lowerName)) {
+                matching.add(profile);
             }
+        }
+        return matching;
+    }
 
-            // At this point, we have a filename who has no extension. This doesn't mean it is actually a UUID. We trap the exception and ignore
-            // any filenames that fail the UUID check.
-            UUID uuid;
-            try {
-                uuid = UUID.fromString(playerUuid);
-            } catch (Exception ex) {
-                continue;
-            }
+    /**
+     * Gets the profiles of cached, whitelisted and banned users that are not
+     * in the {@link UserIndex}.
+     */
+    private static Map<UUID, org.spongepowered.api.profile.GameProfile> getUnindexedProfiles() {
+        final Map<UUID, org.spongepowered.api.profile.GameProfile> profiles = new HashMap<>();
 
-            final GameProfile profile = profileCache.getProfileByUUID(uuid);
-            if (profile != null) {
-                profiles.put(profile.getId(), (org.spongepowered.api.profile.GameProfile) profile);
-            }
-        }
+        // Add all cached profiles
+        userCache.asMap().values().stream()
+                .map(User::getProfile)
+                .filter(p -> !UserIndex.contains(p.getUniqueId()))
+                .forEach(p -> profiles.put(p.getUniqueId(), p));
 
         // Add all whitelisted users
         // Note: as the equality check in GameProfile requires both the UUID and name to be equal, we have to filter
@@ -198,9 +209,10 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         // We assume that the cache is superior to the whitelist/banlist.
         //
         // See https://github.com/SpongePowered/SpongeCommon/issues/1989
+        final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
         addToProfiles(SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers().getValues().values(), profiles, profileCache);
         addToProfiles(SpongeImpl.getServer().getPlayerList().getBannedPlayers().getValues().values(), profiles, profileCache);
-        return profiles.values();
+        return profiles;
     }
 
     private static void addToProfiles(
@@ -209,7 +221,7 @@ private static void addToProfiles(
             final PlayerProfileCache profileCache) {
 
         gameProfiles.stream()
-                .filter(x -> !profiles.containsKey(x.value.getId()))
+                .filter(x -> !profiles.containsKey(x.value.getId()) && !UserIndex.contains(x.value.getId()))
                 .map(entry -> entry.value)
                 .forEach(x -> {
                     // Get the known name, if it doesn't exist, then we don't add it - we assume no user backing
@@ -231,6 +243,9 @@ static boolean delete(UUID uniqueId) {
             return false;
         }
         boolean success = deleteStoredPlayerData(uniqueId);
+        if (success) {
+            UserIndex.remove(uniqueId);
+        }
         success = success && deleteWhitelistEntry(uniqueId);
         success = success && deleteBanlistEntry(uniqueId);
         return success;
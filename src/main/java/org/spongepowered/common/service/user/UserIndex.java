@@ -0,0 +1,426 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraft.server.management.PlayerProfileCache;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.SaveHandler;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.world.WorldManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * A persistent index of the profiles of all players with stored data, so
+ * that {@link SpongeUserStorageService#getAll()} and
+ * {@link SpongeUserStorageService#match(String)} don't have to list the
+ * player data directory.
+ *
+ * <p>The index is loaded from its file, and reconciled with the player data
+ * directory, off the main thread. It is kept up to date as players log in
+ * and their data is saved, and written back when all player data is saved.
+ * Players found only in the directory get their name from the profile cache
+ * the first time the index is read.</p>
+ */
+public final class UserIndex {
+
+    private static final int VERSION = 1;
+    private static final String INDEX_FILE = "sponge_users.dat";
+    private static final String VERSION_TAG = "Version";
+    private static final String UNIQUE_IDS_TAG = "UniqueIds";
+    private static final String NAMES_TAG = "Names";
+    // Sorts right after any name starting with the searched prefix, names only use [a-z0-9_]
+    private static final char PREFIX_END = '\uffff';
+    private static final char NAME_SEPARATOR = '\u0000';
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - User Index Thread").setDaemon(true).build());
+
+    private static final Map<UUID, GameProfile> profiles = new ConcurrentHashMap<>();
+    // Keyed by the lower case name of a profile followed by its unique id, there may be multiple players with a name
+    private static final NavigableMap<String, GameProfile> profilesByName = new ConcurrentSkipListMap<>();
+    private static final Queue<UUID> unnamed = new ConcurrentLinkedQueue<>();
+    // Players that logged in or were saved while the directory was scanned, they are kept even if they have no file yet
+    private static final Set<UUID> updatedDuringScan = ConcurrentHashMap.newKeySet();
+
+    // The index belongs to the saves directory it was loaded from, an integrated server may switch worlds
+    @Nullable private static CompletableFuture<Void> loaded;
+    @Nullable private static Path savesDirectory;
+    @Nullable private static Path indexFile;
+    private static volatile boolean scanning;
+    private static volatile boolean dirty;
+
+    private UserIndex() {
+    }
+
+    /**
+     * Gets the indexed profiles that have a known name, waiting for the
+     * index to be loaded the first time.
+     *
+     * @return The indexed profiles
+     */
+    static List<GameProfile> getProfiles() {
+        awaitLoaded();
+        final List<GameProfile> named = new ArrayList<>(profiles.size());
+        for (GameProfile profile : profiles.values()) {
+            if (profile.getName() != null) {
+                named.add(profile);
+            }
+        }
+        return named;
+    }
+
+    /**
+     * Gets the indexed profiles whose name starts with the given prefix,
+     * ignoring case.
+     *
+     * @param prefix The prefix of the names
+     * @return The matching profiles
+     */
+    static Collection<GameProfile> match(String prefix) {
+        awaitLoaded();
+        final String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        return profilesByName.subMap(lowerPrefix, true, lowerPrefix + PREFIX_END, false).values();
+    }
+
+    /**
+     * Gets whether a profile with a known name is indexed for the player.
+     *
+     * @param uniqueId The unique id of the player
+     * @return Whether a named profile is indexed
+     */
+    static boolean contains(UUID uniqueId) {
+        final GameProfile profile = profiles.get(uniqueId);
+        return profile != null && profile.getName() != null;
+    }
+
+    /**
+     * Records the profile of a player that logged in or whose data was
+     * saved.
+     *
+     * @param profile The profile of the player
+     */
+    public static void update(GameProfile profile) {
+        // Started first, as starting discards the index of another saves directory
+        start();
+        if (scanning) {
+            updatedDuringScan.add(profile.getId());
+        }
+        if (put(profile, true)) {
+            dirty = true;
+        }
+    }
+
+    static void remove(UUID uniqueId) {
+        remove(uniqueId, null);
+    }
+
+    private static synchronized void remove(UUID uniqueId, @Nullable CompletableFuture<Void> load) {
+        if (load != null && load != loaded) {
+            return;
+        }
+        final GameProfile removed = profiles.remove(uniqueId);
+        if (removed != null) {
+            if (removed.getName() != null) {
+                profilesByName.remove(nameKey(removed));
+            }
+            dirty = true;
+        }
+    }
+
+    /**
+     * Writes the index to its file off the main thread, if it changed since
+     * it was last written.
+     */
+    public static void save() {
+        final CompletableFuture<Void> loaded = UserIndex.loaded;
+        if (!dirty || loaded == null || !loaded.isDone()) {
+            return;
+        }
+        dirty = false;
+        final Path file = indexFile;
+        final List<GameProfile> snapshot = new ArrayList<>(profiles.values());
+        EXECUTOR.execute(() -> write(file, snapshot));
+    }
+
+    private static void awaitLoaded() {
+        final CompletableFuture<Void> loaded = start();
+        checkState(loaded != null, "The overworld has not been loaded yet!");
+        loaded.join();
+        resolveNames();
+    }
+
+    /**
+     * Starts loading the index if the overworld is available and it wasn't
+     * started already for the current saves directory.
+     */
+    @Nullable
+    private static synchronized CompletableFuture<Void> start() {
+        final Optional<Path> savesDirectory = WorldManager.getCurrentSavesDirectory();
+        if (loaded != null) {
+            if (savesDirectory.isPresent() && savesDirectory.get().equals(UserIndex.savesDirectory)) {
+                return loaded;
+            }
+            // The server now runs another world, or none at all
+            reset();
+        }
+        final Optional<WorldServer> overworld = WorldManager.getWorldByDimensionId(0);
+        if (!overworld.isPresent() || !savesDirectory.isPresent()) {
+            return null;
+        }
+        final Path playersDirectory = ((SaveHandler) overworld.get().getSaveHandler()).playersDirectory.toPath();
+        final Path indexFile = savesDirectory.get().resolve("data").resolve(INDEX_FILE);
+        final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        UserIndex.savesDirectory = savesDirectory.get();
+        UserIndex.indexFile = indexFile;
+        UserIndex.loaded = loaded;
+        // Set before the index file is read, players that log in while it is read are missing from both the file and the directory
+        scanning = true;
+        EXECUTOR.execute(() -> {
+            try {
+                // An existing index is usable right away, the first scan of the directory has to be waited for
+                if (read(indexFile, loaded)) {
+                    loaded.complete(null);
+                }
+                scan(playersDirectory, loaded);
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Failed to load the user index", e);
+            } finally {
+                finishScan(loaded);
+                loaded.complete(null);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Forgets the index of the previous saves directory. A load of it that
+     * is still in progress can't add to the index anymore.
+     */
+    private static synchronized void reset() {
+        loaded = null;
+        savesDirectory = null;
+        indexFile = null;
+        dirty = false;
+        profiles.clear();
+        profilesByName.clear();
+        unnamed.clear();
+        updatedDuringScan.clear();
+    }
+
+    private static boolean read(Path file, CompletableFuture<Void> load) {
+        if (!Files.isReadable(file)) {
+            return false;
+        }
+        final NBTTagCompound compound;
+        try (InputStream stream = Files.newInputStream(file)) {
+            compound = CompressedStreamTools.readCompressed(stream);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not read the user index {}, it will be rebuilt", file, e);
+            return false;
+        }
+        if (compound.getInteger(VERSION_TAG) != VERSION) {
+            return false;
+        }
+        final int[] uniqueIds = compound.getIntArray(UNIQUE_IDS_TAG);
+        final NBTTagList names = compound.getTagList(NAMES_TAG, NbtDataUtil.TAG_STRING);
+        for (int i = 0; i < names.tagCount() && i * 4 + 3 < uniqueIds.length; i++) {
+            final UUID uniqueId = new UUID((long) uniqueIds[i * 4] << 32 | uniqueIds[i * 4 + 1] & 0xffffffffL,
+                    (long) uniqueIds[i * 4 + 2] << 32 | uniqueIds[i * 4 + 3] & 0xffffffffL);
+            final String name = names.getStringTagAt(i);
+            // Profiles updated since the server started are newer than the file
+            put(new GameProfile(uniqueId, name.isEmpty() ? null : name), false, load);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the players with a data file that are missing from the index and
+     * removes the players whose data file is gone.
+     */
+    private static void scan(Path playersDirectory, CompletableFuture<Void> load) {
+        final Set<UUID> found = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(playersDirectory, "*.dat")) {
+            for (Path file : stream) {
+                final String fileName = file.getFileName().toString();
+                final UUID uniqueId;
+                try {
+                    uniqueId = UUID.fromString(fileName.substring(0, fileName.length() - ".dat".length()));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                found.add(uniqueId);
+                if (put(new GameProfile(uniqueId, null), false, load)) {
+                    unnamed.add(uniqueId);
+                    dirty = true;
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            SpongeImpl.getLogger().error("Could not list the player data in {}", playersDirectory, e);
+            return;
+        }
+        for (UUID uniqueId : profiles.keySet()) {
+            if (!found.contains(uniqueId) && !updatedDuringScan.contains(uniqueId)) {
+                remove(uniqueId, load);
+            }
+        }
+    }
+
+    private static synchronized void finishScan(CompletableFuture<Void> load) {
+        // A load that was reset doesn't end the scan of the current one
+        if (load == loaded) {
+            scanning = false;
+            updatedDuringScan.clear();
+        }
+    }
+
+    /**
+     * Looks up the names of players found in the directory in the profile
+     * cache, the cache isn't safe to use from the index thread.
+     */
+    private static void resolveNames() {
+        if (unnamed.isEmpty()) {
+            return;
+        }
+        final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+        UUID uniqueId;
+        while ((uniqueId = unnamed.poll()) != null) {
+            final GameProfile current = profiles.get(uniqueId);
+            if (current == null || current.getName() != null) {
+                continue;
+            }
+            final GameProfile cached = profileCache.getProfileByUUID(uniqueId);
+            if (cached != null && cached.getName() != null) {
+                put(cached, true);
+                dirty = true;
+            }
+        }
+    }
+
+    private static boolean put(GameProfile profile, boolean replace) {
+        return put(profile, replace, null);
+    }
+
+    /**
+     * Adds or replaces the indexed profile of a player.
+     *
+     * @param load The load adding the profile, if any, profiles of a load
+     *     that was reset are ignored
+     * @return Whether the index changed
+     */
+    private static synchronized boolean put(GameProfile profile, boolean replace, @Nullable CompletableFuture<Void> load) {
+        if (load != null && load != loaded) {
+            return false;
+        }
+        final GameProfile previous = profiles.get(profile.getId());
+        if (previous != null) {
+            if (!replace || previous.equals(profile) && previous.getProperties().equals(profile.getProperties())) {
+                return false;
+            }
+            if (previous.getName() != null) {
+                profilesByName.remove(nameKey(previous));
+            }
+        }
+        profiles.put(profile.getId(), profile);
+        if (profile.getName() != null) {
+            profilesByName.put(nameKey(profile), profile);
+        }
+        return true;
+    }
+
+    private static String nameKey(GameProfile profile) {
+        return profile.getName().toLowerCase(Locale.ROOT) + NAME_SEPARATOR + profile.getId();
+    }
+
+    private static void write(@Nullable Path file, List<GameProfile> snapshot) {
+        if (file == null) {
+            return;
+        }
+        final int[] uniqueIds = new int[snapshot.size() * 4];
+        final NBTTagList names = new NBTTagList();
+        for (int i = 0; i < snapshot.size(); i++) {
+            final GameProfile profile = snapshot.get(i);
+            final long most = profile.getId().getMostSignificantBits();
+            final long least = profile.getId().getLeastSignificantBits();
+            uniqueIds[i * 4] = (int) (most >> 32);
+            uniqueIds[i * 4 + 1] = (int) most;
+            uniqueIds[i * 4 + 2] = (int) (least >> 32);
+            uniqueIds[i * 4 + 3] = (int) least;
+            names.appendTag(new NBTTagString(profile.getName() == null ? "" : profile.getName()));
+        }
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger(VERSION_TAG, VERSION);
+        compound.setIntArray(UNIQUE_IDS_TAG, uniqueIds);
+        compound.setTag(NAMES_TAG, names);
+        final Path tempFile = file.resolveSibling(INDEX_FILE + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                CompressedStreamTools.writeCompressed(compound, stream);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save the user index to {}", file, e);
+            if (file.equals(indexFile)) {
+                dirty = true;
+            }
+        }
+    }
+}
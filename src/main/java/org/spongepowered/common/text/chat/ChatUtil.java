@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.text.chat;
 
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.util.text.ITextComponent;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
@@ -34,15 +36,30 @@
 import org.spongepowered.api.event.message.MessageEvent;
 import org.spongepowered.api.event.message.MessageEvent.MessageFormatter;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.channel.ChatTypeMessageReceiver;
 import org.spongepowered.api.text.channel.MessageChannel;
+import org.spongepowered.api.text.channel.MessageReceiver;
+import org.spongepowered.api.text.chat.ChatType;
 import org.spongepowered.api.text.chat.ChatTypes;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketChat;
 import org.spongepowered.common.text.SpongeTexts;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
 
 public final class ChatUtil {
 
+    private static final Map<Class<?>, Boolean> DEFAULT_SEND = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Boolean> DEFAULT_SYSTEM_SEND = new ConcurrentHashMap<>();
+
     private ChatUtil() {
     }
 
@@ -58,7 +75,91 @@ public static void sendMessage(ITextComponent component, MessageChannel channel,
             event = SpongeEventFactory.createMessageChannelEvent(cause, channel, Optional.of(channel), formatter, false);
         }
         if (!SpongeImpl.postEvent(event) && !event.isMessageCancelled() && event.getChannel().isPresent()) {
-            event.getChannel().get().send(source, event.getMessage(), isChat ? ChatTypes.CHAT : ChatTypes.SYSTEM);
+            broadcast(event.getChannel().get(), source, event.getMessage(), isChat ? ChatTypes.CHAT : ChatTypes.SYSTEM);
+        }
+    }
+
+    public static SPacketChat createChatPacket(Text message, ChatType type) {
+        ITextComponent component = SpongeTexts.toComponent(message);
+        if (type == ChatTypes.ACTION_BAR) {
+            component = SpongeTexts.fixActionBarFormatting(component);
+        }
+        return new SPacketChat(component, (net.minecraft.util.text.ChatType) (Object) type);
+    }
+
+    /**
+     * Sends a system message to all members of the channel, like
+     * {@link MessageChannel#send(Object, Text)}.
+     *
+     * @param channel The channel
+     * @param sender The sender of the message
+     * @param original The message
+     * @see #broadcast(MessageChannel, Object, Text, ChatType)
+     */
+    public static void broadcast(MessageChannel channel, @Nullable Object sender, Text original) {
+        if (!DEFAULT_SYSTEM_SEND.computeIfAbsent(channel.getClass(), ChatUtil::usesDefaultSystemSend)) {
+            channel.send(sender, original);
+            return;
+        }
+        broadcast(channel, sender, original, ChatTypes.SYSTEM);
+    }
+
+    /**
+     * Sends a message to all members of the channel, like
+     * {@link MessageChannel#send(Object, Text, ChatType)}.
+     *
+     * <p>Players that receive the same message share a single packet which
+     * is only serialized once, instead of once per player.</p>
+     *
+     * @param channel The channel
+     * @param sender The sender of the message
+     * @param original The message
+     * @param type The type of the message
+     */
+    public static void broadcast(MessageChannel channel, @Nullable Object sender, Text original, ChatType type) {
+        if (!DEFAULT_SEND.computeIfAbsent(channel.getClass(), ChatUtil::usesDefaultSend)) {
+            channel.send(sender, original, type);
+            return;
+        }
+        final Map<Text, List<EntityPlayerMP>> players = new LinkedHashMap<>();
+        for (MessageReceiver member : channel.getMembers()) {
+            final Optional<Text> message = channel.transformMessage(sender, member, original, type);
+            if (!message.isPresent()) {
+                continue;
+            }
+            if (member instanceof EntityPlayerMP && !SpongeImplHooks.isFakePlayer((EntityPlayerMP) member)) {
+                players.computeIfAbsent(message.get(), text -> new ArrayList<>()).add((EntityPlayerMP) member);
+            } else if (member instanceof ChatTypeMessageReceiver) {
+                ((ChatTypeMessageReceiver) member).sendMessage(type, message.get());
+            } else {
+                member.sendMessage(message.get());
+            }
+        }
+        for (Map.Entry<Text, List<EntityPlayerMP>> entry : players.entrySet()) {
+            final SPacketChat packet = createChatPacket(entry.getKey(), type);
+            if (entry.getValue().size() > 1) {
+                ((IMixinSPacketChat) packet).encodePayload();
+            }
+            for (EntityPlayerMP player : entry.getValue()) {
+                player.connection.sendPacket(packet);
+            }
+        }
+    }
+
+    private static boolean usesDefaultSend(Class<?> channelClass) {
+        // Channels that override send may do more than sending the transformed message to every member
+        return declaresDefaultSend(channelClass, Object.class, Text.class, ChatType.class);
+    }
+
+    private static boolean usesDefaultSystemSend(Class<?> channelClass) {
+        return declaresDefaultSend(channelClass, Object.class, Text.class);
+    }
+
+    private static boolean declaresDefaultSend(Class<?> channelClass, Class<?>... parameterTypes) {
+        try {
+            return channelClass.getMethod("send", parameterTypes).getDeclaringClass() == MessageChannel.class;
+        } catch (NoSuchMethodException e) {
+            return false;
         }
     }
 
@@ -31,6 +31,11 @@
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
@@ -59,6 +64,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -66,10 +72,13 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
  */
@@ -116,6 +125,10 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
     private final boolean alwaysUsePosition;
+    // The box that location based arguments limit the selected entities to, infinite on unconstrained axes
+    private Vector3d boundsMin = Vector3d.from(Double.NEGATIVE_INFINITY);
+    private Vector3d boundsMax = Vector3d.from(Double.POSITIVE_INFINITY);
+    @Nullable private Class<? extends net.minecraft.entity.Entity> candidateClass;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
         this(extents, null, null, selector, force);
@@ -163,6 +176,7 @@ private Predicate<Entity> makeFilter() {
         if (isPlayerOnlySelector) {
             // insert at the start so it applies first
             filters.add(0, requireTypePredicate(Entity.class, Player.class));
+            this.candidateClass = EntityPlayer.class;
         }
         return Functional.predicateAnd(filters);
     }
@@ -174,6 +188,14 @@ private void addDimensionFilters(final Vector3d position, List<Predicate<Entity>
         Vector3d det2 = position.add(boxDimensions);
         final Vector3d boxMin = det1.min(det2);
         final Vector3d boxMax = det1.max(det2);
+        this.boundsMin = this.boundsMin.max(
+                sel.has(ArgumentTypes.DIMENSION.x()) ? boxMin.getX() : Double.NEGATIVE_INFINITY,
+                sel.has(ArgumentTypes.DIMENSION.y()) ? boxMin.getY() : Double.NEGATIVE_INFINITY,
+                sel.has(ArgumentTypes.DIMENSION.z()) ? boxMin.getZ() : Double.NEGATIVE_INFINITY);
+        this.boundsMax = this.boundsMax.min(
+                sel.has(ArgumentTypes.DIMENSION.x()) ? boxMax.getX() : Double.POSITIVE_INFINITY,
+                sel.has(ArgumentTypes.DIMENSION.y()) ? boxMax.getY() : Double.POSITIVE_INFINITY,
+                sel.has(ArgumentTypes.DIMENSION.z()) ? boxMax.getZ() : Double.POSITIVE_INFINITY);
         if (sel.has(ArgumentTypes.DIMENSION.x())) {
             filters.add(input -> {
                 Vector3d pos = input.getLocation().getPosition();
@@ -253,6 +275,8 @@ private void addRadiusFilters(final Vector3d position, List<Predicate<Entity>> f
             int radMax = radiusMax.get();
             final int radMaxSquared = radMax * radMax;
             filters.add(input -> input.getLocation().getPosition().distanceSquared(position) <= radMaxSquared);
+            this.boundsMin = this.boundsMin.max(position.sub(radMax, radMax, radMax));
+            this.boundsMax = this.boundsMax.min(position.add(radMax, radMax, radMax));
         }
     }
 
@@ -325,6 +349,9 @@ private void addTypeFilters(List<Predicate<Entity>> filters) {
             final boolean inverted = typeArg.isInverted();
             final EntityType type = typeArg.getValue();
             filters.add(input -> inverted ^ input.getType() == type);
+            if (!inverted && net.minecraft.entity.Entity.class.isAssignableFrom(type.getEntityClass())) {
+                this.candidateClass = type.getEntityClass().asSubclass(net.minecraft.entity.Entity.class);
+            }
         }
     }
 
@@ -345,32 +372,140 @@ public Set<Entity> resolve() {
         if (INFINITE_TYPES.contains(selectorType)) {
             defaultCount = 0;
         }
-        int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
+        final int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
         Set<? extends Extent> extents = getExtentSet();
-        int count = 0;
-        ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
+        if (selectorType == SelectorTypes.RANDOM && maxToSelect != 0) {
+            return ImmutableSet.copyOf(this.sample(extents, Math.abs(maxToSelect)));
+        }
+        final ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
+        final int[] count = {0};
         for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
-            }
-
-            for (Entity e : allEntities) {
+            final boolean completed = this.forEachCandidate(extent, e -> {
                 if (!this.selectorFilter.test(e)) {
-                    continue;
+                    return true;
                 }
                 entities.add(e);
-                count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
-                }
+                return maxToSelect == 0 || ++count[0] < maxToSelect;
+            });
+            if (!completed) {
+                break;
             }
         }
         return entities.build();
     }
 
+    /**
+     * Selects random matching entities without copying or shuffling all the
+     * entities of the extents, by reservoir sampling.
+     */
+    private List<Entity> sample(Set<? extends Extent> extents, int maxToSelect) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<Entity> selected = new ArrayList<>(Math.min(maxToSelect, 64));
+        final int[] seen = {0};
+        for (Extent extent : extents) {
+            this.forEachCandidate(extent, e -> {
+                if (this.selectorFilter.test(e)) {
+                    final int index = seen[0]++;
+                    if (selected.size() < maxToSelect) {
+                        selected.add(e);
+                    } else {
+                        final int replaced = random.nextInt(index + 1);
+                        if (replaced < maxToSelect) {
+                            selected.set(replaced, e);
+                        }
+                    }
+                }
+                return true;
+            });
+        }
+        Collections.shuffle(selected, random);
+        return selected;
+    }
+
+    /**
+     * Passes the entities of the extent that may match the selector to the
+     * visitor, until the visitor returns false. Only the chunk sections that
+     * intersect the bounds of the selector are visited, and only the
+     * entities of the candidate class if the selector requires one.
+     *
+     * @return False if the visitor stopped early
+     */
+    private boolean forEachCandidate(Extent extent, Predicate<Entity> visitor) {
+        if (!(extent instanceof WorldServer)) {
+            for (Entity entity : extent.getEntities()) {
+                if (!visitor.test(entity)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        final WorldServer world = (WorldServer) extent;
+        if (Double.isInfinite(this.boundsMin.getX()) || Double.isInfinite(this.boundsMax.getX())
+                || Double.isInfinite(this.boundsMin.getZ()) || Double.isInfinite(this.boundsMax.getZ())) {
+            final List<? extends net.minecraft.entity.Entity> entities =
+                    this.candidateClass != null && EntityPlayer.class.isAssignableFrom(this.candidateClass) ? world.playerEntities : world.loadedEntityList;
+            for (net.minecraft.entity.Entity entity : entities) {
+                if ((this.candidateClass == null || this.candidateClass.isInstance(entity)) && !visitor.test((Entity) entity)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (this.boundsMin.getX() > this.boundsMax.getX() || this.boundsMin.getY() > this.boundsMax.getY()
+                || this.boundsMin.getZ() > this.boundsMax.getZ()) {
+            return true;
+        }
+        // Widened like the entity lookups of the world, an entity may still be stored in the section it
+        // was in before it last moved. The filters of the selector still check the exact positions.
+        final double radius = net.minecraft.world.World.MAX_ENTITY_RADIUS;
+        final int minChunkX = MathHelper.floor(this.boundsMin.getX() - radius) >> 4;
+        final int maxChunkX = MathHelper.floor(this.boundsMax.getX() + radius) >> 4;
+        final int minChunkZ = MathHelper.floor(this.boundsMin.getZ() - radius) >> 4;
+        final int maxChunkZ = MathHelper.floor(this.boundsMax.getZ() + radius) >> 4;
+        final int minSection = MathHelper.clamp(MathHelper.floor(Math.max(this.boundsMin.getY() - radius, -16)) >> 4, 0, 15);
+        final int maxSection = MathHelper.clamp(MathHelper.floor(Math.min(this.boundsMax.getY() + radius, 512)) >> 4, 0, 15);
+        final long chunksInBounds = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        final Collection<Chunk> loadedChunks = world.getChunkProvider().getLoadedChunks();
+        if (chunksInBounds > loadedChunks.size()) {
+            // Cheaper to go over the loaded chunks than over every position in huge bounds
+            for (Chunk chunk : loadedChunks) {
+                if (chunk.x >= minChunkX && chunk.x <= maxChunkX && chunk.z >= minChunkZ && chunk.z <= maxChunkZ
+                        && !this.forEachCandidate(chunk, minSection, maxSection, visitor)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(x, z);
+                if (chunk != null && !this.forEachCandidate(chunk, minSection, maxSection, visitor)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean forEachCandidate(Chunk chunk, int minSection, int maxSection, Predicate<Entity> visitor) {
+        final ClassInheritanceMultiMap<net.minecraft.entity.Entity>[] entityLists = chunk.getEntityLists();
+        for (int section = minSection; section <= maxSection && section < entityLists.length; section++) {
+            final ClassInheritanceMultiMap<net.minecraft.entity.Entity> entities = entityLists[section];
+            if (entities.isEmpty()) {
+                continue;
+            }
+            final Iterable<? extends net.minecraft.entity.Entity> candidates = this.candidateClass == null ? entities
+                    : entities.getByClass(this.candidateClass);
+            for (net.minecraft.entity.Entity entity : candidates) {
+                if (!visitor.test((Entity) entity)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private Set<? extends Extent> getExtentSet() {
         if (!this.alwaysUsePosition && Collections.disjoint(getArgumentTypes(this.selector.getArguments()), LOCATION_BASED_ARGUMENTS)) {
             return ImmutableSet.copyOf(SpongeImpl.getGame().getServer().getWorlds());
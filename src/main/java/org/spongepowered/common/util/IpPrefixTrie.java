@@ -0,0 +1,183 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable binary trie of IPv4 and IPv6 address prefixes, mapping each
+ * prefix to any amount of values.
+ *
+ * <p>Looking up an address walks at most one node per bit of the address,
+ * regardless of the amount of prefixes in the trie.</p>
+ *
+ * @param <V> The type of the values
+ */
+public final class IpPrefixTrie<V> {
+
+    private static final IpPrefixTrie<?> EMPTY = new IpPrefixTrie<>(new Node<>(), new Node<>(), 0);
+
+    @SuppressWarnings("unchecked")
+    public static <V> IpPrefixTrie<V> empty() {
+        return (IpPrefixTrie<V>) EMPTY;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    private final Node<V> ipv4Root;
+    private final Node<V> ipv6Root;
+    private final int size;
+
+    private IpPrefixTrie(Node<V> ipv4Root, Node<V> ipv6Root, int size) {
+        this.ipv4Root = ipv4Root;
+        this.ipv6Root = ipv6Root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the amount of prefixes in this trie.
+     *
+     * @return The amount of prefixes
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Passes the values of every prefix that contains the given address to the
+     * consumer, starting with the shortest prefix.
+     *
+     * @param address The address
+     * @param consumer The consumer of the values
+     */
+    public void forEachMatch(InetAddress address, Consumer<? super V> consumer) {
+        final byte[] bytes = address.getAddress();
+        Node<V> node = bytes.length == 4 ? this.ipv4Root : this.ipv6Root;
+        for (int bit = 0; node != null; bit++) {
+            for (V value : node.values) {
+                consumer.accept(value);
+            }
+            if (bit == bytes.length * 8) {
+                break;
+            }
+            node = node.children[bitAt(bytes, bit)];
+        }
+    }
+
+    /**
+     * Gets the first value of the longest prefix that contains the given
+     * address.
+     *
+     * @param address The address
+     * @return The value, or null if no prefix contains the address
+     */
+    @Nullable
+    public V getLongestMatch(InetAddress address) {
+        final byte[] bytes = address.getAddress();
+        Node<V> node = bytes.length == 4 ? this.ipv4Root : this.ipv6Root;
+        V match = null;
+        for (int bit = 0; node != null; bit++) {
+            if (!node.values.isEmpty()) {
+                match = node.values.get(0);
+            }
+            if (bit == bytes.length * 8) {
+                break;
+            }
+            node = node.children[bitAt(bytes, bit)];
+        }
+        return match;
+    }
+
+    private static int bitAt(byte[] bytes, int bit) {
+        return (bytes[bit >> 3] >> (7 - (bit & 7))) & 1;
+    }
+
+    private static final class Node<V> {
+
+        @SuppressWarnings("unchecked")
+        final Node<V>[] children = new Node[2];
+        final List<V> values = new ArrayList<>(0);
+    }
+
+    public static final class Builder<V> {
+
+        private Node<V> ipv4Root = new Node<>();
+        private Node<V> ipv6Root = new Node<>();
+        private int size;
+
+        Builder() {
+        }
+
+        /**
+         * Adds a value for the given prefix.
+         *
+         * @param address The address of the prefix
+         * @param prefixLength The amount of leading bits of the address that
+         *     belong to the prefix
+         * @param value The value
+         * @return This builder, for chaining
+         */
+        public Builder<V> put(InetAddress address, int prefixLength, V value) {
+            checkNotNull(address, "address");
+            checkNotNull(value, "value");
+            final byte[] bytes = address.getAddress();
+            checkArgument(prefixLength >= 0 && prefixLength <= bytes.length * 8, "Invalid prefix length %s for %s", prefixLength, address);
+            Node<V> node = bytes.length == 4 ? this.ipv4Root : this.ipv6Root;
+            for (int bit = 0; bit < prefixLength; bit++) {
+                final int index = bitAt(bytes, bit);
+                if (node.children[index] == null) {
+                    node.children[index] = new Node<>();
+                }
+                node = node.children[index];
+            }
+            node.values.add(value);
+            this.size++;
+            return this;
+        }
+
+        public IpPrefixTrie<V> build() {
+            final IpPrefixTrie<V> trie = new IpPrefixTrie<>(this.ipv4Root, this.ipv6Root, this.size);
+            // The built trie owns the nodes now
+            this.ipv4Root = new Node<>();
+            this.ipv6Root = new Node<>();
+            this.size = 0;
+            return trie;
+        }
+    }
+}
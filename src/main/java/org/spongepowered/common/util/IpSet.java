@@ -62,7 +62,7 @@ public boolean apply(InetAddress input) {
             }
         }
         for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+            if (((checkAddr[completeSegments] >> (7 - i)) & 0x1) != ((address[completeSegments] >> (7 - i)) & 0x1)) {
                 return false;
             }
         }
@@ -70,6 +70,17 @@ public boolean apply(InetAddress input) {
         return true;
     }
 
+    /**
+     * Adds the given value for the range of this set to a trie.
+     *
+     * @param builder The trie builder
+     * @param value The value
+     * @param <V> The type of the value
+     */
+    public <V> void addTo(IpPrefixTrie.Builder<V> builder, V value) {
+        builder.put(this.addr, this.prefixLen, value);
+    }
+
     public static IpSet fromAddrPrefix(InetAddress address, int prefixLen) {
         validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
         return new IpSet(address, prefixLen);
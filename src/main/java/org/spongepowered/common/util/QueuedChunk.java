@@ -27,12 +27,29 @@
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.ChunkPos;
 
+import javax.annotation.Nullable;
+
 public class QueuedChunk {
     public ChunkPos coords;
-    public NBTTagCompound compound;
+    // The compound to write, taken from the pending chunks when the batch is built
+    @Nullable public NBTTagCompound compound;
+    public long queuedTime;
+    public int attempts;
+
+    // Set once the compound is compressed
+    @Nullable public byte[] data;
+    public int length;
+    @Nullable public Exception error;
 
-    public QueuedChunk(ChunkPos coords, NBTTagCompound compound) {
+    public QueuedChunk(ChunkPos coords) {
         this.coords = coords;
-        this.compound = compound;
+        this.queuedTime = System.nanoTime();
+    }
+
+    public void clearData() {
+        this.compound = null;
+        this.data = null;
+        this.length = 0;
+        this.error = null;
     }
 }
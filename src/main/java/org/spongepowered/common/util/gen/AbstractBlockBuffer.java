@@ -27,15 +27,17 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.MoreObjects;
 import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.util.PositionOutOfBoundsException;
 import org.spongepowered.api.world.extent.BlockVolume;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.extent.worker.BlockSectionSource;
 
 /**
  * Base class for block buffers.
  */
-public abstract class AbstractBlockBuffer implements BlockVolume {
+public abstract class AbstractBlockBuffer implements BlockVolume, BlockSectionSource {
 
     protected final Vector3i start;
     protected final Vector3i size;
@@ -89,6 +91,17 @@ public BlockType getBlockType(int x, int y, int z) {
         return getBlock(x, y, z).getType();
     }
 
+    @Override
+    public void copySection(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, BlockState[] states) {
+        for (int y = yMin; y <= yMax; y++) {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    states[(y - yMin) << 8 | (z - zMin) << 4 | (x - xMin)] = getBlock(x, y, z);
+                }
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -80,6 +80,11 @@ public BlockState getBlock(int x, int y, int z) {
         return this.palette.get(this.data.get(getIndex(x, y, z))).orElse(AIR);
     }
 
+    @Override
+    public void copySection(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, BlockState[] states) {
+        ArrayMutableBlockBuffer.copySection(this, this.palette, this.data, xMin, yMin, zMin, xMax, yMax, zMax, states);
+    }
+
     @Override
     public ImmutableBlockVolume getBlockView(Vector3i newMin, Vector3i newMax) {
         checkRange(newMin.getX(), newMin.getY(), newMin.getZ());
@@ -84,6 +84,18 @@ public ArrayMutableBlockBuffer(BlockPalette palette, Vector3i start, Vector3i si
         this.data = new CharBackingData(blocks);
     }
 
+    /**
+     * Does not clone!
+     *
+     * @param palette The palette
+     * @param blocks The sectioned backing data
+     * @param start The start block position
+     * @param size The block size
+     */
+    public ArrayMutableBlockBuffer(BlockPalette palette, SectionedBackingData blocks, Vector3i start, Vector3i size) {
+        this(palette, (BackingData) blocks, start, size);
+    }
+
     /**
      * Does not clone!
      * 
@@ -142,6 +154,37 @@ public BlockState getBlock(int x, int y, int z) {
         return this.palette.get(this.data.get(getIndex(x, y, z))).orElse(AIR);
     }
 
+    @Override
+    public void copySection(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, BlockState[] states) {
+        copySection(this, this.palette, this.data, xMin, yMin, zMin, xMax, yMax, zMax, states);
+    }
+
+    /**
+     * Copies a section of a buffer by walking its backing data in storage
+     * order, only looking up ids in the palette when they change.
+     */
+    static void copySection(AbstractBlockBuffer buffer, BlockPalette palette, BackingData data, int xMin, int yMin, int zMin,
+            int xMax, int yMax, int zMax, BlockState[] states) {
+        buffer.checkRange(xMin, yMin, zMin);
+        buffer.checkRange(xMax, yMax, zMax);
+        int lastId = -1;
+        BlockState lastState = AIR;
+        for (int x = xMin; x <= xMax; x++) {
+            for (int z = zMin; z <= zMax; z++) {
+                final int offset = (z - zMin) << 4 | (x - xMin);
+                int index = buffer.getIndex(x, yMin, z);
+                for (int y = yMin; y <= yMax; y++, index++) {
+                    final int id = data.get(index);
+                    if (id != lastId) {
+                        lastId = id;
+                        lastState = palette.get(id).orElse(AIR);
+                    }
+                    states[(y - yMin) << 8 | offset] = lastState;
+                }
+            }
+        }
+    }
+
     @Override
     public MutableBlockVolume getBlockView(Vector3i newMin, Vector3i newMax) {
         checkRange(newMin.getX(), newMin.getY(), newMin.getZ());
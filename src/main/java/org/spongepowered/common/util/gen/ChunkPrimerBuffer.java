@@ -75,6 +75,19 @@ public BlockState getBlock(int x, int y, int z) {
         return (BlockState) this.chunkPrimer.getBlockState(x & 0xf, y, z & 0xf);
     }
 
+    @Override
+    public void copySection(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, BlockState[] states) {
+        checkRange(xMin, yMin, zMin);
+        checkRange(xMax, yMax, zMax);
+        for (int y = yMin; y <= yMax; y++) {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    states[(y - yMin) << 8 | (z - zMin) << 4 | (x - xMin)] = (BlockState) this.chunkPrimer.getBlockState(x & 0xf, y, z & 0xf);
+                }
+            }
+        }
+    }
+
     @Override
     public boolean setBlock(int x, int y, int z, BlockState block) {
         checkRange(x, y, z);
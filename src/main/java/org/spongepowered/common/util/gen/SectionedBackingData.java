@@ -0,0 +1,188 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+/**
+ * Backing data that splits its indices into fixed size sections, each with
+ * its own small palette of ids. Sections that only ever hold a single id
+ * don't allocate any storage, and the rest only use as many bits per entry
+ * as their local palette needs.
+ */
+public final class SectionedBackingData implements ArrayMutableBlockBuffer.BackingData {
+
+    private static final int SECTION_BITS = 12;
+    private static final int SECTION_SIZE = 1 << SECTION_BITS;
+    private static final int SECTION_MASK = SECTION_SIZE - 1;
+
+    private final int size;
+    private final int defaultId;
+    private final Section[] sections;
+
+    /**
+     * Creates new backing data where every index holds the default id.
+     *
+     * @param size The number of elements
+     * @param defaultId The id of elements that were never set
+     */
+    public SectionedBackingData(int size, int defaultId) {
+        this.size = size;
+        this.defaultId = defaultId;
+        this.sections = new Section[(size + SECTION_MASK) >>> SECTION_BITS];
+    }
+
+    private SectionedBackingData(SectionedBackingData original) {
+        this.size = original.size;
+        this.defaultId = original.defaultId;
+        this.sections = new Section[original.sections.length];
+        for (int i = 0; i < this.sections.length; i++) {
+            final Section section = original.sections[i];
+            this.sections[i] = section == null ? null : section.copyOf();
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int get(int index) {
+        final Section section = this.sections[index >>> SECTION_BITS];
+        return section == null ? this.defaultId : section.get(index & SECTION_MASK);
+    }
+
+    @Override
+    public void set(int index, int val) {
+        final int sectionIndex = index >>> SECTION_BITS;
+        Section section = this.sections[sectionIndex];
+        if (section == null) {
+            if (val == this.defaultId) {
+                return;
+            }
+            section = this.sections[sectionIndex] = new Section(this.defaultId);
+        }
+        section.set(index & SECTION_MASK, val);
+    }
+
+    @Override
+    public SectionedBackingData copyOf() {
+        return new SectionedBackingData(this);
+    }
+
+    @Override
+    public int getMax() {
+        return Integer.MAX_VALUE;
+    }
+
+    private static final class Section {
+
+        /**
+         * Up to this many local ids are looked up linearly, above it a map
+         * is maintained.
+         */
+        private static final int LINEAR_LOOKUP_LIMIT = 16;
+
+        /** Maps the local ids to the actual ids */
+        private int[] palette;
+        private int paletteSize;
+        private Int2IntOpenHashMap lookup;
+        /** The local ids, {@code null} while only a single id is used */
+        private ArrayMutableBlockBuffer.PackedBackingData data;
+
+        Section(int id) {
+            this.palette = new int[] {id};
+            this.paletteSize = 1;
+        }
+
+        private Section(Section original) {
+            this.palette = original.palette.clone();
+            this.paletteSize = original.paletteSize;
+            this.lookup = original.lookup == null ? null : new Int2IntOpenHashMap(original.lookup);
+            this.data = original.data == null ? null : original.data.copyOf();
+        }
+
+        int get(int index) {
+            return this.data == null ? this.palette[0] : this.palette[this.data.get(index)];
+        }
+
+        void set(int index, int id) {
+            int local = localId(id);
+            if (local < 0) {
+                local = assign(id);
+            }
+            if (this.data == null) {
+                if (local == 0) {
+                    return;
+                }
+                this.data = new ArrayMutableBlockBuffer.PackedBackingData(SECTION_SIZE, local);
+            } else if (local > this.data.getMax()) {
+                final ArrayMutableBlockBuffer.PackedBackingData resized =
+                        new ArrayMutableBlockBuffer.PackedBackingData(SECTION_SIZE, this.data.getMax() << 1 | 1);
+                for (int i = 0; i < SECTION_SIZE; i++) {
+                    resized.set(i, this.data.get(i));
+                }
+                this.data = resized;
+            }
+            this.data.set(index, local);
+        }
+
+        private int localId(int id) {
+            if (this.lookup != null) {
+                return this.lookup.get(id);
+            }
+            for (int i = 0; i < this.paletteSize; i++) {
+                if (this.palette[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int assign(int id) {
+            if (this.paletteSize == this.palette.length) {
+                final int[] grown = new int[this.paletteSize << 1];
+                System.arraycopy(this.palette, 0, grown, 0, this.paletteSize);
+                this.palette = grown;
+            }
+            final int local = this.paletteSize++;
+            this.palette[local] = id;
+            if (this.lookup != null) {
+                this.lookup.put(id, local);
+            } else if (this.paletteSize > LINEAR_LOOKUP_LIMIT) {
+                this.lookup = new Int2IntOpenHashMap(this.paletteSize << 1);
+                this.lookup.defaultReturnValue(-1);
+                for (int i = 0; i < this.paletteSize; i++) {
+                    this.lookup.put(this.palette[i], i);
+                }
+            }
+            return local;
+        }
+
+        Section copyOf() {
+            return new Section(this);
+        }
+    }
+}
@@ -31,13 +31,16 @@
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.block.ChangeBlockEvent;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.config.category.LoggingCategory;
+import org.spongepowered.common.event.EventType;
+import org.spongepowered.common.event.ShouldFire;
 
 import javax.annotation.Nullable;
 
 public enum BlockChange {
 
-    BREAK() {
+    BREAK(ChangeBlockEvent.Break.class) {
         @Override
         public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
             return SpongeEventFactory.createChangeBlockEventBreak(cause, transactions);
@@ -49,13 +52,13 @@ public boolean allowsLogging(LoggingCategory category) {
             return category.blockBreakLogging();
         }
     },
-    DECAY() {
+    DECAY(ChangeBlockEvent.Decay.class) {
         @Override
         public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
             return SpongeEventFactory.createChangeBlockEventDecay(cause, transactions);
         }
     },
-    MODIFY() {
+    MODIFY(ChangeBlockEvent.Modify.class) {
         @Override
         public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
             return SpongeEventFactory.createChangeBlockEventModify(cause, transactions);
@@ -66,7 +69,7 @@ public boolean allowsLogging(LoggingCategory category) {
             return category.blockModifyLogging();
         }
     },
-    PLACE() {
+    PLACE(ChangeBlockEvent.Place.class) {
         @Override
         public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
             return SpongeEventFactory.createChangeBlockEventPlace(cause, transactions);
@@ -78,7 +81,36 @@ public boolean allowsLogging(LoggingCategory category) {
         }
     };
 
-    BlockChange() { }
+    private static final EventType<ChangeBlockEvent.Post> POST_EVENT_TYPE = new EventType<>(ChangeBlockEvent.Post.class);
+
+    private final EventType<? extends ChangeBlockEvent> eventType;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    BlockChange(Class<? extends ChangeBlockEvent> eventClass) {
+        this.eventType = new EventType(eventClass);
+    }
+
+    /**
+     * Gets whether the {@link ChangeBlockEvent} of this kind would reach any
+     * listener. If neither it nor the {@link ChangeBlockEvent.Post} that
+     * follows it have listeners, block changes of this kind can be applied
+     * without building snapshots, transactions or causes for the events.
+     *
+     * @return True if the event of this block change has listeners
+     */
+    public boolean hasListeners() {
+        return ShouldFire.CHANGE_BLOCK_EVENT && SpongeImpl.hasListeners(this.eventType);
+    }
+
+    /**
+     * Gets whether a plain {@link ChangeBlockEvent.Post} would reach any
+     * listener.
+     *
+     * @return True if the post event has listeners
+     */
+    public static boolean hasPostListeners() {
+        return ShouldFire.CHANGE_BLOCK_EVENT && SpongeImpl.hasListeners(POST_EVENT_TYPE);
+    }
 
 
     public boolean allowsLogging(LoggingCategory category) {
@@ -0,0 +1,255 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SpawnPreparationCategory;
+import org.spongepowered.common.event.tracking.phase.generation.GenerationContext;
+import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
+import org.spongepowered.common.event.tracking.phase.generation.GenericGenerationContext;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.gen.AsyncTerrainGenerator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Loads the spawn area of a world from the spawn outwards.
+ *
+ * <p>Saved chunks a little ahead of the current one are read from their
+ * region files on a shared pool of IO threads, and chunks which turn out to
+ * be missing have their terrain generated ahead of time if the
+ * {@link AsyncTerrainGenerator} supports the world's generator. Chunks are
+ * still constructed on the main thread. Everything within the blocking
+ * radius is loaded right away, the rest of the area is loaded in the
+ * background during the following ticks, with the time spent per tick
+ * limited.</p>
+ *
+ * <p>Every method of this class must be called from the main thread.</p>
+ */
+public final class SpawnAreaPreparer implements Consumer<Task> {
+
+    private static final int SPAWN_RADIUS = 12;
+    private static final int[][] SPAWN_ORDER = createSpawnOrder();
+
+    @Nullable private static ExecutorService ioExecutor;
+
+    private final WorldServer world;
+    private final int centerX;
+    private final int centerZ;
+    private final int prefetchWindow;
+    private final long backgroundNanosPerTick;
+    @Nullable private final IMixinAnvilChunkLoader chunkLoader;
+    private final CompletableFuture<?>[] saved = new CompletableFuture<?>[SPAWN_ORDER.length];
+    private final boolean[] generationPrefetched = new boolean[SPAWN_ORDER.length];
+    private final long startTime = System.nanoTime();
+
+    private int next;
+    private int prefetched;
+    private int fromDisk;
+
+    /**
+     * Prepares the spawn area of a world.
+     *
+     * @param world The world
+     * @param category The spawn preparation settings
+     * @param progress Receives the progress in percent while the blocking
+     *     part of the area is loaded
+     */
+    public static void prepare(WorldServer world, SpawnPreparationCategory category, IntConsumer progress) {
+        synchronized (SpawnAreaPreparer.class) {
+            if (ioExecutor == null) {
+                ioExecutor = Executors.newFixedThreadPool(category.getIoThreads(),
+                        new ThreadFactoryBuilder().setNameFormat("Sponge - Spawn Chunk IO Thread #%d").setDaemon(true).build());
+            }
+        }
+        final SpawnAreaPreparer preparer = new SpawnAreaPreparer(world, category);
+        final int blocking = countWithinRadius(category.getBlockingRadius());
+        long lastProgress = System.nanoTime();
+        while (preparer.next < blocking && SpongeImpl.getServer().isServerRunning()) {
+            final long now = System.nanoTime();
+            if (now - lastProgress > TimeUnit.SECONDS.toNanos(1)) {
+                progress.accept(preparer.next * 100 / blocking);
+                lastProgress = now;
+            }
+            preparer.loadBatch(blocking, now + TimeUnit.SECONDS.toNanos(1));
+        }
+        if (!SpongeImpl.getServer().isServerRunning()) {
+            preparer.discardPrefetchedChunks();
+            return;
+        }
+        if (preparer.next == SPAWN_ORDER.length) {
+            preparer.finish();
+            return;
+        }
+        SpongeImpl.getLogger().info("World {} is ready after {} ms, loading the remaining {} spawn chunks in the background",
+                world.getWorldInfo().getWorldName(), preparer.elapsedMillis(), SPAWN_ORDER.length - preparer.next);
+        SpongeImpl.getScheduler().createTaskBuilder()
+                .intervalTicks(1)
+                .name("Sponge - Spawn area preparation of " + world.getWorldInfo().getWorldName())
+                .execute(preparer)
+                .submit(SpongeImpl.getPlugin());
+    }
+
+    private SpawnAreaPreparer(WorldServer world, SpawnPreparationCategory category) {
+        this.world = world;
+        final BlockPos spawn = world.getSpawnPoint();
+        this.centerX = spawn.getX() >> 4;
+        this.centerZ = spawn.getZ() >> 4;
+        this.prefetchWindow = category.getPrefetchWindow();
+        this.backgroundNanosPerTick = TimeUnit.MILLISECONDS.toNanos(category.getBackgroundMillisPerTick());
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+        this.chunkLoader = chunkProvider.getChunkLoader() instanceof IMixinAnvilChunkLoader
+                ? (IMixinAnvilChunkLoader) chunkProvider.getChunkLoader() : null;
+    }
+
+    @Override
+    public void accept(Task task) {
+        if (!WorldManager.getWorldByDimensionId(((IMixinWorldServer) this.world).getDimensionId()).filter(w -> w == this.world).isPresent()) {
+            // The world was unloaded in the meantime
+            task.cancel();
+            discardPrefetchedChunks();
+            return;
+        }
+        loadBatch(SPAWN_ORDER.length, System.nanoTime() + this.backgroundNanosPerTick);
+        if (this.next == SPAWN_ORDER.length) {
+            task.cancel();
+            finish();
+        }
+    }
+
+    /**
+     * Loads chunks in order until the deadline has passed or the given
+     * number of chunks is loaded.
+     */
+    private void loadBatch(int limit, long deadline) {
+        final ChunkProviderServer chunkProvider = this.world.getChunkProvider();
+        final IMixinChunkProviderServer spongeChunkProvider = (IMixinChunkProviderServer) chunkProvider;
+        final boolean forced = spongeChunkProvider.getForceChunkRequests();
+        spongeChunkProvider.setForceChunkRequests(true);
+        try (GenerationContext<GenericGenerationContext> context = GenerationPhase.State.TERRAIN_GENERATION.createPhaseContext()
+                .source(this.world)
+                .world(this.world)) {
+            context.buildAndSwitch();
+            do {
+                prefetch();
+                final int[] offset = SPAWN_ORDER[this.next];
+                chunkProvider.provideChunk(this.centerX + offset[0], this.centerZ + offset[1]);
+                final CompletableFuture<?> saved = this.saved[this.next++];
+                if (saved != null && Boolean.TRUE.equals(saved.getNow(null))) {
+                    this.fromDisk++;
+                }
+            } while (this.next < limit && System.nanoTime() < deadline);
+        } finally {
+            spongeChunkProvider.setForceChunkRequests(forced);
+        }
+    }
+
+    /**
+     * Reads the chunks within the prefetch window ahead of time and starts
+     * generating the terrain of those which weren't saved.
+     */
+    private void prefetch() {
+        final int end = Math.min(this.next + this.prefetchWindow, SPAWN_ORDER.length);
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) this.world.getChunkProvider();
+        for (; this.prefetched < end; this.prefetched++) {
+            final int[] offset = SPAWN_ORDER[this.prefetched];
+            final int x = this.centerX + offset[0];
+            final int z = this.centerZ + offset[1];
+            if (this.chunkLoader != null && chunkProvider.getLoadedChunkWithoutMarkingActive(x, z) == null) {
+                this.saved[this.prefetched] = this.chunkLoader.prefetchChunk(x, z, ioExecutor);
+            }
+        }
+        for (int i = this.next; i < end; i++) {
+            final CompletableFuture<?> saved = this.saved[i];
+            if (!this.generationPrefetched[i] && saved != null && Boolean.FALSE.equals(saved.getNow(null))) {
+                this.generationPrefetched[i] = true;
+                AsyncTerrainGenerator.prefetch(this.world, this.centerX + SPAWN_ORDER[i][0], this.centerZ + SPAWN_ORDER[i][1]);
+            }
+        }
+    }
+
+    private void finish() {
+        // Reads nobody asked for would otherwise be used by a later load of the chunk
+        discardPrefetchedChunks();
+        SpongeImpl.getLogger().info("Prepared the spawn area of world {} in {} ms ({} chunks read from disk, {} loaded or generated otherwise)",
+                this.world.getWorldInfo().getWorldName(), elapsedMillis(), this.fromDisk, SPAWN_ORDER.length - this.fromDisk);
+    }
+
+    private void discardPrefetchedChunks() {
+        if (this.chunkLoader != null) {
+            this.chunkLoader.discardPrefetchedChunks();
+        }
+    }
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime);
+    }
+
+    private static int countWithinRadius(int radius) {
+        int count = 0;
+        for (int[] offset : SPAWN_ORDER) {
+            if (Math.max(Math.abs(offset[0]), Math.abs(offset[1])) <= radius) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Orders the chunk offsets of the spawn area by their ring around the
+     * center, and by distance within a ring.
+     */
+    private static int[][] createSpawnOrder() {
+        final int size = SPAWN_RADIUS * 2 + 1;
+        final int[][] order = new int[size * size][];
+        int i = 0;
+        for (int x = -SPAWN_RADIUS; x <= SPAWN_RADIUS; x++) {
+            for (int z = -SPAWN_RADIUS; z <= SPAWN_RADIUS; z++) {
+                order[i++] = new int[] {x, z};
+            }
+        }
+        Arrays.sort(order, Comparator
+                .<int[]>comparingInt(offset -> Math.max(Math.abs(offset[0]), Math.abs(offset[1])))
+                .thenComparingInt(offset -> offset[0] * offset[0] + offset[1] * offset[1]));
+        return order;
+    }
+
+}
@@ -39,6 +39,7 @@
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.datafix.FixTypes;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.GameType;
@@ -50,7 +51,9 @@
 import net.minecraft.world.WorldSettings;
 import net.minecraft.world.WorldType;
 import net.minecraft.world.chunk.storage.AnvilSaveHandler;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.storage.ISaveHandler;
+import net.minecraft.world.storage.IThreadedFileIO;
 import net.minecraft.world.storage.SaveHandler;
 import net.minecraft.world.storage.WorldInfo;
 import org.spongepowered.api.GameState;
@@ -75,20 +78,26 @@
 import org.spongepowered.common.interfaces.IMixinIntegratedServer;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.storage.ChunkSaveWriter;
+import org.spongepowered.common.world.storage.WorldCopyFuture;
+import org.spongepowered.common.world.storage.WrittenChunkCopier;
 
 import java.io.DataInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -105,6 +114,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
@@ -127,6 +137,8 @@ public final class WorldManager {
     private static final BitSet dimensionBits = new BitSet(Long.SIZE << 4);
     private static final Map<WorldServer, WorldServer> weakWorldByWorld = new MapMaker().weakKeys().weakValues().concurrencyLevel(1).makeMap();
     private static final Queue<WorldServer> unloadQueue = new ArrayDeque<>();
+    // The number of copies of each loaded world in progress, its auto saves are paused until the last one finished
+    private static final Map<WorldServer, Integer> copiesInProgress = new MapMaker().weakKeys().makeMap();
     private static final Comparator<WorldServer>
             WORLD_SERVER_COMPARATOR =
             (world1, world2) -> {
@@ -1001,29 +1013,65 @@ public static String fixDimensionTypeId(String name) {
         return name;
     }
 
+    /**
+     * Copies a world. A loaded world keeps running while its files are
+     * copied, only its auto saves are paused. Its chunks are still unloaded
+     * and saved, and the world is still saved when it is unloaded. Chunks
+     * written while the files are copied, including those which were still
+     * queued for saving when the copy started, are tracked and copied again
+     * at the end.
+     *
+     * @param worldProperties The properties of the world to copy
+     * @param copyName The name of the copy
+     * @return A {@link WorldCopyFuture} of the properties of the copy
+     */
     public static CompletableFuture<Optional<WorldProperties>> copyWorld(WorldProperties worldProperties, String copyName) {
         checkArgument(worldPropertiesByFolderName.containsKey(worldProperties.getWorldName()), "World properties not registered!");
         checkArgument(!worldPropertiesByFolderName.containsKey(copyName), "Destination world name already is registered!");
         final WorldInfo info = (WorldInfo) worldProperties;
+        final WorldCopyFuture future = new WorldCopyFuture();
 
         final WorldServer worldServer = worldByDimensionId.get(((IMixinWorldInfo) info).getDimensionId().intValue());
-        if (worldServer != null) {
-            try {
-                saveWorld(worldServer, true);
-            } catch (MinecraftException e) {
-                throw new RuntimeException(e);
-            }
-
-            ((IMixinMinecraftServer) SpongeImpl.getServer()).setSaveEnabled(false);
+        if (worldServer == null) {
+            SpongeImpl.getScheduler().submitAsyncTask(new CopyWorldTask(info, copyName, null, null, future));
+            return future;
         }
 
-        final CompletableFuture<Optional<WorldProperties>> future = SpongeImpl.getScheduler().submitAsyncTask(new CopyWorldTask(info, copyName));
-        if (worldServer != null) { // World was loaded
-            future.thenRun(() -> ((IMixinMinecraftServer) SpongeImpl.getServer()).setSaveEnabled(true));
+        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) worldServer.getChunkProvider()).getChunkLoader();
+        final File saveLocation = chunkLoader instanceof IMixinAnvilChunkLoader && chunkLoader instanceof IThreadedFileIO
+                ? ((IMixinAnvilChunkLoader) chunkLoader).getWorldDir().toFile() : null;
+        // Writes which are still pending or happen meanwhile may change region files
+        // while they are copied, so they are copied again at the end
+        final Set<ChunkPos> trackedWrites = saveLocation == null ? null : ChunkSaveWriter.trackWrites(saveLocation);
+        copiesInProgress.merge(worldServer, 1, Integer::sum);
+        future.whenComplete((result, error) -> {
+            if (saveLocation != null) {
+                ChunkSaveWriter.stopTrackingWrites(saveLocation, trackedWrites);
+            }
+            copiesInProgress.computeIfPresent(worldServer, (world, copies) -> copies == 1 ? null : copies - 1);
+        });
+        try {
+            saveWorld(worldServer, saveLocation == null);
+        } catch (MinecraftException e) {
+            future.completeExceptionally(e);
+            throw new RuntimeException(e);
         }
+
+        SpongeImpl.getScheduler().submitAsyncTask(new CopyWorldTask(info, copyName, chunkLoader, trackedWrites, future));
         return future;
     }
 
+    /**
+     * Gets whether the auto saves of the world are paused because it is
+     * being copied.
+     *
+     * @param worldServer The world
+     * @return Whether auto saving is paused
+     */
+    public static boolean isAutoSavingPaused(WorldServer worldServer) {
+        return copiesInProgress.containsKey(worldServer);
+    }
+
     public static Optional<WorldProperties> renameWorld(WorldProperties worldProperties, String newName) {
         checkNotNull(worldProperties);
         checkNotNull(newName);
@@ -1100,18 +1148,34 @@ public static void adjustWorldForDifficulty(WorldServer worldServer, EnumDifficu
         }
     }
 
-    private static class CopyWorldTask implements Callable<Optional<WorldProperties>> {
+    private static class CopyWorldTask implements Callable<Void> {
 
         private final WorldInfo oldInfo;
         private final String newName;
+        @Nullable private final IChunkLoader chunkLoader;
+        @Nullable private final Set<ChunkPos> trackedWrites;
+        private final WorldCopyFuture future;
 
-        CopyWorldTask(WorldInfo info, String newName) {
+        CopyWorldTask(WorldInfo info, String newName, @Nullable IChunkLoader chunkLoader, @Nullable Set<ChunkPos> trackedWrites,
+                WorldCopyFuture future) {
             this.oldInfo = info;
             this.newName = newName;
+            this.chunkLoader = chunkLoader;
+            this.trackedWrites = trackedWrites;
+            this.future = future;
         }
 
         @Override
-        public Optional<WorldProperties> call() throws Exception {
+        public Void call() {
+            try {
+                this.future.complete(copy());
+            } catch (Throwable t) {
+                this.future.completeExceptionally(t);
+            }
+            return null;
+        }
+
+        private Optional<WorldProperties> copy() throws Exception {
             Path oldWorldFolder = getCurrentSavesDirectory().get().resolve(this.oldInfo.getWorldName());
             final Path newWorldFolder = getCurrentSavesDirectory().get().resolve(this.newName);
 
@@ -1119,27 +1183,40 @@ public Optional<WorldProperties> call() throws Exception {
                 return Optional.empty();
             }
 
-            FileVisitor<Path> visitor = new CopyFileVisitor(newWorldFolder);
-            if (((IMixinWorldInfo) this.oldInfo).getDimensionId() == 0) {
+            final boolean skipOtherWorlds = ((IMixinWorldInfo) this.oldInfo).getDimensionId() == 0;
+            if (skipOtherWorlds) {
                 oldWorldFolder = getCurrentSavesDirectory().get();
-                visitor = new ForwardingFileVisitor<Path>(visitor) {
-
-                    private boolean root = true;
+            }
 
-                    @Override
-                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                        if (!this.root && Files.exists(dir.resolve("level.dat"))) {
-                            return FileVisitResult.SKIP_SUBTREE;
-                        }
+            // Measure the world folder first to be able to report the progress
+            final long[] totalBytes = new long[1];
+            Files.walkFileTree(oldWorldFolder, skipOtherWorlds(new SimpleFileVisitor<Path>() {
 
-                        this.root = false;
-                        return super.preVisitDirectory(dir, attrs);
-                    }
-                };
-            }
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    totalBytes[0] += attrs.size();
+                    return FileVisitResult.CONTINUE;
+                }
+            }, skipOtherWorlds));
+            this.future.setTotalBytes(totalBytes[0]);
 
             // Copy the world folder
-            Files.walkFileTree(oldWorldFolder, visitor);
+            Files.walkFileTree(oldWorldFolder, skipOtherWorlds(new ForwardingFileVisitor<Path>(new CopyFileVisitor(newWorldFolder)) {
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    final FileVisitResult result = super.visitFile(file, attrs);
+                    CopyWorldTask.this.future.addCopiedBytes(attrs.size());
+                    return result;
+                }
+            }, skipOtherWorlds));
+
+            if (this.trackedWrites != null) {
+                final Path saveLocation = ((IMixinAnvilChunkLoader) this.chunkLoader).getWorldDir();
+                final Path targetLocation = newWorldFolder.resolve(oldWorldFolder.relativize(saveLocation));
+                this.future.setRecopiedChunks(WrittenChunkCopier.queue((IThreadedFileIO) this.chunkLoader, saveLocation.toFile(),
+                        this.trackedWrites, targetLocation.toFile()).join());
+            }
 
             final WorldInfo info = new WorldInfo(this.oldInfo);
             info.setWorldName(this.newName);
@@ -1151,6 +1228,30 @@ public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) th
                     .saveWorldInfo(info);
             return Optional.of((WorldProperties) info);
         }
+
+        /**
+         * The folder of the default world contains the folders of all other
+         * worlds, which are skipped when copying it.
+         */
+        private static FileVisitor<Path> skipOtherWorlds(FileVisitor<Path> visitor, boolean skipOtherWorlds) {
+            if (!skipOtherWorlds) {
+                return visitor;
+            }
+            return new ForwardingFileVisitor<Path>(visitor) {
+
+                private boolean root = true;
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!this.root && Files.exists(dir.resolve("level.dat"))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+
+                    this.root = false;
+                    return super.preVisitDirectory(dir, attrs);
+                }
+            };
+        }
     }
 
     private static class DeleteWorldTask implements Callable<Boolean> {
@@ -0,0 +1,52 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import org.spongepowered.api.block.BlockState;
+
+/**
+ * A block volume that can copy the states of a section of its blocks
+ * directly from its backing storage, without going through a bounds check
+ * and lookup for every block.
+ */
+public interface BlockSectionSource {
+
+    /**
+     * Copies the states of the blocks between the given minimum and maximum,
+     * both inclusive, into the given array. The area fits in a 16x16x16
+     * section and the state at {@code (x, y, z)} is stored at index
+     * {@code (y - yMin) << 8 | (z - zMin) << 4 | (x - xMin)}.
+     *
+     * @param xMin The minimum x coordinate
+     * @param yMin The minimum y coordinate
+     * @param zMin The minimum z coordinate
+     * @param xMax The maximum x coordinate
+     * @param yMax The maximum y coordinate
+     * @param zMax The maximum z coordinate
+     * @param states The array to copy the states into
+     */
+    void copySection(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, BlockState[] states);
+
+}
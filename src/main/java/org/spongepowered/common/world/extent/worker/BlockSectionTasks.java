@@ -0,0 +1,303 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.Chunk;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeFiller;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeMapper;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.BlockWorkerCategory;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs the work of block workers in parallel. The volume is split into the
+ * 16x16x16 sections of the world grid, contiguous runs of sections are
+ * processed on a shared pool and their results are handed back, in order,
+ * to the calling thread.
+ *
+ * <p>Blocks are only read concurrently from volumes that are not modified
+ * while the calling thread waits: block buffers, and chunks when the work is
+ * started on the server thread.</p>
+ */
+final class BlockSectionTasks {
+
+    static final int SECTION_VOLUME = 16 * 16 * 16;
+
+    /**
+     * The amount of tasks each thread of the pool gets, more tasks than
+     * threads evens out sections that take longer than others.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private static final ThreadLocal<Boolean> inTask = ThreadLocal.withInitial(() -> false);
+    @Nullable private static ExecutorService executor;
+
+    private BlockSectionTasks() {
+    }
+
+    /**
+     * Gets whether the blocks of the given volume can be read and processed
+     * in parallel.
+     *
+     * @param volume The volume
+     * @return Whether the work on the volume can run in parallel
+     */
+    static boolean canRunInParallel(BlockVolume volume) {
+        if (!canSplit(volume) || !(volume instanceof BlockSectionSource)) {
+            return false;
+        }
+        return volume instanceof AbstractBlockBuffer
+                || volume instanceof Chunk && SpongeImpl.getServer().isCallingFromMinecraftThread();
+    }
+
+    /**
+     * Gets whether blocks for the given volume can be produced in parallel,
+     * without the volume being read.
+     *
+     * @param volume The volume
+     * @return Whether blocks can be produced in parallel
+     */
+    static boolean canSplit(BlockVolume volume) {
+        // Work started from a pool thread runs there, waiting for the pool could dead lock
+        if (inTask.get()) {
+            return false;
+        }
+        final BlockWorkerCategory category = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getBlockWorkerCategory();
+        final Vector3i size = volume.getBlockSize();
+        return category.isParallel() && (long) size.getX() * size.getY() * size.getZ() >= category.getMinParallelVolume();
+    }
+
+    static <T> T reduce(BlockVolume volume, UnmodifiableBlockVolume view, BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge,
+            T identity) {
+        final List<CompletableFuture<T>> tasks = new ArrayList<>();
+        for (List<Section> sections : split(volume)) {
+            tasks.add(submit(() -> {
+                final SectionBlockVolume sectionView = new SectionBlockVolume(view, (BlockSectionSource) volume);
+                T reduction = identity;
+                for (Section section : sections) {
+                    sectionView.load(section);
+                    for (int z = section.zMin; z <= section.zMax; z++) {
+                        for (int y = section.yMin; y <= section.yMax; y++) {
+                            for (int x = section.xMin; x <= section.xMax; x++) {
+                                reduction = reducer.reduce(sectionView, x, y, z, reduction);
+                            }
+                        }
+                    }
+                }
+                return reduction;
+            }));
+        }
+        T reduction = identity;
+        for (CompletableFuture<T> task : tasks) {
+            reduction = merge.apply(reduction, join(task));
+        }
+        return reduction;
+    }
+
+    static void map(BlockVolume volume, UnmodifiableBlockVolume view, BlockVolumeMapper mapper, MutableBlockVolume destination,
+            Vector3i offset) {
+        final List<List<Section>> split = split(volume);
+        final List<CompletableFuture<List<BlockState[]>>> tasks = new ArrayList<>(split.size());
+        for (List<Section> sections : split) {
+            tasks.add(submit(() -> {
+                final SectionBlockVolume sectionView = new SectionBlockVolume(view, (BlockSectionSource) volume);
+                final List<BlockState[]> mapped = new ArrayList<>(sections.size());
+                for (Section section : sections) {
+                    sectionView.load(section);
+                    final BlockState[] states = new BlockState[SECTION_VOLUME];
+                    for (int z = section.zMin; z <= section.zMax; z++) {
+                        for (int y = section.yMin; y <= section.yMax; y++) {
+                            for (int x = section.xMin; x <= section.xMax; x++) {
+                                states[section.index(x, y, z)] = mapper.map(sectionView, x, y, z);
+                            }
+                        }
+                    }
+                    mapped.add(states);
+                }
+                return mapped;
+            }));
+        }
+        // The destination may be the volume itself or overlap it, nothing can
+        // be written before every task is done reading
+        join(CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])));
+        write(split, tasks, destination, offset);
+    }
+
+    static void fill(BlockVolumeFiller filler, MutableBlockVolume destination) {
+        final List<List<Section>> split = split(destination);
+        final List<CompletableFuture<List<BlockState[]>>> tasks = new ArrayList<>(split.size());
+        for (List<Section> sections : split) {
+            tasks.add(submit(() -> {
+                final List<BlockState[]> produced = new ArrayList<>(sections.size());
+                for (Section section : sections) {
+                    final BlockState[] states = new BlockState[SECTION_VOLUME];
+                    for (int z = section.zMin; z <= section.zMax; z++) {
+                        for (int y = section.yMin; y <= section.yMax; y++) {
+                            for (int x = section.xMin; x <= section.xMax; x++) {
+                                states[section.index(x, y, z)] = filler.produce(x, y, z);
+                            }
+                        }
+                    }
+                    produced.add(states);
+                }
+                return produced;
+            }));
+        }
+        write(split, tasks, destination, Vector3i.ZERO);
+    }
+
+    /**
+     * Writes the blocks computed by the tasks to the destination on the
+     * calling thread, as the tasks complete in order. Callers whose tasks
+     * read a volume that may be the destination must wait for all of them
+     * before writing.
+     */
+    private static void write(List<List<Section>> split, List<CompletableFuture<List<BlockState[]>>> tasks, MutableBlockVolume destination,
+            Vector3i offset) {
+        final int xOffset = offset.getX();
+        final int yOffset = offset.getY();
+        final int zOffset = offset.getZ();
+        for (int i = 0; i < tasks.size(); i++) {
+            final List<Section> sections = split.get(i);
+            final List<BlockState[]> results = join(tasks.get(i));
+            for (int j = 0; j < sections.size(); j++) {
+                final Section section = sections.get(j);
+                final BlockState[] states = results.get(j);
+                for (int z = section.zMin; z <= section.zMax; z++) {
+                    for (int y = section.yMin; y <= section.yMax; y++) {
+                        for (int x = section.xMin; x <= section.xMax; x++) {
+                            destination.setBlock(x + xOffset, y + yOffset, z + zOffset, states[section.index(x, y, z)]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the volume into sections, in z, y, x order, and groups them into
+     * contiguous runs, one per task.
+     */
+    private static List<List<Section>> split(BlockVolume volume) {
+        final Vector3i min = volume.getBlockMin();
+        final Vector3i max = volume.getBlockMax();
+        final List<Section> sections = new ArrayList<>();
+        for (int sz = min.getZ() >> 4; sz <= max.getZ() >> 4; sz++) {
+            for (int sy = min.getY() >> 4; sy <= max.getY() >> 4; sy++) {
+                for (int sx = min.getX() >> 4; sx <= max.getX() >> 4; sx++) {
+                    sections.add(new Section(
+                            Math.max(sx << 4, min.getX()), Math.max(sy << 4, min.getY()), Math.max(sz << 4, min.getZ()),
+                            Math.min((sx << 4) + 15, max.getX()), Math.min((sy << 4) + 15, max.getY()), Math.min((sz << 4) + 15, max.getZ())));
+                }
+            }
+        }
+        final int taskCount = Math.min(sections.size(), getThreads() * TASKS_PER_THREAD);
+        final List<List<Section>> split = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            split.add(sections.subList(i * sections.size() / taskCount, (i + 1) * sections.size() / taskCount));
+        }
+        return split;
+    }
+
+    private static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            inTask.set(true);
+            try {
+                return task.get();
+            } finally {
+                inTask.set(false);
+            }
+        }, getExecutor());
+    }
+
+    private static <T> T join(CompletableFuture<T> task) {
+        try {
+            return task.join();
+        } catch (CompletionException e) {
+            // Rethrow what the mapper, filler or reducer threw, as it would have been without the pool
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static int getThreads() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getBlockWorkerCategory().getThreads();
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(getThreads(),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Block Worker Thread #%d").setDaemon(true).build());
+        }
+        return executor;
+    }
+
+    static final class Section {
+
+        final int xMin;
+        final int yMin;
+        final int zMin;
+        final int xMax;
+        final int yMax;
+        final int zMax;
+
+        Section(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+            this.xMin = xMin;
+            this.yMin = yMin;
+            this.zMin = zMin;
+            this.xMax = xMax;
+            this.yMax = yMax;
+            this.zMax = zMax;
+        }
+
+        int index(int x, int y, int z) {
+            return (y - this.yMin) << 8 | (z - this.zMin) << 4 | (x - this.xMin);
+        }
+    }
+}
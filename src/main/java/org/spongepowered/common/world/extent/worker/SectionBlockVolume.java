@@ -0,0 +1,127 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.util.DiscreteTransform3;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.StorageType;
+import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
+import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
+
+/**
+ * An unmodifiable view of a volume that answers reads inside the section
+ * currently processed by a parallel block worker from a copy of that
+ * section. Reads outside of it go to the viewed volume.
+ */
+final class SectionBlockVolume implements UnmodifiableBlockVolume {
+
+    private final UnmodifiableBlockVolume volume;
+    private final BlockSectionSource source;
+    private final BlockState[] states = new BlockState[BlockSectionTasks.SECTION_VOLUME];
+    private int xMin;
+    private int yMin;
+    private int zMin;
+    private int xMax = Integer.MIN_VALUE;
+    private int yMax = Integer.MIN_VALUE;
+    private int zMax = Integer.MIN_VALUE;
+
+    SectionBlockVolume(UnmodifiableBlockVolume volume, BlockSectionSource source) {
+        this.volume = volume;
+        this.source = source;
+    }
+
+    void load(BlockSectionTasks.Section section) {
+        this.xMin = section.xMin;
+        this.yMin = section.yMin;
+        this.zMin = section.zMin;
+        this.xMax = section.xMax;
+        this.yMax = section.yMax;
+        this.zMax = section.zMax;
+        this.source.copySection(this.xMin, this.yMin, this.zMin, this.xMax, this.yMax, this.zMax, this.states);
+    }
+
+    @Override
+    public BlockState getBlock(int x, int y, int z) {
+        if (x >= this.xMin && x <= this.xMax && y >= this.yMin && y <= this.yMax && z >= this.zMin && z <= this.zMax) {
+            return this.states[(y - this.yMin) << 8 | (z - this.zMin) << 4 | (x - this.xMin)];
+        }
+        return this.volume.getBlock(x, y, z);
+    }
+
+    @Override
+    public BlockType getBlockType(int x, int y, int z) {
+        return getBlock(x, y, z).getType();
+    }
+
+    @Override
+    public Vector3i getBlockMin() {
+        return this.volume.getBlockMin();
+    }
+
+    @Override
+    public Vector3i getBlockMax() {
+        return this.volume.getBlockMax();
+    }
+
+    @Override
+    public Vector3i getBlockSize() {
+        return this.volume.getBlockSize();
+    }
+
+    @Override
+    public boolean containsBlock(int x, int y, int z) {
+        return this.volume.containsBlock(x, y, z);
+    }
+
+    @Override
+    public UnmodifiableBlockVolume getBlockView(Vector3i newMin, Vector3i newMax) {
+        return this.volume.getBlockView(newMin, newMax);
+    }
+
+    @Override
+    public UnmodifiableBlockVolume getBlockView(DiscreteTransform3 transform) {
+        return this.volume.getBlockView(transform);
+    }
+
+    @Override
+    public BlockVolumeWorker<? extends UnmodifiableBlockVolume> getBlockWorker() {
+        return this.volume.getBlockWorker();
+    }
+
+    @Override
+    public MutableBlockVolume getBlockCopy(StorageType type) {
+        return this.volume.getBlockCopy(type);
+    }
+
+    @Override
+    public ImmutableBlockVolume getImmutableBlockCopy() {
+        return this.volume.getImmutableBlockCopy();
+    }
+
+}
@@ -44,7 +44,9 @@
 import java.util.function.BiFunction;
 
 /**
- *
+ * Works on a block volume. When enabled in the config, {@link #map} and
+ * {@link #reduce} of large buffers and chunks are run in parallel, see
+ * {@link BlockSectionTasks}.
  */
 public class SpongeBlockVolumeWorker<V extends BlockVolume> implements BlockVolumeWorker<V> {
 
@@ -76,6 +78,10 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
             phaseState.buildAndSwitch();
+            if (BlockSectionTasks.canRunInParallel(this.volume)) {
+                BlockSectionTasks.map(this.volume, unmodifiableVolume, mapper, destination, offset);
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -146,6 +152,9 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
     @Override
     public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
         final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        if (BlockSectionTasks.canRunInParallel(this.volume)) {
+            return BlockSectionTasks.reduce(this.volume, unmodifiableVolume, reducer, merge, identity);
+        }
         final int xMin = unmodifiableVolume.getBlockMin().getX();
         final int yMin = unmodifiableVolume.getBlockMin().getY();
         final int zMin = unmodifiableVolume.getBlockMin().getZ();
@@ -40,6 +40,10 @@ public SpongeMutableBlockVolumeWorker(V volume) {
 
     @Override
     public void fill(BlockVolumeFiller filler) {
+        if (BlockSectionTasks.canSplit(this.volume)) {
+            BlockSectionTasks.fill(filler, this.volume);
+            return;
+        }
         final int xMin = this.volume.getBlockMin().getX();
         final int yMin = this.volume.getBlockMin().getY();
         final int zMin = this.volume.getBlockMin().getZ();
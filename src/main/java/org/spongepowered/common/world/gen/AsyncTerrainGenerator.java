@@ -0,0 +1,251 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.api.world.biome.BiomeGenerationSettings;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncTerrainGenerationCategory;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.util.gen.ObjectArrayMutableBiomeBuffer;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates the base terrain of chunks that are expected to be needed soon
+ * ahead of time, on a shared pool of worker threads.
+ *
+ * <p>Only the primer stage of {@link SpongeChunkGenerator#generateChunk} is
+ * run by the workers: biomes are generated and the biome settings resolved on
+ * the main thread when a chunk is prefetched, and the chunk itself is
+ * constructed on the main thread once it is actually requested. Because the
+ * generation populators run concurrently with the main thread, only
+ * generators whose populators are all provided by plugins are prefetched.</p>
+ *
+ * <p>Every method of this class must be called from the main thread.</p>
+ */
+public final class AsyncTerrainGenerator {
+
+    private static final String[] MAIN_THREAD_PACKAGES = {"net.minecraft.", "net.minecraftforge.", "com.mojang.", "org.spongepowered."};
+    private static final Vector3i CHUNK_AREA = new Vector3i(16, 1, 16);
+    // Prefetched chunks that haven't been requested after a minute are assumed to be unneeded
+    private static final long EXPIRATION_TICKS = 1200;
+
+    private static final ThreadLocal<double[]> STONE_NOISE = ThreadLocal.withInitial(() -> new double[256]);
+    @Nullable private static ExecutorService executor;
+
+    private final SpongeChunkGenerator generator;
+    private final WorldServer world;
+    private final int maxPrefetchedChunks;
+    private final Long2ObjectMap<Terrain> prefetched = new Long2ObjectOpenHashMap<>();
+
+    AsyncTerrainGenerator(SpongeChunkGenerator generator, WorldServer world, AsyncTerrainGenerationCategory category) {
+        this.generator = generator;
+        this.world = world;
+        this.maxPrefetchedChunks = category.getMaxPrefetchedChunks();
+        synchronized (AsyncTerrainGenerator.class) {
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(category.getThreads(),
+                        new ThreadFactoryBuilder().setNameFormat("Sponge - Terrain Generation Thread #%d").setDaemon(true).build());
+            }
+        }
+    }
+
+    /**
+     * Starts generating the base terrain of the given chunk of the world if
+     * its generator supports it and the chunk hasn't been generated yet.
+     *
+     * @param world The world
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    public static void prefetch(WorldServer world, int chunkX, int chunkZ) {
+        final ChunkProviderServer chunkProvider = world.getChunkProvider();
+        if (chunkProvider.chunkGenerator instanceof SpongeChunkGenerator) {
+            final AsyncTerrainGenerator terrainGenerator = ((SpongeChunkGenerator) chunkProvider.chunkGenerator).getAsyncTerrainGenerator();
+            if (terrainGenerator != null && ((IMixinChunkProviderServer) chunkProvider).getLoadedChunkWithoutMarkingActive(chunkX, chunkZ) == null) {
+                terrainGenerator.prefetch(chunkX, chunkZ);
+            }
+        }
+    }
+
+    private void prefetch(int chunkX, int chunkZ) {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.prefetched.containsKey(key) || !isPluginProvided(this.generator.baseGenerator)) {
+            return;
+        }
+        final long tick = this.world.getTotalWorldTime();
+        if (this.prefetched.size() >= this.maxPrefetchedChunks) {
+            this.removeExpired(tick);
+            if (this.prefetched.size() >= this.maxPrefetchedChunks) {
+                return;
+            }
+        }
+
+        final List<GenerationPopulator> genpop = ImmutableList.copyOf(this.generator.genpop);
+        if (!genpop.stream().allMatch(AsyncTerrainGenerator::isPluginProvided)) {
+            return;
+        }
+        final ObjectArrayMutableBiomeBuffer biomes = new ObjectArrayMutableBiomeBuffer(new Vector3i(chunkX * 16, 0, chunkZ * 16), CHUNK_AREA);
+        this.generator.biomeGenerator.generateBiomes(biomes);
+        final ImmutableBiomeVolume biomeBuffer = biomes.getImmutableBiomeCopy();
+
+        // Resolve and copy the biome settings here, they are lazily created and may be modified by plugins
+        final ImmutableMap.Builder<BiomeType, BiomeGenerationSettings> settings = ImmutableMap.builder();
+        for (BiomeType type : SpongeChunkGenerator.getUniqueBiomes(biomeBuffer, chunkX, chunkZ)) {
+            final BiomeGenerationSettings biomeSettings = this.generator.getBiomeSettings(type).copy();
+            if (!biomeSettings.getGenerationPopulators().stream().allMatch(AsyncTerrainGenerator::isPluginProvided)) {
+                return;
+            }
+            settings.put(type, biomeSettings);
+        }
+        final ImmutableMap<BiomeType, BiomeGenerationSettings> biomeSettings = settings.build();
+
+        final IMixinAnvilChunkLoader chunkLoader = this.world.getChunkProvider().chunkLoader instanceof IMixinAnvilChunkLoader
+                ? (IMixinAnvilChunkLoader) this.world.getChunkProvider().chunkLoader : null;
+        final ChunkPrimer primer = new ChunkPrimer();
+        final AtomicBoolean started = new AtomicBoolean();
+        final FutureTask<Boolean> future = new FutureTask<>(() -> {
+            if (!started.compareAndSet(false, true)) {
+                // Taken before it started, the main thread generates it itself
+                return false;
+            }
+            if (chunkLoader != null && chunkLoader.chunkExists(this.world, chunkX, chunkZ)) {
+                // The chunk will be loaded from disk, don't waste time generating it
+                return false;
+            }
+            final Random rand = new Random(SpongeChunkGenerator.getChunkSeed(chunkX, chunkZ));
+            this.generator.generateTerrain(chunkX, chunkZ, primer, biomeBuffer, rand, STONE_NOISE.get(), genpop, biomeSettings::get);
+            return true;
+        });
+        executor.execute(future);
+        this.prefetched.put(key, new Terrain(primer, biomes, future, started, tick));
+    }
+
+    /**
+     * Removes the prefetched terrain of the given chunk, waiting for its
+     * generation to complete if it already started.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The generated terrain, or null if the chunk wasn't prefetched,
+     *     its generation hadn't started yet, it was found on disk or its
+     *     generation failed
+     */
+    @Nullable
+    Terrain take(int chunkX, int chunkZ) {
+        final Terrain terrain = this.prefetched.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (terrain == null) {
+            return null;
+        }
+        if (terrain.started.compareAndSet(false, true)) {
+            // Still queued behind other chunks, generating it right away is faster than waiting
+            terrain.future.cancel(false);
+            return null;
+        }
+        try {
+            return terrain.future.get() ? terrain : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            SpongeImpl.getLogger().warn("Failed to generate the terrain of chunk ({}, {}) in world {} ahead of time, generating it again.",
+                    chunkX, chunkZ, this.world.getWorldInfo().getWorldName(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Discards all prefetched terrain, called whenever the generator is
+     * modified.
+     */
+    void invalidate() {
+        for (Terrain terrain : this.prefetched.values()) {
+            terrain.future.cancel(false);
+        }
+        this.prefetched.clear();
+    }
+
+    private void removeExpired(long tick) {
+        final ObjectIterator<Terrain> iterator = this.prefetched.values().iterator();
+        while (iterator.hasNext()) {
+            final Terrain terrain = iterator.next();
+            if (tick - terrain.tick >= EXPIRATION_TICKS) {
+                terrain.future.cancel(false);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isPluginProvided(Object object) {
+        final String name = object.getClass().getName();
+        for (String prefix : MAIN_THREAD_PACKAGES) {
+            if (name.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static final class Terrain {
+
+        final ChunkPrimer primer;
+        final ObjectArrayMutableBiomeBuffer biomes;
+        final Future<Boolean> future;
+        final AtomicBoolean started;
+        final long tick;
+
+        Terrain(ChunkPrimer primer, ObjectArrayMutableBiomeBuffer biomes, Future<Boolean> future, AtomicBoolean started, long tick) {
+            this.primer = primer;
+            this.biomes = biomes;
+            this.future = future;
+            this.started = started;
+            this.tick = tick;
+        }
+    }
+}
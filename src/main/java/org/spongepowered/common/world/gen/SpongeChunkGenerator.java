@@ -41,6 +41,7 @@
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.Biome.SpawnListEntry;
 import net.minecraft.world.chunk.Chunk;
@@ -73,6 +74,7 @@
 import org.spongepowered.api.world.gen.PopulatorType;
 import org.spongepowered.api.world.gen.WorldGenerator;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncTerrainGenerationCategory;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationContext;
@@ -95,6 +97,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -121,6 +124,7 @@ public class SpongeChunkGenerator implements WorldGenerator, IChunkGenerator {
 
     protected Map<String, Timing> populatorTimings = Maps.newHashMap();
     protected Timing chunkGeneratorTiming;
+    @Nullable private final AsyncTerrainGenerator asyncTerrainGenerator;
 
     public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerator biomegen) {
         this.world = checkNotNull(world, "world");
@@ -142,6 +146,11 @@ public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerato
             ((IChunkProviderOverworld) this.baseGenerator).setBiomeGenerator(this.biomeGenerator);
         }
 
+        final AsyncTerrainGenerationCategory asyncTerrainCategory =
+                SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncTerrainGenerationCategory();
+        this.asyncTerrainGenerator = asyncTerrainCategory.isEnabled() && world instanceof WorldServer
+                ? new AsyncTerrainGenerator(this, (WorldServer) world, asyncTerrainCategory) : null;
+
         if (!this.getClass().getSimpleName().equalsIgnoreCase("SpongeChunkProviderForge")) {
             String chunkGeneratorName = "";
             if (base instanceof SpongeGenerationPopulator) {
@@ -162,6 +171,7 @@ public GenerationPopulator getBaseGenerationPopulator() {
 
     @Override
     public void setBaseGenerationPopulator(GenerationPopulator baseGenerationPopulator) {
+        this.invalidatePrefetchedTerrain();
         this.baseGenerator = baseGenerationPopulator;
         if (this.baseGenerator instanceof IChunkProviderOverworld) {
             ((IChunkProviderOverworld) this.baseGenerator).setBiomeGenerator(this.biomeGenerator);
@@ -174,6 +184,7 @@ public List<GenerationPopulator> getGenerationPopulators() {
     }
 
     public void setGenerationPopulators(List<GenerationPopulator> generationPopulators) {
+        this.invalidatePrefetchedTerrain();
         this.genpop = Lists.newArrayList(generationPopulators);
     }
 
@@ -191,9 +202,27 @@ public Map<BiomeType, BiomeGenerationSettings> getBiomeOverrides() {
     }
 
     public void setBiomeOverrides(Map<BiomeType, BiomeGenerationSettings> biomeOverrides) {
+        this.invalidatePrefetchedTerrain();
         this.biomeSettings = Maps.newHashMap(biomeOverrides);
     }
 
+    /**
+     * Gets the generator used to generate the base terrain of upcoming chunks
+     * off the main thread, if enabled.
+     *
+     * @return The async terrain generator, or null if disabled
+     */
+    @Nullable
+    public AsyncTerrainGenerator getAsyncTerrainGenerator() {
+        return this.asyncTerrainGenerator;
+    }
+
+    private void invalidatePrefetchedTerrain() {
+        if (this.asyncTerrainGenerator != null) {
+            this.asyncTerrainGenerator.invalidate();
+        }
+    }
+
     @Override
     public BiomeGenerator getBiomeGenerator() {
         return this.biomeGenerator;
@@ -201,6 +230,7 @@ public BiomeGenerator getBiomeGenerator() {
 
     @Override
     public void setBiomeGenerator(BiomeGenerator biomeGenerator) {
+        this.invalidatePrefetchedTerrain();
         this.biomeGenerator = biomeGenerator;
         this.world.provider.biomeProvider = CustomBiomeProvider.of(biomeGenerator);
         if (this.baseGenerator instanceof IChunkProviderOverworld) {
@@ -237,56 +267,92 @@ public List<Populator> getPopulators(Class<? extends Populator> type) {
 
     @Override
     public Chunk generateChunk(int chunkX, int chunkZ) {
-        this.rand.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
+        if (this.asyncTerrainGenerator != null) {
+            final AsyncTerrainGenerator.Terrain terrain = this.asyncTerrainGenerator.take(chunkX, chunkZ);
+            if (terrain != null) {
+                final Chunk chunk = new Chunk(this.world, terrain.primer, chunkX, chunkZ);
+                terrain.biomes.fill(chunk.getBiomeArray());
+                chunk.generateSkylightMap();
+                return chunk;
+            }
+        }
+
+        this.rand.setSeed(getChunkSeed(chunkX, chunkZ));
         this.cachedBiomes.reuse(new Vector3i(chunkX * 16, 0, chunkZ * 16));
         this.biomeGenerator.generateBiomes(this.cachedBiomes);
         ImmutableBiomeVolume biomeBuffer = this.cachedBiomes.getImmutableBiomeCopy();
 
-        // Generate base terrain
         ChunkPrimer chunkprimer = new ChunkPrimer();
+        this.generateTerrain(chunkX, chunkZ, chunkprimer, biomeBuffer, this.rand, this.stoneNoise, this.genpop, this::getBiomeSettings);
+
+        // Assemble chunk
+        Chunk chunk;
+        if (this.baseGenerator instanceof SpongeGenerationPopulator && ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk() != null) {
+            chunk = ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk();
+            ((IMixinChunk) chunk).fill(chunkprimer);
+        } else {
+            chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
+            this.cachedBiomes.fill(chunk.getBiomeArray());
+        }
+        chunk.generateSkylightMap();
+        return chunk;
+    }
+
+    /**
+     * Generates the base terrain of a chunk into the given primer. This only
+     * touches the given buffers, so it may be called off the main thread for
+     * generators whose populators are thread safe.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param chunkprimer The primer to generate into
+     * @param biomeBuffer The biomes of the chunk
+     * @param rand The random, seeded with {@link #getChunkSeed(int, int)}
+     * @param stoneNoise The stone noise buffer
+     * @param genpop The generation populators to apply
+     * @param biomeSettings The settings of each biome in the chunk
+     */
+    void generateTerrain(int chunkX, int chunkZ, ChunkPrimer chunkprimer, ImmutableBiomeVolume biomeBuffer, Random rand, double[] stoneNoise,
+            List<GenerationPopulator> genpop, Function<BiomeType, BiomeGenerationSettings> biomeSettings) {
+        // Generate base terrain
         MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
         this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
 
         if (!(this.baseGenerator instanceof SpongeGenerationPopulator)) {
-            this.replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+            this.replaceBiomeBlocks(this.world, rand, chunkX, chunkZ, chunkprimer, biomeBuffer, stoneNoise, biomeSettings);
         }
 
         // Apply the generator populators to complete the blockBuffer
-        for (GenerationPopulator populator : this.genpop) {
+        for (GenerationPopulator populator : genpop) {
             populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
         }
 
-        // Get unique biomes to determine what generator populators to run
+        // run our generator populators
+        for (BiomeType type : getUniqueBiomes(biomeBuffer, chunkX, chunkZ)) {
+            BiomeGenerationSettings settings = biomeSettings.apply(type);
+            for (GenerationPopulator populator : settings.getGenerationPopulators()) {
+                populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+            }
+        }
+    }
+
+    static long getChunkSeed(int chunkX, int chunkZ) {
+        return chunkX * 341873128712L + chunkZ * 132897987541L;
+    }
+
+    // Get unique biomes to determine what generator populators to run
+    static List<BiomeType> getUniqueBiomes(ImmutableBiomeVolume biomes, int chunkX, int chunkZ) {
         List<BiomeType> uniqueBiomes = Lists.newArrayList();
         BiomeType biome;
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                biome = this.cachedBiomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
+                biome = biomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
                 if (!uniqueBiomes.contains(biome)) {
                     uniqueBiomes.add(biome);
                 }
             }
         }
-
-        // run our generator populators
-        for (BiomeType type : uniqueBiomes) {
-            BiomeGenerationSettings settings = this.getBiomeSettings(type);
-            for (GenerationPopulator populator : settings.getGenerationPopulators()) {
-                populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
-            }
-        }
-
-        // Assemble chunk
-        Chunk chunk;
-        if (this.baseGenerator instanceof SpongeGenerationPopulator && ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk() != null) {
-            chunk = ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk();
-            ((IMixinChunk) chunk).fill(chunkprimer);
-        } else {
-            chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
-            this.cachedBiomes.fill(chunk.getBiomeArray());
-        }
-        chunk.generateSkylightMap();
-        return chunk;
+        return uniqueBiomes;
     }
 
     @Override
@@ -535,14 +601,19 @@ public void recreateStructures(Chunk chunkIn, int x, int z) {
     }
 
     public void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes) {
+        this.replaceBiomeBlocks(world, rand, x, z, chunk, biomes, this.stoneNoise, this::getBiomeSettings);
+    }
+
+    private void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes, double[] stoneNoise,
+            Function<BiomeType, BiomeGenerationSettings> biomeSettings) {
         double d0 = 0.03125D;
-        this.stoneNoise = this.noise4.getRegion(this.stoneNoise, x * 16, z * 16, 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
+        stoneNoise = this.noise4.getRegion(stoneNoise, x * 16, z * 16, 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
         Vector3i min = biomes.getBiomeMin();
         for (int x0 = 0; x0 < 16; ++x0) {
             for (int z0 = 0; z0 < 16; ++z0) {
                 BiomeType biomegenbase = biomes.getBiome(min.getX() + x0, 0, min.getZ() + z0);
-                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, this.stoneNoise[x0 + z0 * 16],
-                        this.getBiomeSettings(biomegenbase).getGroundCoverLayers());
+                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, stoneNoise[x0 + z0 * 16],
+                        biomeSettings.apply(biomegenbase).getGroundCoverLayers());
             }
         }
     }
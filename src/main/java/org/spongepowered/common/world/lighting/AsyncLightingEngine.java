@@ -0,0 +1,173 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncLightingCategory;
+import org.spongepowered.common.interfaces.IMixinChunk;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the asynchronous light updates of a single world.
+ *
+ * <p>Every task works on one chunk and its 3x3 neighborhood, and holds the
+ * {@link LightUpdateQueue#getLock() locks} of all of those chunks while it
+ * runs. Locks are always taken in ascending x, then z order, so overlapping
+ * neighborhoods never deadlock. The world is split into tiles of 4x4 chunks
+ * that are each bound to one thread, which keeps neighboring tasks on the
+ * same thread and limits lock contention to tile borders.</p>
+ */
+public final class AsyncLightingEngine {
+
+    private static final int TILE_SHIFT = 2;
+    private static final Comparator<Chunk> LOCK_ORDER = Comparator.<Chunk>comparingInt(chunk -> chunk.x).thenComparingInt(chunk -> chunk.z);
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread #%d").build();
+
+    private final WorldServer world;
+    private final ExecutorService[] partitions;
+    private final long statsIntervalNanos;
+
+    private final LongAdder queuedChecks = new LongAdder();
+    private final LongAdder queuedTasks = new LongAdder();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong lastStatsTime = new AtomicLong(System.nanoTime());
+
+    public AsyncLightingEngine(WorldServer world) {
+        final AsyncLightingCategory category = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingCategory();
+        this.world = world;
+        this.partitions = new ExecutorService[Math.max(1, category.getNumThreads())];
+        for (int i = 0; i < this.partitions.length; i++) {
+            this.partitions[i] = Executors.newSingleThreadExecutor(THREAD_FACTORY);
+        }
+        this.statsIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, category.getStatsInterval()));
+    }
+
+    /**
+     * Submits a task that updates light in the given chunk. The task runs
+     * while holding the locks of the chunk and of its neighbors.
+     *
+     * @param chunk The chunk being updated
+     * @param neighbors The loaded neighbors of the chunk
+     * @param task The task
+     */
+    public void execute(Chunk chunk, List<Chunk> neighbors, Runnable task) {
+        final List<Chunk> region = new ArrayList<>(neighbors.size() + 1);
+        region.add(chunk);
+        region.addAll(neighbors);
+        region.sort(LOCK_ORDER);
+        final long queuedTime = System.nanoTime();
+        this.queuedTasks.increment();
+        this.getPartition(chunk).execute(() -> this.run(region, task, queuedTime));
+    }
+
+    private void run(List<Chunk> region, Runnable task, long queuedTime) {
+        int locked = 0;
+        try {
+            for (; locked < region.size(); locked++) {
+                ((IMixinChunk) region.get(locked)).getLightUpdateQueue().getLock().lock();
+            }
+            task.run();
+        } finally {
+            while (locked > 0) {
+                ((IMixinChunk) region.get(--locked)).getLightUpdateQueue().getLock().unlock();
+            }
+            this.queuedTasks.decrement();
+            this.recordLatency(System.nanoTime() - queuedTime);
+        }
+    }
+
+    private ExecutorService getPartition(Chunk chunk) {
+        final int hash = 31 * (chunk.x >> TILE_SHIFT) + (chunk.z >> TILE_SHIFT);
+        return this.partitions[Math.floorMod(hash, this.partitions.length)];
+    }
+
+    private void recordLatency(long latency) {
+        this.completedTasks.increment();
+        this.latencyNanos.add(latency);
+        long max;
+        do {
+            max = this.maxLatencyNanos.get();
+        } while (latency > max && !this.maxLatencyNanos.compareAndSet(max, latency));
+
+        if (this.statsIntervalNanos > 0) {
+            final long now = System.nanoTime();
+            final long last = this.lastStatsTime.get();
+            if (now - last >= this.statsIntervalNanos && this.lastStatsTime.compareAndSet(last, now)) {
+                this.logStats();
+            }
+        }
+    }
+
+    private void logStats() {
+        final long completed = this.completedTasks.sumThenReset();
+        final long totalLatency = this.latencyNanos.sumThenReset();
+        final long maxLatency = this.maxLatencyNanos.getAndSet(0);
+        SpongeImpl.getLogger().info("Async lighting in world '{}': {} queued checks, {} queued tasks, {} completed, average latency {} ms, "
+                + "max latency {} ms", this.world.getWorldInfo().getWorldName(), this.getQueuedChecks(), this.getQueueDepth(), completed,
+                completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency / completed), TimeUnit.NANOSECONDS.toMillis(maxLatency));
+    }
+
+    /**
+     * Records light checks that were added to, or drained from, a chunk's
+     * {@link LightUpdateQueue}.
+     *
+     * @param delta The change in queued checks
+     */
+    public void addQueuedChecks(int delta) {
+        this.queuedChecks.add(delta);
+    }
+
+    /**
+     * Gets the number of light checks queued in chunks of this world.
+     *
+     * @return The number of queued checks
+     */
+    public long getQueuedChecks() {
+        return this.queuedChecks.sum();
+    }
+
+    /**
+     * Gets the number of submitted tasks that have not completed yet.
+     *
+     * @return The queue depth
+     */
+    public long getQueueDepth() {
+        return this.queuedTasks.sum();
+    }
+}
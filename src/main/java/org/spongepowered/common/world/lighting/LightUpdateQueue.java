@@ -0,0 +1,171 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * The light checks queued for a single chunk, one bit per block and light
+ * type. Queuing the same block twice before it is processed coalesces into
+ * a single check. Bits are kept per 16x16x16 section, which are only
+ * allocated once a check is queued inside them.
+ */
+public final class LightUpdateQueue {
+
+    private static final int SECTION_COUNT = 16;
+    private static final int WORDS_PER_SECTION = 4096 / Long.SIZE;
+
+    private final AtomicReferenceArray<AtomicLongArray> skySections = new AtomicReferenceArray<>(SECTION_COUNT);
+    private final AtomicReferenceArray<AtomicLongArray> blockSections = new AtomicReferenceArray<>(SECTION_COUNT);
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Queues a light check for the given position.
+     *
+     * @param type The light type
+     * @param pos The position, only the bits within the chunk are used
+     * @return True if the position was not queued yet
+     */
+    public boolean add(EnumSkyBlock type, BlockPos pos) {
+        final int y = pos.getY();
+        if (y < 0 || y > 255) {
+            return false;
+        }
+        final AtomicReferenceArray<AtomicLongArray> sections = this.getSections(type);
+        AtomicLongArray section = sections.get(y >> 4);
+        if (section == null) {
+            sections.compareAndSet(y >> 4, null, new AtomicLongArray(WORDS_PER_SECTION));
+            section = sections.get(y >> 4);
+        }
+        final int index = (y & 15) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+        final long mask = 1L << index;
+        long word;
+        do {
+            word = section.get(index >>> 6);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!section.compareAndSet(index >>> 6, word, word | mask));
+        this.size.incrementAndGet();
+        return true;
+    }
+
+    public boolean contains(EnumSkyBlock type, BlockPos pos) {
+        final int y = pos.getY();
+        if (y < 0 || y > 255) {
+            return false;
+        }
+        final AtomicLongArray section = this.getSections(type).get(y >> 4);
+        if (section == null) {
+            return false;
+        }
+        final int index = (y & 15) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+        return (section.get(index >>> 6) & 1L << index) != 0;
+    }
+
+    /**
+     * Removes every queued check of the given type and passes it to the
+     * consumer, packed as {@code y << 8 | z << 4 | x} in chunk coordinates.
+     * Checks queued while draining are either included or left for the next
+     * drain.
+     *
+     * @param type The light type
+     * @param consumer The consumer of packed positions
+     */
+    public void drain(EnumSkyBlock type, IntConsumer consumer) {
+        final AtomicReferenceArray<AtomicLongArray> sections = this.getSections(type);
+        for (int sectionY = 0; sectionY < SECTION_COUNT; sectionY++) {
+            final AtomicLongArray section = sections.get(sectionY);
+            if (section == null) {
+                continue;
+            }
+            for (int i = 0; i < WORDS_PER_SECTION; i++) {
+                if (section.get(i) == 0) {
+                    continue;
+                }
+                long word = section.getAndSet(i, 0);
+                this.size.addAndGet(-Long.bitCount(word));
+                while (word != 0) {
+                    final int bit = Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    consumer.accept(sectionY << 12 | i << 6 | bit);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of queued checks over both light types.
+     *
+     * @return The number of queued checks
+     */
+    public int size() {
+        return this.size.get();
+    }
+
+    /**
+     * Marks this queue as having a processing task scheduled.
+     *
+     * @return True if no task was scheduled yet and the caller should submit one
+     */
+    public boolean trySchedule() {
+        return this.scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Clears the scheduled flag, called by the processing task before it
+     * starts draining so that checks queued meanwhile schedule a new task.
+     */
+    public void clearScheduled() {
+        this.scheduled.set(false);
+    }
+
+    /**
+     * Gets the lock held while light in this chunk is being updated.
+     *
+     * @return The lock
+     */
+    public ReentrantLock getLock() {
+        return this.lock;
+    }
+
+    private AtomicReferenceArray<AtomicLongArray> getSections(EnumSkyBlock type) {
+        return type == EnumSkyBlock.SKY ? this.skySections : this.blockSections;
+    }
+
+    public static BlockPos toBlockPos(int chunkX, int chunkZ, int packed) {
+        return new BlockPos(chunkX << 4 | packed & 15, packed >>> 8, chunkZ << 4 | packed >>> 4 & 15);
+    }
+}
@@ -30,6 +30,12 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -43,12 +49,26 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
 import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMap;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.gen.AsyncTerrainGenerator;
+import org.spongepowered.common.world.storage.RegionHeaderIndex;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -60,6 +80,12 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
+    // Chunks loaded this many layers ago are no longer needed to populate the current layer
+    private static final int UNLOAD_LAYER_DELAY = 2;
+    // Same as the amount of chunks vanilla unloads per tick
+    private static final int UNLOAD_BATCH_SIZE = 100;
+    private static final long CHECKPOINT_INTERVAL = 30000;
+    private static final String CHECKPOINT_FILE = "sponge_pregen.dat";
 
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
@@ -71,7 +97,11 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private final Scheduler scheduler;
 
     private final World world;
+    private final WorldServer worldServer;
     private final Predicate<Vector3i> doesChunkExistCheck;
+    @Nullable private final RegionHeaderIndex regionIndex;
+    private final Path checkpointFile;
+    private final Vector3i center;
     private final int chunkRadius;
     private final int chunkCount;
     private final float tickPercent;
@@ -94,6 +124,12 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
 
+    // Chunks loaded by this task, in the order they were loaded
+    private final Deque<LoadedChunk> loadedChunks = new ArrayDeque<>();
+    private double millisPerChunk = 0;
+    private long lastStepMillis = 0;
+    private long lastCheckpointTime = System.currentTimeMillis();
+
     // Used for wall clock times.
     private long generationStartTime = 0;
     private long generationEndTime = 0;
@@ -108,18 +144,26 @@ private SpongeChunkPreGenerateTask(Object plugin,
 
         this.plugin = plugin;
         this.world = world;
+        this.worldServer = (WorldServer) world;
 
         // In order to be able to check whether a chunk exists, we could use standard Sponge API methods. However,
         // because they set up an async method which we need to get sync anyway, we just bypass it.
         // This results in a extremely noticeable speed improvement.
         //
-        // This also allows us to catch non Anvil file formats too.
-        if (world.getWorldStorage() instanceof IMixinAnvilChunkLoader) {
-            this.doesChunkExistCheck = v -> ((IMixinAnvilChunkLoader) world.getWorldStorage())
-                    .chunkExists((net.minecraft.world.World) this.world, v.getX(), v.getZ());
+        // Anvil worlds are checked against the location tables of their region files, which are read once per
+        // region instead of opening every chunk. Other file formats only skip loaded chunks.
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) this.worldServer.getChunkProvider();
+        final IChunkLoader chunkLoader = this.worldServer.getChunkProvider().chunkLoader;
+        if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+            final RegionHeaderIndex regionIndex = new RegionHeaderIndex(((IMixinAnvilChunkLoader) chunkLoader).getWorldDir());
+            this.regionIndex = regionIndex;
+            this.doesChunkExistCheck = v -> chunkProvider.getLoadedChunkWithoutMarkingActive(v.getX(), v.getZ()) != null
+                    || regionIndex.isSaved(v.getX(), v.getZ());
         } else {
-            this.doesChunkExistCheck = v -> false;
+            this.regionIndex = null;
+            this.doesChunkExistCheck = v -> chunkProvider.getLoadedChunkWithoutMarkingActive(v.getX(), v.getZ()) != null;
         }
+        this.checkpointFile = world.getDirectory().resolve(CHECKPOINT_FILE);
 
         this.chunkRadius = GenericMath.floor(diameter / 32);
         this.chunkCount = chunkCount;
@@ -129,14 +173,16 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.tickInterval = tickInterval;
         final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
         if (currentPosition.isPresent()) {
-            this.currentPosition = currentPosition.get();
+            this.center = currentPosition.get();
         } else {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
+        this.currentPosition = this.center;
         this.currentGenCount = 4;
         this.currentLayer = 0;
         this.currentIndex = 0;
         this.nextJump = 0;
+        readCheckpoint();
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
@@ -206,6 +252,7 @@ public void cancel() {
             }
             this.spongeTask.cancel();
             this.isCancelled = true;
+            writeCheckpoint();
         }
     }
 
@@ -236,6 +283,7 @@ public void accept(Task task) {
         }
 
         // Count how many chunks are generated during the tick
+        final int chunkLimit = getChunkLimit();
         int count = 0;
         int skipped = 0;
         do {
@@ -244,14 +292,14 @@ public void accept(Task task) {
             final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
             final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
 
-            // We can only skip generation if all chunks are loaded.
+            // We can only skip generation if all chunks are generated.
             if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
 
                 // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
+                loadChunk(position);
+                loadChunk(pos1);
+                loadChunk(pos2);
+                loadChunk(pos3);
 
                 count += this.currentGenCount;
             } else {
@@ -259,10 +307,23 @@ public void accept(Task task) {
                 // Skipped them, log this.
                 skipped += this.currentGenCount;
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        } while (hasNextChunkPosition() && count < chunkLimit && checkTickTime(System.currentTimeMillis() - stepStartTime));
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
+        this.lastStepMillis = System.currentTimeMillis() - stepStartTime;
+        if (count > 0) {
+            final double millisPerChunk = (double) this.lastStepMillis / count;
+            this.millisPerChunk = this.millisPerChunk == 0 ? millisPerChunk : this.millisPerChunk * 0.75 + millisPerChunk * 0.25;
+        }
+
+        unloadCompletedChunks();
+        if (System.currentTimeMillis() - this.lastCheckpointTime >= CHECKPOINT_INTERVAL) {
+            writeCheckpoint();
+        }
+
+        // Get the terrain of the next step generating while we wait for it
+        prefetchNextChunkPositions(Math.max(count, this.currentGenCount));
 
         final long deltaTime = System.currentTimeMillis() - stepStartTime;
         this.generationEndTime = System.currentTimeMillis();
@@ -291,6 +352,124 @@ public void accept(Task task) {
             this.isCancelled = true;
             unregisterListener();
             task.cancel();
+            deleteCheckpoint();
+        }
+    }
+
+    private void loadChunk(Vector3i position) {
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) this.worldServer.getChunkProvider();
+        final boolean loaded = chunkProvider.getLoadedChunkWithoutMarkingActive(position.getX(), position.getZ()) != null;
+        this.world.loadChunk(position, true);
+        if (!loaded) {
+            this.loadedChunks.add(new LoadedChunk(position.getX(), position.getZ(), this.currentLayer));
+        }
+        if (this.regionIndex != null) {
+            this.regionIndex.markSaved(position.getX(), position.getZ());
+        }
+    }
+
+    /**
+     * Queues the chunks this task loaded for unloading, in batches, once no
+     * position of the current layer can need them to be populated anymore.
+     */
+    private void unloadCompletedChunks() {
+        final ChunkProviderServer chunkProvider = this.worldServer.getChunkProvider();
+        final IMixinPlayerChunkMap playerChunkMap = (IMixinPlayerChunkMap) this.worldServer.getPlayerChunkMap();
+        int unloaded = 0;
+        while (!this.loadedChunks.isEmpty() && unloaded < UNLOAD_BATCH_SIZE
+                && this.loadedChunks.peek().layer + UNLOAD_LAYER_DELAY <= this.currentLayer) {
+            final LoadedChunk loadedChunk = this.loadedChunks.poll();
+            final Chunk chunk = ((IMixinChunkProviderServer) chunkProvider).getLoadedChunkWithoutMarkingActive(loadedChunk.x, loadedChunk.z);
+            if (chunk != null && !chunk.unloadQueued && !playerChunkMap.isChunkInUse(loadedChunk.x, loadedChunk.z)) {
+                chunkProvider.queueUnload(chunk);
+                unloaded++;
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of chunks that may be generated during this step. The
+     * limit is derived from the measured time per chunk and the time the rest
+     * of the server currently takes per tick, so that the whole tick stays
+     * within the configured percentage of the tick interval.
+     *
+     * @return The maximum amount of chunks to generate
+     */
+    private int getChunkLimit() {
+        int limit = this.chunkCount > 0 ? this.chunkCount : Integer.MAX_VALUE;
+        if (this.tickPercent > 0 && this.millisPerChunk > 0) {
+            final long[] tickTimes = SpongeImpl.getServer().tickTimeArray;
+            long totalTickTime = 0;
+            for (long tickTime : tickTimes) {
+                totalTickTime += tickTime;
+            }
+            final double averageTickMillis = totalTickTime / (double) tickTimes.length / 1000000.0;
+            // The average includes our own steps, spread over the interval between them
+            final double otherMillis = Math.max(0, averageTickMillis - (double) this.lastStepMillis / this.tickInterval);
+            final double budget = this.tickTimeLimit - otherMillis;
+            // Always allow the next position, or generation would stall on a busy server
+            limit = Math.min(limit, Math.max(1, (int) (budget / this.millisPerChunk)));
+        }
+        return limit;
+    }
+
+    private void readCheckpoint() {
+        if (!Files.isRegularFile(this.checkpointFile)) {
+            return;
+        }
+        try (InputStream stream = Files.newInputStream(this.checkpointFile)) {
+            final NBTTagCompound compound = CompressedStreamTools.readCompressed(stream);
+            // Only resume the task the checkpoint was written for
+            if (compound.getInteger(NbtDataUtil.PREGEN_CENTER_X) != this.center.getX()
+                    || compound.getInteger(NbtDataUtil.PREGEN_CENTER_Z) != this.center.getZ()
+                    || compound.getInteger(NbtDataUtil.PREGEN_RADIUS) != this.chunkRadius) {
+                return;
+            }
+            this.currentPosition = new Vector3i(compound.getInteger(NbtDataUtil.PREGEN_POSITION_X), 0, compound.getInteger(NbtDataUtil.PREGEN_POSITION_Z));
+            this.currentGenCount = compound.getInteger(NbtDataUtil.PREGEN_GEN_COUNT);
+            this.currentLayer = compound.getInteger(NbtDataUtil.PREGEN_LAYER);
+            this.currentIndex = compound.getInteger(NbtDataUtil.PREGEN_INDEX);
+            this.nextJump = compound.getInteger(NbtDataUtil.PREGEN_NEXT_JUMP);
+            this.chunksGenerated = compound.getInteger(NbtDataUtil.PREGEN_GENERATED);
+            this.chunksSkipped = compound.getInteger(NbtDataUtil.PREGEN_SKIPPED);
+            SpongeImpl.getLogger().info("Resuming chunk pre-generation of world {} at layer {} of {}.",
+                    this.world.getName(), this.currentLayer, this.chunkRadius);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to read the chunk pre-generation checkpoint of world {}, starting over.", this.world.getName(), e);
+        }
+    }
+
+    private void writeCheckpoint() {
+        this.lastCheckpointTime = System.currentTimeMillis();
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger(NbtDataUtil.PREGEN_CENTER_X, this.center.getX());
+        compound.setInteger(NbtDataUtil.PREGEN_CENTER_Z, this.center.getZ());
+        compound.setInteger(NbtDataUtil.PREGEN_RADIUS, this.chunkRadius);
+        compound.setInteger(NbtDataUtil.PREGEN_POSITION_X, this.currentPosition.getX());
+        compound.setInteger(NbtDataUtil.PREGEN_POSITION_Z, this.currentPosition.getZ());
+        compound.setInteger(NbtDataUtil.PREGEN_GEN_COUNT, this.currentGenCount);
+        compound.setInteger(NbtDataUtil.PREGEN_LAYER, this.currentLayer);
+        compound.setInteger(NbtDataUtil.PREGEN_INDEX, this.currentIndex);
+        compound.setInteger(NbtDataUtil.PREGEN_NEXT_JUMP, this.nextJump);
+        compound.setInteger(NbtDataUtil.PREGEN_GENERATED, this.chunksGenerated);
+        compound.setInteger(NbtDataUtil.PREGEN_SKIPPED, this.chunksSkipped);
+        try {
+            // Write to a temporary file first so a crash can't leave a corrupt checkpoint behind
+            final Path tempFile = this.checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+            try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                CompressedStreamTools.writeCompressed(compound, stream);
+            }
+            Files.move(tempFile, this.checkpointFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to write the chunk pre-generation checkpoint of world {}.", this.world.getName(), e);
+        }
+    }
+
+    private void deleteCheckpoint() {
+        try {
+            Files.deleteIfExists(this.checkpointFile);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to delete the chunk pre-generation checkpoint of world {}.", this.world.getName(), e);
         }
     }
 
@@ -314,6 +493,7 @@ private void cancelTask(Task task) {
 
         this.isCancelled = true;
         unregisterListener();
+        writeCheckpoint();
     }
 
     private boolean hasNextChunkPosition() {
@@ -342,14 +522,53 @@ private Vector3i nextChunkPosition() {
         return nextPosition;
     }
 
-    private boolean checkChunkCount(int count) {
-        return this.chunkCount <= 0 || count < this.chunkCount;
+    private void prefetchNextChunkPositions(int chunks) {
+        final Vector3i position = this.currentPosition;
+        final int genCount = this.currentGenCount;
+        final int layer = this.currentLayer;
+        final int index = this.currentIndex;
+        final int jump = this.nextJump;
+
+        int prefetched = 0;
+        while (prefetched < chunks && hasNextChunkPosition()) {
+            final Vector3i next = nextChunkPosition();
+            prefetchChunk(next);
+            prefetchChunk(next.sub(Vector3i.UNIT_X));
+            prefetchChunk(next.sub(Vector3i.UNIT_Z));
+            prefetchChunk(next.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z));
+            prefetched += this.currentGenCount;
+        }
+
+        this.currentPosition = position;
+        this.currentGenCount = genCount;
+        this.currentLayer = layer;
+        this.currentIndex = index;
+        this.nextJump = jump;
+    }
+
+    private void prefetchChunk(Vector3i position) {
+        if (!this.doesChunkExistCheck.test(position)) {
+            AsyncTerrainGenerator.prefetch(this.worldServer, position.getX(), position.getZ());
+        }
     }
 
     private boolean checkTickTime(long tickTime) {
         return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
     }
 
+    private static final class LoadedChunk {
+
+        final int x;
+        final int z;
+        final int layer;
+
+        LoadedChunk(int x, int z, int layer) {
+            this.x = x;
+            this.z = z;
+            this.layer = layer;
+        }
+    }
+
     public static class Builder implements ChunkPreGenerate.Builder {
 
         private static final String TIME_FORMAT = "s's 'S'ms'";
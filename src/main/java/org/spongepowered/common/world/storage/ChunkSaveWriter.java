@@ -0,0 +1,223 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.mixin.core.world.chunk.storage.IMixinRegionFile;
+import org.spongepowered.common.util.QueuedChunk;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes batches of queued chunks to their region files. The chunks of a
+ * batch are compressed in parallel on a shared pool while the file IO thread
+ * writes them, grouped and ordered by region file, as they become available.
+ *
+ * <p>Also keeps the statistics of chunk saves exported with timings
+ * reports.</p>
+ */
+public final class ChunkSaveWriter {
+
+    private static final Comparator<QueuedChunk> REGION_ORDER = Comparator
+            .<QueuedChunk>comparingInt(chunk -> chunk.coords.x >> 5)
+            .thenComparingInt(chunk -> chunk.coords.z >> 5)
+            .thenComparingInt(chunk -> chunk.coords.z & 31)
+            .thenComparingInt(chunk -> chunk.coords.x & 31);
+
+    private static final ExecutorService COMPRESSION_EXECUTOR = Executors.newFixedThreadPool(
+            SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkSaveCategory().getCompressionThreads(),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Chunk Compression Thread #%d").setDaemon(true).build());
+
+    private static final AtomicInteger pendingChunks = new AtomicInteger();
+    private static final LongAdder savedChunks = new LongAdder();
+    private static final LongAdder totalLatency = new LongAdder();
+    private static final AtomicLong maxLatency = new AtomicLong();
+    /** The positions of chunks written while their world is being copied, one set per copy by save location */
+    private static final Map<File, List<Set<ChunkPos>>> trackedWrites = new ConcurrentHashMap<>();
+
+    private ChunkSaveWriter() {
+    }
+
+    /**
+     * Compresses and writes the compounds of the given chunks. The batch is
+     * sorted by region file in the process. Chunks that could not be
+     * compressed have their {@link QueuedChunk#error} set and are not
+     * written.
+     *
+     * @param saveLocation The directory containing the region directory
+     * @param batch The chunks to write
+     */
+    public static void write(File saveLocation, List<QueuedChunk> batch) {
+        batch.sort(REGION_ORDER);
+        final CompletableFuture<?>[] compressions = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < compressions.length; i++) {
+            final QueuedChunk chunk = batch.get(i);
+            compressions[i] = CompletableFuture.runAsync(() -> compress(chunk), COMPRESSION_EXECUTOR);
+        }
+
+        RegionFile region = null;
+        int regionX = 0;
+        int regionZ = 0;
+        for (int i = 0; i < compressions.length; i++) {
+            final QueuedChunk chunk = batch.get(i);
+            compressions[i].join();
+            if (chunk.data == null) {
+                continue;
+            }
+            final int x = chunk.coords.x;
+            final int z = chunk.coords.z;
+            if (region == null || regionX != x >> 5 || regionZ != z >> 5) {
+                region = RegionFileCache.createOrLoadRegionFile(saveLocation, x, z);
+                regionX = x >> 5;
+                regionZ = z >> 5;
+            }
+            try {
+                ((IMixinRegionFile) region).writeCompressed(x & 31, z & 31, chunk.data, chunk.length);
+            } catch (Exception e) {
+                chunk.error = e;
+                continue;
+            }
+            if (!trackedWrites.isEmpty()) {
+                final List<Set<ChunkPos>> trackers = trackedWrites.get(saveLocation);
+                if (trackers != null) {
+                    for (Set<ChunkPos> tracked : trackers) {
+                        tracked.add(chunk.coords);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts recording the positions of all chunks written to the region
+     * files in the given save location. Every caller gets its own set, so
+     * multiple copies of a world may track its writes at the same time.
+     *
+     * @param saveLocation The directory containing the region directory
+     * @return The set the positions of written chunks are added to
+     */
+    public static Set<ChunkPos> trackWrites(File saveLocation) {
+        final Set<ChunkPos> tracked = ConcurrentHashMap.newKeySet();
+        trackedWrites.compute(saveLocation, (location, trackers) -> {
+            final List<Set<ChunkPos>> updated = trackers == null ? new CopyOnWriteArrayList<>() : trackers;
+            updated.add(tracked);
+            return updated;
+        });
+        return tracked;
+    }
+
+    /**
+     * Stops adding written chunks to a set returned by
+     * {@link #trackWrites(File)}.
+     *
+     * @param saveLocation The directory containing the region directory
+     * @param tracked The set of the tracked positions
+     */
+    public static void stopTrackingWrites(File saveLocation, Set<ChunkPos> tracked) {
+        trackedWrites.computeIfPresent(saveLocation, (location, trackers) -> {
+            // Not by equality, the sets of two copies may have the same contents
+            trackers.removeIf(set -> set == tracked);
+            return trackers.isEmpty() ? null : trackers;
+        });
+    }
+
+    private static void compress(QueuedChunk chunk) {
+        final ExposedByteArrayOutputStream bytes = new ExposedByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes)))) {
+            CompressedStreamTools.write(chunk.compound, out);
+        } catch (Exception e) {
+            chunk.error = e;
+            return;
+        }
+        chunk.data = bytes.buffer();
+        chunk.length = bytes.size();
+    }
+
+    public static void onChunkQueued() {
+        pendingChunks.incrementAndGet();
+    }
+
+    public static void onChunkSaved(QueuedChunk chunk) {
+        pendingChunks.decrementAndGet();
+        savedChunks.increment();
+        final long latency = System.nanoTime() - chunk.queuedTime;
+        totalLatency.add(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    public static void onChunkDropped() {
+        pendingChunks.decrementAndGet();
+    }
+
+    public static int getPendingChunks() {
+        return pendingChunks.get();
+    }
+
+    public static long getSavedChunks() {
+        return savedChunks.sum();
+    }
+
+    public static long getAverageLatencyMillis() {
+        final long saved = savedChunks.sum();
+        return saved == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency.sum() / saved);
+    }
+
+    public static long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatency.get());
+    }
+
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ExposedByteArrayOutputStream() {
+            super(8192);
+        }
+
+        byte[] buffer() {
+            return this.buf;
+        }
+    }
+}
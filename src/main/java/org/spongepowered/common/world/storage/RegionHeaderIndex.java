@@ -0,0 +1,111 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Answers whether chunks are saved in the region files of a world by reading
+ * the location table at the start of each region file once, instead of opening
+ * the data of every chunk that is checked.
+ *
+ * <p>The tables are cached, chunks saved after their region was read are only
+ * known if they are {@link #markSaved(int, int) marked}.</p>
+ */
+public final class RegionHeaderIndex {
+
+    private static final int CHUNKS_PER_REGION = 1024;
+    private static final int HEADER_SIZE = CHUNKS_PER_REGION * 4;
+
+    private final Path regionDir;
+    private final Long2ObjectMap<long[]> regions = new Long2ObjectOpenHashMap<>();
+
+    public RegionHeaderIndex(Path worldDir) {
+        this.regionDir = worldDir.resolve("region");
+    }
+
+    public boolean isSaved(int chunkX, int chunkZ) {
+        final long[] saved = this.getRegion(chunkX >> 5, chunkZ >> 5);
+        final int index = (chunkX & 31) + (chunkZ & 31) * 32;
+        return (saved[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void markSaved(int chunkX, int chunkZ) {
+        final long[] saved = this.getRegion(chunkX >> 5, chunkZ >> 5);
+        final int index = (chunkX & 31) + (chunkZ & 31) * 32;
+        saved[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Forgets the region files that were read, they will be read again when
+     * next needed.
+     */
+    public void clear() {
+        this.regions.clear();
+    }
+
+    private long[] getRegion(int regionX, int regionZ) {
+        final long key = ChunkPos.asLong(regionX, regionZ);
+        long[] saved = this.regions.get(key);
+        if (saved == null) {
+            saved = readHeader(this.regionDir.resolve("r." + regionX + "." + regionZ + ".mca"));
+            this.regions.put(key, saved);
+        }
+        return saved;
+    }
+
+    private static long[] readHeader(Path regionFile) {
+        final long[] saved = new long[CHUNKS_PER_REGION / 64];
+        if (!Files.isRegularFile(regionFile)) {
+            return saved;
+        }
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(regionFile, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // Keep reading until the whole table was read
+            }
+        } catch (IOException e) {
+            // Unreadable region files are treated as empty, the chunk loader will deal with them
+            return saved;
+        }
+        header.flip();
+        // Every entry is the sector offset and count of a chunk, zero if the chunk was never saved
+        for (int index = 0; index < header.limit() / 4; index++) {
+            if (header.getInt(index * 4) != 0) {
+                saved[index >>> 6] |= 1L << index;
+            }
+        }
+        return saved;
+    }
+}
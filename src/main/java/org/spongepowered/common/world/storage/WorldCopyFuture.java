@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.api.world.storage.WorldProperties;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The future of a world copy, which also reports how far the copy got.
+ */
+public final class WorldCopyFuture extends CompletableFuture<Optional<WorldProperties>> {
+
+    private final long startTime = System.nanoTime();
+    private final AtomicLong copiedBytes = new AtomicLong();
+    private volatile long totalBytes = -1;
+    private volatile int recopiedChunks;
+    private volatile long endTime;
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public void addCopiedBytes(long bytes) {
+        this.copiedBytes.addAndGet(bytes);
+    }
+
+    public void setRecopiedChunks(int recopiedChunks) {
+        this.recopiedChunks = recopiedChunks;
+    }
+
+    @Override
+    public boolean complete(Optional<WorldProperties> value) {
+        if (!isDone()) {
+            this.endTime = System.nanoTime();
+        }
+        return super.complete(value);
+    }
+
+    @Override
+    public boolean completeExceptionally(Throwable ex) {
+        if (!isDone()) {
+            this.endTime = System.nanoTime();
+        }
+        return super.completeExceptionally(ex);
+    }
+
+    /**
+     * Gets the size of all files to copy, or -1 if it is not known yet.
+     */
+    public long getTotalBytes() {
+        return this.totalBytes;
+    }
+
+    public long getCopiedBytes() {
+        return this.copiedBytes.get();
+    }
+
+    /**
+     * Gets the number of chunks which were written during the copy and
+     * copied again at the end.
+     */
+    public int getRecopiedChunks() {
+        return this.recopiedChunks;
+    }
+
+    /**
+     * Gets the fraction of bytes copied so far, between 0 and 1.
+     */
+    public double getProgress() {
+        if (isDone()) {
+            return 1;
+        }
+        final long total = this.totalBytes;
+        return total <= 0 ? 0 : Math.min(1, (double) this.copiedBytes.get() / total);
+    }
+
+    /**
+     * Gets the average number of bytes copied per second.
+     */
+    public long getBytesPerSecond() {
+        final long end = this.endTime != 0 ? this.endTime : System.nanoTime();
+        final long elapsed = Math.max(1, end - this.startTime);
+        return this.copiedBytes.get() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+}
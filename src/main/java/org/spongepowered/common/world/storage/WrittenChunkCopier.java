@@ -0,0 +1,139 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import net.minecraft.world.storage.IThreadedFileIO;
+import net.minecraft.world.storage.ThreadedFileIOBase;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Copies the chunks of a world which were written while its files were being
+ * copied into the copy. This runs on the file IO thread after the pending
+ * chunks of the world were written, so no chunk of the world is written
+ * while they are copied.
+ */
+public final class WrittenChunkCopier implements IThreadedFileIO {
+
+    private static final Comparator<ChunkPos> REGION_ORDER = Comparator
+            .<ChunkPos>comparingInt(pos -> pos.x >> 5)
+            .thenComparingInt(pos -> pos.z >> 5);
+
+    private final IThreadedFileIO loader;
+    private final File saveLocation;
+    private final Set<ChunkPos> tracked;
+    private final File targetLocation;
+    private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+    /**
+     * Queues copying the chunks whose writes were tracked through
+     * {@link ChunkSaveWriter#trackWrites(File)}. The caller stops tracking
+     * once the copy is complete.
+     *
+     * @param loader The chunk loader of the world
+     * @param saveLocation The directory containing the region directory
+     * @param tracked The tracked positions of the written chunks
+     * @param targetLocation The directory to copy the chunks to
+     * @return A future of the number of copied chunks
+     */
+    public static CompletableFuture<Integer> queue(IThreadedFileIO loader, File saveLocation, Set<ChunkPos> tracked, File targetLocation) {
+        final WrittenChunkCopier copier = new WrittenChunkCopier(loader, saveLocation, tracked, targetLocation);
+        ThreadedFileIOBase.getThreadedIOInstance().queueIO(copier);
+        return copier.result;
+    }
+
+    private WrittenChunkCopier(IThreadedFileIO loader, File saveLocation, Set<ChunkPos> tracked, File targetLocation) {
+        this.loader = loader;
+        this.saveLocation = saveLocation;
+        this.tracked = tracked;
+        this.targetLocation = targetLocation;
+    }
+
+    @Override
+    public boolean writeNextIO() {
+        try {
+            // Write everything that is queued, so the region files are complete
+            while (this.loader.writeNextIO()) {
+            }
+            this.result.complete(copy(new ArrayList<>(this.tracked)));
+        } catch (Throwable t) {
+            this.result.completeExceptionally(t);
+        }
+        return false;
+    }
+
+    private int copy(List<ChunkPos> written) throws IOException {
+        written.sort(REGION_ORDER);
+        final File regionDir = new File(this.targetLocation, "region");
+        regionDir.mkdirs();
+        final byte[] buffer = new byte[8192];
+        int copied = 0;
+        RegionFile target = null;
+        int regionX = 0;
+        int regionZ = 0;
+        try {
+            for (ChunkPos pos : written) {
+                if (target == null || regionX != pos.x >> 5 || regionZ != pos.z >> 5) {
+                    if (target != null) {
+                        target.close();
+                    }
+                    regionX = pos.x >> 5;
+                    regionZ = pos.z >> 5;
+                    target = new RegionFile(new File(regionDir, "r." + regionX + "." + regionZ + ".mca"));
+                }
+                final RegionFile source = RegionFileCache.createOrLoadRegionFile(this.saveLocation, pos.x, pos.z);
+                try (DataInputStream in = source.getChunkDataInputStream(pos.x & 31, pos.z & 31)) {
+                    if (in == null) {
+                        continue;
+                    }
+                    try (DataOutputStream out = target.getChunkDataOutputStream(pos.x & 31, pos.z & 31)) {
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            out.write(buffer, 0, read);
+                        }
+                    }
+                }
+                copied++;
+            }
+        } finally {
+            if (target != null) {
+                target.close();
+            }
+        }
+        return copied;
+    }
+
+}
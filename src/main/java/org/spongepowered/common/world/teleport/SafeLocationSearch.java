@@ -0,0 +1,226 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.teleport;
+
+import com.flowpowered.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.teleport.TeleportHelperFilter;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Searches a box of a world for a safe location, visiting the positions in
+ * order of their distance to the center without materializing all of them.
+ *
+ * <p>Positions are visited in {@link SearchOrder}. Block states are read
+ * from the chunk sections directly and the safety of every state is only
+ * evaluated once per set of filters.</p>
+ */
+final class SafeLocationSearch {
+
+    private static final IBlockState AIR = Blocks.AIR.getDefaultState();
+
+    private final WorldServer world;
+    private final TeleportHelperFilter[] filters;
+    private final int floorDistanceCheck;
+    // The safety of block states for each combination of filters that returned an undefined result
+    private final Map<BitSet, Safety> safetyByFilters = new HashMap<>();
+    private final BitSet undefinedFilters = new BitSet();
+    private final Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+    @Nullable private Chunk lastChunk;
+
+    SafeLocationSearch(WorldServer world, Collection<TeleportHelperFilter> filters, int floorDistanceCheck) {
+        this.world = world;
+        this.filters = filters.toArray(new TeleportHelperFilter[0]);
+        this.floorDistanceCheck = floorDistanceCheck;
+    }
+
+    /**
+     * Finds the closest safe position within the given bounds.
+     *
+     * @param center The position to search around
+     * @param min The minimum corner of the bounds, inclusive
+     * @param max The maximum corner of the bounds, inclusive
+     * @return The closest safe position, if any
+     */
+    Optional<Vector3i> find(Vector3i center, Vector3i min, Vector3i max) {
+        final SearchOrder order = new SearchOrder(center, min, max);
+        while (order.next()) {
+            if (this.isSafe(order.getX(), order.getY(), order.getZ())) {
+                return Optional.of(new Vector3i(order.getX(), order.getY(), order.getZ()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isSafe(int x, int y, int z) {
+        final Vector3i position = new Vector3i(x, y, z);
+        final BitSet undefined = this.undefinedFilters;
+        undefined.clear();
+        for (int i = 0; i < this.filters.length; i++) {
+            // If any return Tristate.FALSE, we're not safe.
+            final Tristate isValid = this.filters[i].isValidLocation((World) this.world, position);
+            if (isValid == Tristate.FALSE) {
+                return false;
+            }
+            if (isValid == Tristate.UNDEFINED) {
+                undefined.set(i);
+            }
+        }
+
+        // If we don't have any undefined results, then the location is valid without checking the blocks.
+        if (undefined.isEmpty()) {
+            return true;
+        }
+
+        Safety safety = this.safetyByFilters.get(undefined);
+        if (safety == null) {
+            safety = new Safety(undefined);
+            this.safetyByFilters.put((BitSet) undefined.clone(), safety);
+        }
+
+        // Check the block and the one ABOVE are safe for the body, and the ones BELOW for the floor.
+        return safety.isSafeBody(x, y, z) && safety.isSafeBody(x, y + 1, z)
+                && (this.floorDistanceCheck <= 0 || this.isFloorSafe(safety, x, y, z));
+    }
+
+    private boolean isFloorSafe(Safety safety, int x, int y, int z) {
+        for (int i = 1; i < this.floorDistanceCheck; ++i) {
+            // If it's a safe floor, we can just say yes now.
+            if (safety.isSafeFloor(x, y - i, z)) {
+                return true;
+            }
+
+            // If it's not safe for the body, then we don't want to go through it anyway.
+            if (!safety.isSafeBody(x, y - i, z)) {
+                return false;
+            }
+        }
+
+        // Check the next block down, if it's a floor, then we're good to go, otherwise we'd fall too far for our liking.
+        return safety.isSafeFloor(x, y - this.floorDistanceCheck, z);
+    }
+
+    private IBlockState getBlockState(int x, int y, int z) {
+        if (y >= 256) {
+            return AIR;
+        }
+        final Chunk chunk = this.getChunk(x >> 4, z >> 4);
+        final ExtendedBlockStorage storage = chunk.getBlockStorageArray()[y >> 4];
+        return storage == Chunk.NULL_BLOCK_STORAGE ? AIR : storage.get(x & 15, y & 15, z & 15);
+    }
+
+    private Chunk getChunk(int chunkX, int chunkZ) {
+        Chunk chunk = this.lastChunk;
+        if (chunk != null && chunk.x == chunkX && chunk.z == chunkZ) {
+            return chunk;
+        }
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        chunk = this.chunks.get(key);
+        if (chunk == null) {
+            chunk = this.world.getChunkFromChunkCoords(chunkX, chunkZ);
+            this.chunks.put(key, chunk);
+        }
+        this.lastChunk = chunk;
+        return chunk;
+    }
+
+    /**
+     * The safety of block states according to a set of filters, evaluated
+     * once for every state.
+     */
+    private final class Safety {
+
+        private final TeleportHelperFilter[] filters;
+        private final BitSet known = new BitSet();
+        private final BitSet safeBody = new BitSet();
+        private final BitSet safeFloor = new BitSet();
+
+        Safety(BitSet filters) {
+            this.filters = new TeleportHelperFilter[filters.cardinality()];
+            int index = 0;
+            for (int i = filters.nextSetBit(0); i >= 0; i = filters.nextSetBit(i + 1)) {
+                this.filters[index++] = SafeLocationSearch.this.filters[i];
+            }
+        }
+
+        boolean isSafeBody(int x, int y, int z) {
+            // Anything below the world isn't safe, no point going further.
+            return y >= 0 && this.evaluate(SafeLocationSearch.this.getBlockState(x, y, z), true);
+        }
+
+        boolean isSafeFloor(int x, int y, int z) {
+            return y >= 0 && this.evaluate(SafeLocationSearch.this.getBlockState(x, y, z), false);
+        }
+
+        private boolean evaluate(IBlockState state, boolean body) {
+            final int id = Block.BLOCK_STATE_IDS.get(state);
+            if (id < 0) {
+                return body ? this.isSafeBody((BlockState) state) : this.isSafeFloor((BlockState) state);
+            }
+            if (!this.known.get(id)) {
+                this.known.set(id);
+                this.safeBody.set(id, this.isSafeBody((BlockState) state));
+                this.safeFloor.set(id, this.isSafeFloor((BlockState) state));
+            }
+            return body ? this.safeBody.get(id) : this.safeFloor.get(id);
+        }
+
+        private boolean isSafeBody(BlockState state) {
+            for (TeleportHelperFilter filter : this.filters) {
+                if (!filter.isSafeBodyMaterial(state)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isSafeFloor(BlockState state) {
+            for (TeleportHelperFilter filter : this.filters) {
+                if (!filter.isSafeFloorMaterial(state)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.teleport;
+
+import com.flowpowered.math.vector.Vector3i;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Visits the positions of a box in the order the teleport helper checks
+ * them: closest to the center first, preferring changes in Y over X and Z,
+ * then higher over lower positions.
+ *
+ * <p>Every column is a sequence of positions that is already in that order,
+ * so the columns are merged instead of sorting all positions. Columns are
+ * only started once they may contain the next position, a search that
+ * finds a position early never looks at the columns further away.</p>
+ */
+final class SearchOrder {
+
+    private final int[] ys;
+    private final long firstDySquared;
+    private final long[] columns;
+    private final Vector3i center;
+    private final Vector3i min;
+    private final int sizeZ;
+    private final PriorityQueue<Cursor> queue = new PriorityQueue<>(Cursor.ORDER);
+    private int nextColumn;
+    private int x;
+    private int y;
+    private int z;
+
+    SearchOrder(Vector3i center, Vector3i min, Vector3i max) {
+        this.center = center;
+        this.min = min;
+        if (min.getX() > max.getX() || min.getY() > max.getY() || min.getZ() > max.getZ()) {
+            this.ys = new int[0];
+            this.firstDySquared = 0;
+            this.columns = new long[0];
+            this.sizeZ = 0;
+            return;
+        }
+        this.ys = sortedYs(center.getY(), min.getY(), max.getY());
+        final long firstDy = this.ys[0] - center.getY();
+        this.firstDySquared = firstDy * firstDy;
+        this.columns = sortedColumns(center, min, max);
+        this.sizeZ = max.getZ() - min.getZ() + 1;
+    }
+
+    /**
+     * Moves to the next position.
+     *
+     * @return False if all positions were visited
+     */
+    boolean next() {
+        Cursor next = this.queue.peek();
+        // Start the columns that may contain a position as close as the next one
+        while (this.nextColumn < this.columns.length
+                && (next == null || (this.columns[this.nextColumn] >>> 32) + this.firstDySquared <= next.distanceSquared)) {
+            final int index = (int) this.columns[this.nextColumn++];
+            this.queue.add(new Cursor(this.min.getX() + index / this.sizeZ, this.min.getZ() + index % this.sizeZ, this.center, this.ys));
+            next = this.queue.peek();
+        }
+        if (next == null) {
+            return false;
+        }
+        this.queue.poll();
+        this.x = next.x;
+        this.y = this.ys[next.index];
+        this.z = next.z;
+        if (next.advance()) {
+            this.queue.add(next);
+        }
+        return true;
+    }
+
+    int getX() {
+        return this.x;
+    }
+
+    int getY() {
+        return this.y;
+    }
+
+    int getZ() {
+        return this.z;
+    }
+
+    /**
+     * Gets the y coordinates of the bounds in the order they are visited
+     * within a column, closest first and higher before lower.
+     */
+    private static int[] sortedYs(int centerY, int minY, int maxY) {
+        final int[] ys = new int[maxY - minY + 1];
+        int count = 0;
+        final int maxDistance = Math.max(Math.abs(centerY - minY), Math.abs(maxY - centerY));
+        for (int distance = 0; distance <= maxDistance; distance++) {
+            if (centerY + distance >= minY && centerY + distance <= maxY) {
+                ys[count++] = centerY + distance;
+            }
+            if (distance != 0 && centerY - distance >= minY && centerY - distance <= maxY) {
+                ys[count++] = centerY - distance;
+            }
+        }
+        return ys;
+    }
+
+    /**
+     * Gets the columns of the bounds sorted by their horizontal distance to
+     * the center, packed as the squared distance in the high and the index of
+     * the column in the low bits.
+     */
+    private static long[] sortedColumns(Vector3i center, Vector3i min, Vector3i max) {
+        final int sizeX = max.getX() - min.getX() + 1;
+        final int sizeZ = max.getZ() - min.getZ() + 1;
+        final long[] columns = new long[sizeX * sizeZ];
+        for (int i = 0; i < sizeX; i++) {
+            final long dx = min.getX() + i - center.getX();
+            for (int j = 0; j < sizeZ; j++) {
+                final long dz = min.getZ() + j - center.getZ();
+                columns[i * sizeZ + j] = (dx * dx + dz * dz) << 32 | (i * sizeZ + j);
+            }
+        }
+        Arrays.sort(columns);
+        return columns;
+    }
+
+    /**
+     * The next position to visit in a column.
+     */
+    private static final class Cursor {
+
+        static final Comparator<Cursor> ORDER = Comparator.<Cursor>comparingLong(cursor -> cursor.distanceSquared)
+                .thenComparingInt(cursor -> -Math.abs(cursor.dy()))
+                .thenComparingInt(cursor -> -cursor.ys[cursor.index])
+                .thenComparingInt(cursor -> cursor.x)
+                .thenComparingInt(cursor -> cursor.z);
+
+        final int x;
+        final int z;
+        private final int centerY;
+        private final long horizontalDistanceSquared;
+        final int[] ys;
+        int index;
+        long distanceSquared;
+
+        Cursor(int x, int z, Vector3i center, int[] ys) {
+            this.x = x;
+            this.z = z;
+            this.centerY = center.getY();
+            final long dx = x - center.getX();
+            final long dz = z - center.getZ();
+            this.horizontalDistanceSquared = dx * dx + dz * dz;
+            this.ys = ys;
+            this.update();
+        }
+
+        int dy() {
+            return this.ys[this.index] - this.centerY;
+        }
+
+        boolean advance() {
+            if (++this.index >= this.ys.length) {
+                return false;
+            }
+            this.update();
+            return true;
+        }
+
+        private void update() {
+            final long dy = this.dy();
+            this.distanceSquared = this.horizontalDistanceSquared + dy * dy;
+        }
+    }
+}
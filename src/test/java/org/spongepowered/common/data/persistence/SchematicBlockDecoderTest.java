@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.spongepowered.common.util.gen.SectionedBackingData;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+public class SchematicBlockDecoderTest {
+
+    private static final int WIDTH = 19;
+    private static final int HEIGHT = 37;
+    private static final int LENGTH = 23;
+
+    @Test
+    public void testDecodeInChunks() {
+        final Random random = new Random(4);
+        final int[] ids = new int[WIDTH * HEIGHT * LENGTH];
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        for (int i = 0; i < ids.length; i++) {
+            // Mostly a few ids with some large ones which take multiple bytes
+            int id = ids[i] = random.nextInt(10) == 0 ? random.nextInt(100000) : random.nextInt(4);
+            while ((id & -128) != 0) {
+                encoded.write(id & 127 | 128);
+                id >>>= 7;
+            }
+            encoded.write(id);
+        }
+        final byte[] bytes = encoded.toByteArray();
+
+        final SectionedBackingData blocks = new SectionedBackingData(ids.length, 0);
+        final SchematicBlockDecoder decoder = new SchematicBlockDecoder(blocks, WIDTH, HEIGHT, LENGTH);
+        // Odd chunk sizes so varints get split between chunks
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            decoder.decode(bytes, offset, Math.min(7, bytes.length - offset));
+        }
+        assertTrue(decoder.isComplete());
+        assertEquals(HEIGHT, decoder.getCompletedLayers());
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int z = 0; z < LENGTH; z++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    assertEquals(ids[(y * LENGTH + z) * WIDTH + x], blocks.get((x * LENGTH + z) * HEIGHT + y));
+                }
+            }
+        }
+        assertEquals(ids[ids.length - 1], blocks.copyOf().get(ids.length - 1));
+    }
+
+    @Test
+    public void testFill() {
+        final SectionedBackingData blocks = new SectionedBackingData(WIDTH * HEIGHT * LENGTH, 0);
+        final SchematicBlockDecoder decoder = new SchematicBlockDecoder(blocks, WIDTH, HEIGHT, LENGTH);
+        decoder.decode(new byte[] {5, 6}, 0, 2);
+        decoder.fill(9);
+        assertTrue(decoder.isComplete());
+        assertEquals(5, blocks.get(0));
+        assertEquals(6, blocks.get(LENGTH * HEIGHT));
+        assertEquals(9, blocks.get(1));
+    }
+
+}
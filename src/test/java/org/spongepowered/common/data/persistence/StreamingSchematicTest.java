@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.Maps;
+import net.minecraft.nbt.CompressedStreamTools;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.block.tileentity.TileEntityArchetype;
+import org.spongepowered.api.block.tileentity.TileEntityTypes;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.world.schematic.BlockPalette;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.block.SpongeTileEntityArchetypeBuilder;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.schematic.BimapPalette;
+import org.spongepowered.common.world.schematic.SpongeSchematic;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class StreamingSchematicTest {
+
+    private static final Vector3i MIN = new Vector3i(-3, -2, -5);
+    // Higher than a slab, so the reader hands out several of them
+    private static final Vector3i SIZE = new Vector3i(17, 37, 9);
+    private static final Vector3i CHEST = new Vector3i(2, 4, -1);
+    private static final DataQuery NAME = DataQuery.of("Name");
+    private static final DataQuery CUSTOM_NAME = DataQuery.of("CustomName");
+
+    private static Schematic createSchematic() {
+        final BlockState[] states = {BlockTypes.AIR.getDefaultState(), BlockTypes.STONE.getDefaultState(), BlockTypes.DIRT.getDefaultState(),
+                BlockTypes.GLASS.getDefaultState()};
+        final ArrayMutableBlockBuffer volume = new ArrayMutableBlockBuffer(new BimapPalette(), MIN, SIZE);
+        final Random random = new Random(3);
+        final Vector3i max = volume.getBlockMax();
+        for (int y = MIN.getY(); y <= max.getY(); y++) {
+            for (int z = MIN.getZ(); z <= max.getZ(); z++) {
+                for (int x = MIN.getX(); x <= max.getX(); x++) {
+                    volume.setBlock(x, y, z, states[random.nextInt(states.length)]);
+                }
+            }
+        }
+        final BlockState chest = BlockTypes.CHEST.getDefaultState();
+        volume.setBlock(CHEST, chest);
+        final TileEntityArchetype archetype = new SpongeTileEntityArchetypeBuilder()
+                .state(chest)
+                .tile(TileEntityTypes.CHEST)
+                .tileData(DataContainer.createNew()
+                        .set(DataQuery.of("id"), "minecraft:chest")
+                        .set(CUSTOM_NAME, "Round trip"))
+                .build();
+        final Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
+        tiles.put(CHEST, archetype);
+        return new SpongeSchematic(volume, tiles, DataContainer.createNew().set(NAME, "Streaming"));
+    }
+
+    private static byte[] write(Schematic schematic) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StreamingSchematicWriter.write(schematic, output);
+        return output.toByteArray();
+    }
+
+    private static Schematic readWithTranslator(byte[] bytes) throws IOException {
+        final DataContainer view = NbtTranslator.getInstance().translateFrom(CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes))));
+        return SchematicTranslator.get().translate(view);
+    }
+
+    private static void assertSameSchematic(Schematic expected, Schematic actual) {
+        assertEquals(expected.getBlockMin(), actual.getBlockMin());
+        assertEquals(expected.getBlockSize(), actual.getBlockSize());
+
+        final BlockPalette expectedPalette = expected.getPalette();
+        final BlockPalette actualPalette = actual.getPalette();
+        assertEquals(expectedPalette.getType(), actualPalette.getType());
+        assertEquals(expectedPalette.getEntries().size(), actualPalette.getEntries().size());
+        for (BlockState state : expectedPalette.getEntries()) {
+            assertEquals(expectedPalette.get(state), actualPalette.get(state));
+        }
+
+        final Vector3i min = expected.getBlockMin();
+        final Vector3i max = expected.getBlockMax();
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    assertEquals(expected.getBlock(x, y, z), actual.getBlock(x, y, z));
+                }
+            }
+        }
+
+        final Map<Vector3i, TileEntityArchetype> expectedTiles = expected.getTileEntityArchetypes();
+        final Map<Vector3i, TileEntityArchetype> actualTiles = actual.getTileEntityArchetypes();
+        assertEquals(expectedTiles.keySet(), actualTiles.keySet());
+        for (Map.Entry<Vector3i, TileEntityArchetype> entry : expectedTiles.entrySet()) {
+            final TileEntityArchetype tile = actualTiles.get(entry.getKey());
+            assertEquals(entry.getValue().getState(), tile.getState());
+            assertEquals(entry.getValue().getTileEntityType(), tile.getTileEntityType());
+            assertEquals(entry.getValue().getTileData().getString(CUSTOM_NAME), tile.getTileData().getString(CUSTOM_NAME));
+        }
+    }
+
+    @Test
+    public void testStreamingRoundTrip() throws IOException {
+        final Schematic schematic = createSchematic();
+        final int[] nextLayer = {schematic.getBlockMin().getY()};
+        final Schematic read = StreamingSchematicReader.read(new ByteArrayInputStream(write(schematic)), (volume, minY, maxY) -> {
+            // Slabs are handed out in order, without gaps
+            assertEquals(nextLayer[0], minY);
+            nextLayer[0] = maxY + 1;
+        });
+        assertEquals(schematic.getBlockMax().getY() + 1, nextLayer[0]);
+        assertSameSchematic(schematic, read);
+        assertEquals(schematic.getMetadata().getString(NAME), read.getMetadata().getString(NAME));
+    }
+
+    @Test
+    public void testTranslatorReadsStreamedSchematic() throws IOException {
+        final Schematic schematic = createSchematic();
+        final Schematic read = readWithTranslator(write(schematic));
+        assertSameSchematic(schematic, read);
+        assertEquals(schematic.getMetadata().getString(NAME), read.getMetadata().getString(NAME));
+    }
+
+    @Test
+    public void testPaletteWithoutAir() throws IOException {
+        final BimapPalette palette = new BimapPalette();
+        palette.getOrAssign(BlockTypes.STONE.getDefaultState());
+        // All blocks are id 0, which is stone
+        final Schematic schematic = new SpongeSchematic(new ArrayMutableBlockBuffer(palette, MIN, SIZE, new char[SIZE.getX() * SIZE.getY() * SIZE.getZ()]),
+                Maps.newHashMap());
+        final byte[] bytes = write(schematic);
+
+        final Schematic streamed = StreamingSchematicReader.read(new ByteArrayInputStream(bytes), null);
+        assertFalse(streamed.getPalette().get(BlockTypes.AIR.getDefaultState()).isPresent());
+        assertSameSchematic(schematic, streamed);
+
+        final Schematic translated = readWithTranslator(bytes);
+        assertFalse(translated.getPalette().get(BlockTypes.AIR.getDefaultState()).isPresent());
+        assertSameSchematic(schematic, translated);
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TrackedPositionTableTest {
+
+    @Test
+    public void testPutAndFind() {
+        TrackedPositionTable table = new TrackedPositionTable();
+        table.put(42, 1, TrackedPositionTable.NONE);
+        table.put(0, 2, 3);
+        table.put(Integer.MIN_VALUE, 4, 5);
+
+        assertEquals(3, table.size());
+        int slot = table.find(42);
+        assertNotEquals(-1, slot);
+        assertEquals(1, table.getOwner(slot));
+        assertEquals(TrackedPositionTable.NONE, table.getNotifier(slot));
+        slot = table.find(0);
+        assertEquals(2, table.getOwner(slot));
+        assertEquals(3, table.getNotifier(slot));
+        slot = table.find(Integer.MIN_VALUE);
+        assertEquals(4, table.getOwner(slot));
+        assertEquals(5, table.getNotifier(slot));
+        assertEquals(-1, table.find(7));
+    }
+
+    @Test
+    public void testMatchesMapAcrossGrowthAndRemoval() {
+        TrackedPositionTable table = new TrackedPositionTable();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(1234);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(4096) - 2048;
+            if (random.nextInt(4) == 0) {
+                table.remove(key);
+                expected.remove(key);
+            } else {
+                table.put(key, i, -i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            int slot = table.find(entry.getKey());
+            assertNotEquals(-1, slot);
+            assertEquals((int) entry.getValue(), table.getOwner(slot));
+            assertEquals(-entry.getValue(), table.getNotifier(slot));
+        }
+        Map<Integer, Integer> visited = new HashMap<>();
+        table.forEach((key, owner, notifier) -> visited.put(key, owner));
+        assertEquals(expected, visited);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class ActivationGridTest {
+
+    private static final int RANGE = 32;
+
+    private static final class Player {
+
+        final double x;
+        final double z;
+
+        Player(double x, double z) {
+            this.x = x;
+            this.z = z;
+        }
+    }
+
+    private static void addAll(ActivationGrid<Player> grid, List<Player> players) {
+        for (Player player : players) {
+            grid.add(player, player.x - 0.3D, player.z - 0.3D, player.x + 0.3D, player.z + 0.3D, RANGE);
+        }
+    }
+
+    private static List<Player> clustered(Random random, int count) {
+        final List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(new Player(random.nextGaussian() * 24, random.nextGaussian() * 24));
+        }
+        return players;
+    }
+
+    @Test
+    public void testChunksAreMerged() {
+        final ActivationGrid<Player> grid = new ActivationGrid<>();
+        final Player first = new Player(14, 8);
+        final Player second = new Player(18, 8);
+        grid.add(first, 13.7D, 7.7D, 14.3D, 8.3D, 4);
+        grid.add(second, 17.7D, 7.7D, 18.3D, 8.3D, 4);
+
+        final Map<Long, List<Player>> visited = new HashMap<>();
+        grid.forEachChunk((chunkX, chunkZ, players) -> {
+            final List<Player> previous = visited.put(((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL), new ArrayList<>(players));
+            assertEquals(null, previous);
+        });
+        // Both areas cover chunk 0 and 1 along x, and chunk 0 along z
+        assertEquals(2, visited.size());
+        assertEquals(2, visited.get(0L).size());
+        assertEquals(2, visited.get(1L << 32).size());
+    }
+
+    @Test
+    public void testNegativeCoordinates() {
+        final ActivationGrid<Player> grid = new ActivationGrid<>();
+        grid.add(new Player(-1, -1), -1.3D, -1.3D, -0.7D, -0.7D, 0);
+        grid.forEachChunk((chunkX, chunkZ, players) -> {
+            assertEquals(-1, chunkX);
+            assertEquals(-1, chunkZ);
+        });
+        assertEquals(1, grid.size());
+    }
+
+    @Test
+    public void testClearReusesLists() {
+        final ActivationGrid<Player> grid = new ActivationGrid<>();
+        addAll(grid, clustered(new Random(1), 50));
+        assertTrue(grid.size() > 0);
+        grid.clear();
+        assertEquals(0, grid.size());
+        addAll(grid, clustered(new Random(2), 1));
+        grid.forEachChunk((chunkX, chunkZ, players) -> assertEquals(1, players.size()));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.common.profile.resolver.ProfileResolver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProfileLookupPipelineTest {
+
+    private static final int MAX_NAMES = 10;
+
+    private final FakeResolver resolver = new FakeResolver();
+    private final List<GameProfile> resolved = new CopyOnWriteArrayList<>();
+    private final List<UUID> notFound = new CopyOnWriteArrayList<>();
+    private final ProfileLookupPipeline.Listener listener = new ProfileLookupPipeline.Listener() {
+
+        @Override
+        public void onResolved(GameProfile profile) {
+            ProfileLookupPipelineTest.this.resolved.add(profile);
+        }
+
+        @Override
+        public void onNotFound(UUID uniqueId) {
+            ProfileLookupPipelineTest.this.notFound.add(uniqueId);
+        }
+    };
+    private ProfileLookupPipeline pipeline;
+
+    @After
+    public void shutdown() {
+        if (this.pipeline != null) {
+            this.pipeline.shutdown();
+        }
+    }
+
+    @Test
+    public void testCoalescesRequestsForSameId() throws Exception {
+        this.resolver.block = new CountDownLatch(1);
+        this.pipeline = new ProfileLookupPipeline(this.resolver, this.listener, 2, 1000, 100, 0, 1, TimeUnit.MILLISECONDS);
+        final UUID uniqueId = UUID.randomUUID();
+
+        final CompletableFuture<Optional<GameProfile>> first = this.pipeline.resolveId(uniqueId);
+        final CompletableFuture<Optional<GameProfile>> second = this.pipeline.resolveId(uniqueId);
+        assertSame(first, second);
+        this.resolver.block.countDown();
+
+        assertEquals(uniqueId, first.get(5, TimeUnit.SECONDS).get().getUniqueId());
+        assertEquals(1, this.resolver.idRequests.get());
+        assertEquals(1, this.resolved.size());
+    }
+
+    @Test
+    public void testBatchesQueuedNames() throws Exception {
+        this.pipeline = new ProfileLookupPipeline(this.resolver, this.listener, 1, 1000, 100, 0, 1, TimeUnit.MILLISECONDS);
+        // Hold the only thread so that the names queue up behind it
+        this.resolver.block = new CountDownLatch(1);
+        final CompletableFuture<Optional<GameProfile>> blocker = this.pipeline.resolveId(UUID.randomUUID());
+
+        final List<CompletableFuture<Optional<GameProfile>>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(this.pipeline.resolveName("Player" + i));
+        }
+        futures.add(this.pipeline.resolveName("missing"));
+        this.resolver.block.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 25; i++) {
+            assertEquals("Player" + i, futures.get(i).get(5, TimeUnit.SECONDS).get().getName().get());
+        }
+        assertFalse(futures.get(25).get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(this.resolver.maxBatch <= MAX_NAMES);
+        assertTrue("names weren't batched: " + this.resolver.nameRequests.get(), this.resolver.nameRequests.get() <= 4);
+    }
+
+    @Test
+    public void testRetriesFailedRequests() throws Exception {
+        this.resolver.failures.set(2);
+        this.pipeline = new ProfileLookupPipeline(this.resolver, this.listener, 1, 1000, 100, 3, 1, TimeUnit.MILLISECONDS);
+
+        assertTrue(this.pipeline.resolveName("Player").get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(3, this.resolver.nameRequests.get());
+    }
+
+    @Test(expected = Exception.class)
+    public void testGivesUpAfterMaxRetries() throws Exception {
+        this.resolver.failures.set(Integer.MAX_VALUE);
+        this.pipeline = new ProfileLookupPipeline(this.resolver, this.listener, 1, 1000, 100, 1, 1, TimeUnit.MILLISECONDS);
+
+        this.pipeline.resolveId(UUID.randomUUID()).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testReportsMissingIds() throws Exception {
+        this.pipeline = new ProfileLookupPipeline(this.resolver, this.listener, 1, 1000, 100, 0, 1, TimeUnit.MILLISECONDS);
+        final UUID uniqueId = new UUID(0, 0);
+
+        assertFalse(this.pipeline.resolveId(uniqueId).get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(1, this.notFound.size());
+        assertEquals(uniqueId, this.notFound.get(0));
+    }
+
+    private static GameProfile profile(UUID uniqueId, String name) {
+        final GameProfile profile = Mockito.mock(GameProfile.class);
+        Mockito.when(profile.getUniqueId()).thenReturn(uniqueId);
+        Mockito.when(profile.getName()).thenReturn(Optional.of(name));
+        return profile;
+    }
+
+    /**
+     * Resolves every name except "missing" and every unique id except the
+     * nil id, optionally failing or blocking first.
+     */
+    private static final class FakeResolver implements ProfileResolver {
+
+        final AtomicInteger idRequests = new AtomicInteger();
+        final AtomicInteger nameRequests = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        volatile int maxBatch;
+        volatile CountDownLatch block;
+
+        @Override
+        public int getMaxNamesPerRequest() {
+            return MAX_NAMES;
+        }
+
+        @Override
+        public Collection<GameProfile> resolveNames(Collection<String> names) throws Exception {
+            this.nameRequests.incrementAndGet();
+            this.maxBatch = Math.max(this.maxBatch, names.size());
+            this.maybeFail();
+            final List<GameProfile> profiles = new ArrayList<>();
+            for (String name : names) {
+                if (!name.equals("missing")) {
+                    // Upstream returns the name in its proper case
+                    profiles.add(profile(UUID.nameUUIDFromBytes(name.getBytes()), "Player" + name.substring("player".length())));
+                }
+            }
+            return profiles;
+        }
+
+        @Override
+        public Optional<GameProfile> resolveId(UUID uniqueId) throws Exception {
+            this.idRequests.incrementAndGet();
+            final CountDownLatch block = this.block;
+            if (block != null) {
+                block.await();
+            }
+            this.maybeFail();
+            if (uniqueId.getMostSignificantBits() == 0 && uniqueId.getLeastSignificantBits() == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(profile(uniqueId, "Id"));
+        }
+
+        private void maybeFail() throws IOException {
+            if (this.failures.getAndUpdate(i -> i > 0 ? i - 1 : 0) > 0) {
+                throw new IOException("rate limited");
+            }
+        }
+    }
+}
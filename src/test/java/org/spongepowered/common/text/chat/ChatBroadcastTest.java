@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.chat;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketChat;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatType;
+import org.spongepowered.api.text.chat.ChatTypes;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketChat;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.IOException;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class ChatBroadcastTest {
+
+    private static Text message() {
+        return Text.of(Text.of(TextColors.GOLD, TextStyles.BOLD, "Player"), ": ",
+                Text.of(TextColors.GRAY, TextStyles.ITALIC, "A broadcast message that is long enough to resemble real chat"));
+    }
+
+    private static byte[] encode(SPacketChat packet) throws IOException {
+        final PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        packet.writePacketData(buf);
+        final byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
+    private static void assertSharedPayloadMatchesPerPlayerEncoding(ChatType type) throws IOException {
+        // The packet a group of players shares, as created by ChatUtil.broadcast
+        final SPacketChat shared = ChatUtil.createChatPacket(message(), type);
+        ((IMixinSPacketChat) shared).encodePayload();
+
+        // The packet every player got before, encoded by the connection of the player
+        final byte[] perPlayer = encode(ChatUtil.createChatPacket(message(), type));
+
+        // Every connection writes the same payload, however often it is written
+        assertArrayEquals(perPlayer, encode(shared));
+        assertArrayEquals(perPlayer, encode(shared));
+    }
+
+    @Test
+    public void testSharedChatPayload() throws IOException {
+        assertSharedPayloadMatchesPerPlayerEncoding(ChatTypes.CHAT);
+    }
+
+    @Test
+    public void testSharedSystemPayload() throws IOException {
+        assertSharedPayloadMatchesPerPlayerEncoding(ChatTypes.SYSTEM);
+    }
+
+    @Test
+    public void testSharedActionBarPayload() throws IOException {
+        assertSharedPayloadMatchesPerPlayerEncoding(ChatTypes.ACTION_BAR);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class IpPrefixTrieTest {
+
+    private static Set<String> matches(IpPrefixTrie<String> trie, String address) throws UnknownHostException {
+        final Set<String> matches = new HashSet<>();
+        trie.forEachMatch(InetAddress.getByName(address), matches::add);
+        return matches;
+    }
+
+    @Test
+    public void testMatches() throws UnknownHostException {
+        final IpPrefixTrie.Builder<String> builder = IpPrefixTrie.builder();
+        IpSet.fromCidr("10.0.0.0/8").addTo(builder, "a");
+        IpSet.fromCidr("10.42.0.0/16").addTo(builder, "b");
+        IpSet.fromCidr("10.42.16.0/20").addTo(builder, "c");
+        IpSet.fromCidr("10.0.0.1/32").addTo(builder, "d");
+        final IpPrefixTrie<String> trie = builder.build();
+
+        assertEquals(4, trie.size());
+        assertEquals(setOf("a", "b", "c"), matches(trie, "10.42.31.7"));
+        assertEquals(setOf("a", "b"), matches(trie, "10.42.32.7"));
+        assertEquals(setOf("a", "d"), matches(trie, "10.0.0.1"));
+        assertEquals(setOf(), matches(trie, "11.0.0.1"));
+        assertEquals("c", trie.getLongestMatch(InetAddress.getByName("10.42.31.7")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("11.0.0.1")));
+    }
+
+    @Test
+    public void testFamiliesAreSeparate() throws UnknownHostException {
+        final IpPrefixTrie.Builder<String> builder = IpPrefixTrie.builder();
+        IpSet.fromCidr("0.0.0.0/0").addTo(builder, "v4");
+        IpSet.fromCidr("[fc00::]/8").addTo(builder, "v6");
+        final IpPrefixTrie<String> trie = builder.build();
+
+        assertEquals(setOf("v4"), matches(trie, "192.168.0.1"));
+        assertEquals(setOf("v6"), matches(trie, "fcc0:c0b2:2a14:7afc:5216:1854:1a2f:2c13"));
+        assertEquals(setOf(), matches(trie, "::dead:beef"));
+    }
+
+    @Test
+    public void testAgreesWithIpSet() throws UnknownHostException {
+        final Random random = new Random(0);
+        final List<IpSet> sets = randomSets(random, 200);
+        final IpPrefixTrie.Builder<IpSet> builder = IpPrefixTrie.builder();
+        for (IpSet set : sets) {
+            set.addTo(builder, set);
+        }
+        final IpPrefixTrie<IpSet> trie = builder.build();
+
+        for (int i = 0; i < 1000; i++) {
+            final InetAddress address = randomAddress(random);
+            final Set<IpSet> expected = new HashSet<>();
+            for (IpSet set : sets) {
+                if (set.apply(address)) {
+                    expected.add(set);
+                }
+            }
+            final Set<IpSet> actual = new HashSet<>();
+            trie.forEachMatch(address, actual::add);
+            assertEquals(address.toString(), expected, actual);
+        }
+    }
+
+    private static List<IpSet> randomSets(Random random, int count) throws UnknownHostException {
+        final List<IpSet> sets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Keep the ranges in 10.0.0.0/8 so the random addresses hit some of them
+            final byte[] address = {10, (byte) random.nextInt(256), (byte) random.nextInt(256), (byte) random.nextInt(256)};
+            sets.add(IpSet.fromAddrPrefix(InetAddress.getByAddress(address), 8 + random.nextInt(25)));
+        }
+        return sets;
+    }
+
+    private static InetAddress randomAddress(Random random) throws UnknownHostException {
+        return InetAddress.getByAddress(new byte[] {10, (byte) random.nextInt(256), (byte) random.nextInt(256), (byte) random.nextInt(256)});
+    }
+
+    private static Set<String> setOf(String... values) {
+        final Set<String> set = new HashSet<>();
+        for (String value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+}
@@ -55,6 +55,14 @@ public void testNonByteAlignedSets() throws UnknownHostException {
         assertFalse(spec.apply(InetAddress.getByName("2064:45:410::cafe")));
     }
 
+    @Test
+    public void testPartialBytePrefix() throws UnknownHostException {
+        IpSet spec = IpSet.fromCidr("10.42.16.0/20");
+        assertTrue(spec.apply(InetAddress.getByName("10.42.31.255")));
+        assertFalse(spec.apply(InetAddress.getByName("10.42.32.0")));
+        assertFalse(spec.apply(InetAddress.getByName("10.42.15.255")));
+    }
+
     @Test
     public void testFullLengthSets() throws UnknownHostException {
         IpSet specv4 = IpSet.fromCidr("10.0.0.1/32");
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.persistence.data;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.PacketBuffer;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.NbtByteBufCodec;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+
+import java.io.IOException;
+import java.util.Optional;
+
+public class NbtByteBufCodecTest {
+
+    private static DataContainer createContainer() {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        container.set(DataQuery.of("name"), "Sp\u00f6nge \u2603\u0000")
+            .set(DataQuery.of("count"), 42)
+            .set(DataQuery.of("time"), 1234567890123L)
+            .set(DataQuery.of("ratio"), 0.5D)
+            .set(DataQuery.of("enabled"), true)
+            .set(DataQuery.of("my.dotted.key"), (short) 7)
+            .set(DataQuery.of("bytes"), new byte[] {1, 2, 3})
+            .set(DataQuery.of("ints"), new int[] {4, 5, 6})
+            .set(DataQuery.of("numbers"), ImmutableList.of(1, 2, 3))
+            .set(DataQuery.of("nested", "value"), 1.5F)
+            .set(DataQuery.of("nested", "flag"), false);
+        final DataContainer element = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED).set(DataQuery.of("id"), "element");
+        container.set(DataQuery.of("views"), ImmutableList.of(element, element));
+        return container;
+    }
+
+    @Test
+    public void testWritesTranslatedCompound() throws IOException {
+        final DataContainer container = createContainer();
+        final ByteBuf buf = Unpooled.buffer();
+        NbtByteBufCodec.write(buf, container);
+        final NBTTagCompound compound = new PacketBuffer(buf).readCompoundTag();
+        assertEquals(NbtTranslator.getInstance().translateData(container), compound);
+        assertEquals(0, buf.readableBytes());
+    }
+
+    @Test
+    public void testReadsTranslatedCompound() throws IOException {
+        final DataContainer container = createContainer();
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        final PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        buf.writeCompoundTag(compound);
+        final DataContainer read = NbtByteBufCodec.read(buf);
+        assertEquals(compound, NbtTranslator.getInstance().translateData(read));
+        assertEquals(Optional.of(true), read.getBoolean(DataQuery.of("enabled")));
+        assertEquals(Optional.of(false), read.getBoolean(DataQuery.of("nested", "flag")));
+        assertEquals(0, buf.readableBytes());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final DataContainer container = createContainer();
+        final ByteBuf buf = Unpooled.buffer();
+        NbtByteBufCodec.write(buf, container);
+        final DataContainer read = NbtByteBufCodec.read(buf);
+        assertEquals(NbtTranslator.getInstance().translateData(container), NbtTranslator.getInstance().translateData(read));
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsInvalidLength() throws IOException {
+        final ByteBuf buf = Unpooled.buffer();
+        buf.writeByte(10).writeShort(0);
+        buf.writeByte(7).writeShort(1).writeByte('a').writeInt(Integer.MAX_VALUE);
+        NbtByteBufCodec.read(buf);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RegionHeaderIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void writeRegion(Path worldDir, int regionX, int regionZ, int... savedIndices) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(8192);
+        for (int index : savedIndices) {
+            // Sector 2, length 1
+            header.putInt(index * 4, 2 << 8 | 1);
+        }
+        Files.createDirectories(worldDir.resolve("region"));
+        Files.write(worldDir.resolve("region").resolve("r." + regionX + "." + regionZ + ".mca"), header.array());
+    }
+
+    @Test
+    public void testSavedChunks() throws IOException {
+        final Path worldDir = this.folder.getRoot().toPath();
+        // Chunks (0, 0), (31, 0) and (5, 31)
+        writeRegion(worldDir, 0, 0, 0, 31, 5 + 31 * 32);
+
+        final RegionHeaderIndex index = new RegionHeaderIndex(worldDir);
+        Assert.assertTrue(index.isSaved(0, 0));
+        Assert.assertTrue(index.isSaved(31, 0));
+        Assert.assertTrue(index.isSaved(5, 31));
+        Assert.assertFalse(index.isSaved(1, 0));
+        Assert.assertFalse(index.isSaved(0, 1));
+    }
+
+    @Test
+    public void testNegativeRegions() throws IOException {
+        final Path worldDir = this.folder.getRoot().toPath();
+        // Chunk (-1, -32) is the last column of the first row of region (-1, -1)
+        writeRegion(worldDir, -1, -1, 31);
+
+        final RegionHeaderIndex index = new RegionHeaderIndex(worldDir);
+        Assert.assertTrue(index.isSaved(-1, -32));
+        Assert.assertFalse(index.isSaved(-1, -1));
+        Assert.assertFalse(index.isSaved(31, 0));
+    }
+
+    @Test
+    public void testMissingRegionAndMarking() {
+        final RegionHeaderIndex index = new RegionHeaderIndex(this.folder.getRoot().toPath());
+        Assert.assertFalse(index.isSaved(100, 100));
+
+        index.markSaved(100, 100);
+        Assert.assertTrue(index.isSaved(100, 100));
+        Assert.assertFalse(index.isSaved(101, 100));
+
+        index.clear();
+        Assert.assertFalse(index.isSaved(100, 100));
+        Assert.assertFalse(Files.exists(this.folder.getRoot().toPath().resolve("region")));
+    }
+}
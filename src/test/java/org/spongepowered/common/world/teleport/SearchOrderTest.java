@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.teleport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class SearchOrderTest {
+
+    /**
+     * The order the teleport helper used to sort every position of the box in.
+     */
+    private static List<Vector3i> sortedPositions(Vector3i center, Vector3i min, Vector3i max) {
+        final List<Vector3i> vectors = new ArrayList<>();
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                for (int z = min.getZ(); z <= max.getZ(); z++) {
+                    vectors.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+        Comparator<Vector3i> c = Comparator.comparingInt(center::distanceSquared);
+        c = c.thenComparing(x -> -Math.abs(center.getY() - x.getY())).thenComparing(x -> -x.getY());
+        vectors.sort(c);
+        return vectors;
+    }
+
+    private static List<Vector3i> visitedPositions(Vector3i center, Vector3i min, Vector3i max) {
+        final List<Vector3i> vectors = new ArrayList<>();
+        final SearchOrder order = new SearchOrder(center, min, max);
+        while (order.next()) {
+            vectors.add(new Vector3i(order.getX(), order.getY(), order.getZ()));
+        }
+        return vectors;
+    }
+
+    @Test
+    public void testMatchesSortedOrder() {
+        final Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            final Vector3i center = new Vector3i(random.nextInt(41) - 20, random.nextInt(20), random.nextInt(41) - 20);
+            // Bounds clamped by the world border or height don't have to contain the center
+            final Vector3i min = center.sub(random.nextInt(8), random.nextInt(8), random.nextInt(8)).add(random.nextInt(3), 0, 0);
+            final Vector3i max = center.add(random.nextInt(8), random.nextInt(8), random.nextInt(8)).sub(0, 0, random.nextInt(3));
+            assertEquals(sortedPositions(center, min, max), visitedPositions(center, min, max));
+        }
+    }
+
+    @Test
+    public void testCenterFirst() {
+        final SearchOrder order = new SearchOrder(new Vector3i(5, 64, -3), new Vector3i(-100, 0, -100), new Vector3i(100, 255, 100));
+        assertTrue(order.next());
+        assertEquals(5, order.getX());
+        assertEquals(64, order.getY());
+        assertEquals(-3, order.getZ());
+        // Equally close, changes in Y and higher positions first
+        assertTrue(order.next());
+        assertEquals(65, order.getY());
+        assertTrue(order.next());
+        assertEquals(63, order.getY());
+    }
+
+    @Test
+    public void testEmptyBounds() {
+        assertFalse(new SearchOrder(Vector3i.ZERO, new Vector3i(1, 0, 0), new Vector3i(0, 0, 0)).next());
+    }
+}